@@ -54,6 +54,12 @@ object Config {
         const val JAVET_LINUX_ARM64 = "com.caoccao.javet:javet-linux-arm64:${Versions.JAVET}"
         const val JAVET_MACOS = "com.caoccao.javet:javet-macos:${Versions.JAVET}"
 
+        // https://mvnrepository.com/artifact/org.openjdk.jmh/jmh-core
+        const val JMH_CORE = "org.openjdk.jmh:jmh-core:${Versions.JMH}"
+
+        // https://mvnrepository.com/artifact/org.openjdk.jmh/jmh-generator-annprocess
+        const val JMH_GENERATOR_ANNPROCESS = "org.openjdk.jmh:jmh-generator-annprocess:${Versions.JMH}"
+
         // https://mvnrepository.com/artifact/org.junit/junit-bom
         const val JUNIT_BOM = "org.junit:junit-bom:${Versions.JUNIT}"
 
@@ -66,6 +72,7 @@ object Config {
         const val JAVA_VERSION = "1.8"
         const val JAVET = "3.1.0"
         const val JAVET_SANITIZER = "0.3.0"
+        const val JMH = "1.37"
         const val JUNIT = "5.10.1"
     }
 }
@@ -92,9 +99,25 @@ java {
     withSourcesJar()
 }
 
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations {
+    named("jmhImplementation") {
+        extendsFrom(configurations.implementation.get())
+    }
+}
+
 dependencies {
     implementation(Config.Projects.ANTLR4)
 
+    "jmhImplementation"(Config.Projects.JMH_CORE)
+    "jmhAnnotationProcessor"(Config.Projects.JMH_GENERATOR_ANNPROCESS)
+
     val os = OperatingSystem.current()
     val cpuArch = System.getProperty("os.arch")
     if (os.isMacOsX) {
@@ -152,6 +175,26 @@ publishing {
 }
 
 tasks {
+    jar {
+        manifest {
+            attributes("Implementation-Title" to Config.NAME, "Implementation-Version" to Config.VERSION)
+        }
+    }
+    register<JavaExec>("jmh") {
+        group = "benchmark"
+        description = "Runs the JMH benchmarks. Use -Pjmh.includes=<regex> to select the benchmarks."
+        dependsOn("jmhClasses")
+        classpath = sourceSets["jmh"].runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        val resultFile = file("$buildDir/reports/jmh/results.json")
+        doFirst {
+            resultFile.parentFile.mkdirs()
+        }
+        args(
+            listOf("-prof", "gc", "-rf", "json", "-rff", resultFile.absolutePath)
+                    + listOfNotNull(project.findProperty("jmh.includes")?.toString())
+        )
+    }
     withType(Test::class.java) {
         useJUnitPlatform()
     }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.benchmarks;
+
+import com.caoccao.javet.sanitizer.checkers.JavetSanitizerStatelessChecker;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * The enum Benchmark checker type creates the stateless checker and generates the valid inputs of a checker.
+ * The inputs are deterministic so that the results of different runs are comparable.
+ *
+ * @since 0.4.0
+ */
+public enum BenchmarkCheckerType {
+    SingleExpression(
+            JavetSanitizerStatelessChecker::ofSingleExpression,
+            unitCount -> repeat("[", ", ", "]", unitCount, i -> "{ a" + i + ": (" + i + " + b) * c }")),
+    ExpressionSequence(
+            JavetSanitizerStatelessChecker::ofExpressionSequence,
+            unitCount -> repeat("", ", ", "", unitCount, i -> "a" + i + " = b * " + i + " + c")),
+    AnonymousFunction(
+            JavetSanitizerStatelessChecker::ofAnonymousFunction,
+            unitCount -> repeat("(a, b) => { ", " ", " return a; }", unitCount,
+                    i -> "const c" + i + " = a * " + i + " + b;")),
+    StatementList(
+            JavetSanitizerStatelessChecker::ofStatementList,
+            BenchmarkCheckerType::getStatementListCodeString),
+    Module(
+            JavetSanitizerStatelessChecker::ofModule,
+            unitCount -> repeat("", "\n", "\nfunction main() {}", unitCount,
+                    i -> "function f" + i + "(a, b) { return a + b * " + i + "; }")),
+    ;
+
+    private final Function<JavetSanitizerOption, JavetSanitizerStatelessChecker<?>> checkerFunction;
+    private final IntFunction<String> codeStringFunction;
+
+    BenchmarkCheckerType(
+            Function<JavetSanitizerOption, JavetSanitizerStatelessChecker<?>> checkerFunction,
+            IntFunction<String> codeStringFunction) {
+        this.checkerFunction = checkerFunction;
+        this.codeStringFunction = codeStringFunction;
+    }
+
+    /**
+     * Gets the statement list code string that the other benchmarks share.
+     *
+     * @param unitCount the unit count
+     * @return the code string
+     * @since 0.4.0
+     */
+    public static String getStatementListCodeString(int unitCount) {
+        return repeat("", "\n", "", unitCount,
+                i -> "const a" + i + " = [" + i + ", { b: 'c' }];\nif (a" + i + ".length > 1) { d(a" + i + "); }");
+    }
+
+    private static String repeat(
+            String prefix, String delimiter, String suffix, int unitCount, IntFunction<String> unitFunction) {
+        StringBuilder sb = new StringBuilder(prefix);
+        for (int i = 0; i < unitCount; ++i) {
+            if (i > 0) {
+                sb.append(delimiter);
+            }
+            sb.append(unitFunction.apply(i));
+        }
+        return sb.append(suffix).toString();
+    }
+
+    /**
+     * Create the stateless checker.
+     *
+     * @param option the option
+     * @return the stateless checker
+     * @since 0.4.0
+     */
+    public JavetSanitizerStatelessChecker<?> createChecker(JavetSanitizerOption option) {
+        return checkerFunction.apply(option);
+    }
+
+    /**
+     * Gets the valid code string of the input size.
+     *
+     * @param inputSize the input size
+     * @return the code string
+     * @since 0.4.0
+     */
+    public String getCodeString(BenchmarkInputSize inputSize) {
+        return codeStringFunction.apply(inputSize.getUnitCount());
+    }
+}
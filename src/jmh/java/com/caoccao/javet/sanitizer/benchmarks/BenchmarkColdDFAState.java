@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.benchmarks;
+
+import com.caoccao.javet.sanitizer.parsers.JavaScriptDFACacheManager;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The type Benchmark cold DFA state clears the shared DFA of the lexer and the parser before each iteration.
+ * It is meant for {@link org.openjdk.jmh.annotations.Mode#SingleShotTime} benchmarks
+ * so that every measured call starts with an empty DFA.
+ *
+ * @since 0.4.0
+ */
+@State(Scope.Thread)
+public class BenchmarkColdDFAState {
+    /**
+     * Clear the DFA.
+     *
+     * @since 0.4.0
+     */
+    @Setup(Level.Iteration)
+    public void clearDFA() {
+        JavaScriptDFACacheManager.getInstance().clear();
+    }
+}
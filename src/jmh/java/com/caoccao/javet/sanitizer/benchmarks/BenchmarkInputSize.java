@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.benchmarks;
+
+/**
+ * The enum Benchmark input size is the number of the repeated units of a generated input.
+ *
+ * @since 0.4.0
+ */
+public enum BenchmarkInputSize {
+    Small(1),
+    Medium(100),
+    Large(2000),
+    ;
+
+    private final int unitCount;
+
+    BenchmarkInputSize(int unitCount) {
+        this.unitCount = unitCount;
+    }
+
+    /**
+     * Gets unit count.
+     *
+     * @return the unit count
+     * @since 0.4.0
+     */
+    public int getUnitCount() {
+        return unitCount;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.benchmarks;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptParserPair;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptParserPool;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptStatementListParser;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type JavaScript phase benchmark measures the phases of a statement list check separately:
+ * lexing, parsing, walking and formatting an error.
+ *
+ * @since 0.4.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class JavaScriptPhaseBenchmark {
+    @Param({"Small", "Medium", "Large"})
+    public BenchmarkInputSize inputSize;
+    private String codeString;
+    private ParseTree errorParseTree;
+    private JavaScriptStatementListParser invalidParser;
+    private JavetSanitizerOption option;
+    private JavaScriptStatementListParser validParser;
+
+    /**
+     * Format the error message and the error context of a rejected identifier.
+     *
+     * @return the formatted error
+     * @since 0.4.0
+     */
+    @Benchmark
+    public String formatError() {
+        JavetSanitizerException exception = JavetSanitizerException.identifierNotAllowed(errorParseTree.getText())
+                .setContext(invalidParser.toJavaScriptParserContext(errorParseTree));
+        return exception.getMessage() + "\n" + exception.getContext();
+    }
+
+    /**
+     * Lex the input to tokens only.
+     *
+     * @return the token count
+     * @since 0.4.0
+     */
+    @Benchmark
+    public int lex() {
+        JavaScriptParserPair javaScriptParserPair = JavaScriptParserPool.borrow(CharStreams.fromString(codeString));
+        try {
+            CommonTokenStream tokenStream = javaScriptParserPair.getTokenStream();
+            tokenStream.fill();
+            return tokenStream.size();
+        } finally {
+            JavaScriptParserPool.release(javaScriptParserPair);
+        }
+    }
+
+    /**
+     * Lex and parse the input.
+     *
+     * @return the parser
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    @Benchmark
+    public JavaScriptStatementListParser parse() throws JavetSanitizerException {
+        return new JavaScriptStatementListParser(option, codeString).parse();
+    }
+
+    /**
+     * Lex and parse the input with the DFA cleared before each call.
+     *
+     * @param coldDFAState the cold DFA state
+     * @return the parser
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Measurement(iterations = 20)
+    @Warmup(iterations = 5)
+    public JavaScriptStatementListParser parseColdDFA(BenchmarkColdDFAState coldDFAState)
+            throws JavetSanitizerException {
+        return new JavaScriptStatementListParser(option, codeString).parse();
+    }
+
+    /**
+     * Set up the inputs and the parsed trees.
+     *
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws JavetSanitizerException {
+        option = JavetSanitizerOption.Default;
+        codeString = BenchmarkCheckerType.getStatementListCodeString(inputSize.getUnitCount());
+        validParser = new JavaScriptStatementListParser(option, codeString).parse();
+        invalidParser = new JavaScriptStatementListParser(option, codeString + "\neval('e');").parse();
+        List<JavaScriptParser.StatementContext> statementContexts = invalidParser.getContext().statement();
+        ParseTree parseTree = statementContexts.get(statementContexts.size() - 1);
+        while (parseTree.getChildCount() > 0 && parseTree.getChild(0) instanceof ParserRuleContext) {
+            parseTree = parseTree.getChild(0);
+        }
+        errorParseTree = parseTree;
+    }
+
+    /**
+     * Walk the parsed input with a new listener.
+     *
+     * @return the parser
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    @Benchmark
+    public JavaScriptStatementListParser walk() throws JavetSanitizerException {
+        return validParser.walk(option.createListener());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.benchmarks;
+
+import com.caoccao.javet.sanitizer.checkers.JavetSanitizerCheckResult;
+import com.caoccao.javet.sanitizer.checkers.JavetSanitizerStatelessChecker;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Javet sanitizer checker benchmark measures the end-to-end check of each checker
+ * with the warm DFA and with the cold DFA.
+ *
+ * @since 0.4.0
+ */
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JavetSanitizerCheckerBenchmark {
+    @Param({"SingleExpression", "ExpressionSequence", "AnonymousFunction", "StatementList", "Module"})
+    public BenchmarkCheckerType checkerType;
+    @Param({"Small", "Medium", "Large"})
+    public BenchmarkInputSize inputSize;
+    private JavetSanitizerStatelessChecker<?> checker;
+    private String codeString;
+
+    /**
+     * Evaluate with the DFA cleared before each call.
+     *
+     * @param coldDFAState the cold DFA state
+     * @return the check result
+     * @since 0.4.0
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public JavetSanitizerCheckResult evaluateColdDFA(BenchmarkColdDFAState coldDFAState) {
+        return checker.evaluate(codeString);
+    }
+
+    /**
+     * Evaluate with the warm DFA.
+     *
+     * @return the check result
+     * @since 0.4.0
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public JavetSanitizerCheckResult evaluateWarmDFA() {
+        return checker.evaluate(codeString);
+    }
+
+    /**
+     * Set up the checker and the input.
+     *
+     * @since 0.4.0
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        checker = checkerType.createChecker(JavetSanitizerOption.Default);
+        codeString = checkerType.getCodeString(inputSize);
+        JavetSanitizerCheckResult result = checker.evaluate(codeString);
+        if (!result.isPassed()) {
+            throw new IllegalStateException(checkerType + " " + inputSize + ": " + result.getMessage());
+        }
+    }
+}
@@ -16,15 +16,24 @@
 
 package com.caoccao.javet.sanitizer.checkers;
 
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerAbortException;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerRejection;
 import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
 import com.caoccao.javet.sanitizer.parsers.BaseJavaScriptContextParser;
+import com.caoccao.javet.sanitizer.utils.CharStreamUtils;
 import com.caoccao.javet.sanitizer.utils.StringUtils;
+import org.antlr.v4.runtime.CharStream;
 
 import java.util.Objects;
 
 /**
  * The type Base javet sanitizer checker.
+ * <p>
+ * A check is implemented by {@link #validate(String)} and {@link #validate(CharStream)}.
+ * A violation is recorded in {@link #rejection} and unwinds with {@link JavetSanitizerAbortException#INSTANCE},
+ * so that {@link #evaluate(String)} builds the result without constructing a {@link JavetSanitizerException}.
+ * {@link #check(String)} throws the exception of the recorded rejection.
  *
  * @param <Parser> the type parameter
  * @since 0.1.0
@@ -38,6 +47,12 @@ public abstract class BaseJavetSanitizerChecker
      * @since 0.1.0
      */
     protected JavetSanitizerOption option;
+    /**
+     * The Rejection of the last check. It is shared by the parsers of the check.
+     *
+     * @since 0.4.0
+     */
+    protected JavetSanitizerRejection rejection;
     /**
      * The Root parser.
      *
@@ -62,30 +77,137 @@ public abstract class BaseJavetSanitizerChecker
      */
     public BaseJavetSanitizerChecker(JavetSanitizerOption option) {
         this.option = Objects.requireNonNull(option);
+        rejection = new JavetSanitizerRejection();
         reset();
     }
 
     @Override
     public boolean check(String codeString) throws JavetSanitizerException {
-        reset();
-        validateBlank(codeString);
+        try {
+            validate(codeString);
+        } catch (JavetSanitizerAbortException e) {
+            throw rejection.toException();
+        }
         return true;
     }
 
+    @Override
+    public boolean check(CharStream charStream) throws JavetSanitizerException {
+        try {
+            validate(charStream);
+        } catch (JavetSanitizerAbortException e) {
+            throw rejection.toException();
+        }
+        return true;
+    }
+
+    @Override
+    public JavetSanitizerCheckResult evaluate(String codeString) {
+        final long startTime = System.nanoTime();
+        try {
+            validate(codeString);
+        } catch (JavetSanitizerAbortException ignored) {
+            // The rejection has been recorded.
+        } catch (JavetSanitizerException e) {
+            rejection.record(e);
+        }
+        return toCheckResult(startTime);
+    }
+
+    @Override
+    public JavetSanitizerCheckResult evaluate(CharStream charStream) {
+        final long startTime = System.nanoTime();
+        try {
+            validate(charStream);
+        } catch (JavetSanitizerAbortException ignored) {
+            // The rejection has been recorded.
+        } catch (JavetSanitizerException e) {
+            rejection.record(e);
+        }
+        return toCheckResult(startTime);
+    }
+
     @Override
     public JavetSanitizerOption getOption() {
         return option;
     }
 
+    /**
+     * Gets root parser of the last check.
+     * Its context is null if the last check failed in parsing.
+     *
+     * @return the root parser
+     * @since 0.4.0
+     */
+    public Parser getRootParser() {
+        return rootParser;
+    }
+
+    /**
+     * Gets rejection of the last check.
+     *
+     * @return the rejection
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection getRejection() {
+        return rejection;
+    }
+
     /**
      * Reset.
      *
      * @since 0.1.0
      */
     protected void reset() {
+        rejection.reset();
         rootParser = null;
     }
 
+    /**
+     * To check result.
+     *
+     * @param startTime the start time in nanoseconds
+     * @return the check result
+     * @since 0.4.0
+     */
+    protected JavetSanitizerCheckResult toCheckResult(long startTime) {
+        final long durationNanos = System.nanoTime() - startTime;
+        if (rootParser == null) {
+            return new JavetSanitizerCheckResult(rejection, durationNanos, 0L, 0L);
+        }
+        return new JavetSanitizerCheckResult(
+                rejection,
+                durationNanos,
+                rootParser.getParseDurationNanos(),
+                rootParser.getWalkDurationNanos());
+    }
+
+    /**
+     * Validate the given code string.
+     * A violation is recorded in {@link #rejection} and aborts with {@link JavetSanitizerAbortException#INSTANCE}.
+     *
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception if the option cannot create the listener
+     * @since 0.4.0
+     */
+    protected void validate(String codeString) throws JavetSanitizerException {
+        reset();
+        validateBlank(codeString);
+    }
+
+    /**
+     * Validate the given char stream.
+     * A violation is recorded in {@link #rejection} and aborts with {@link JavetSanitizerAbortException#INSTANCE}.
+     *
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception if the option cannot create the listener
+     * @since 0.4.0
+     */
+    protected void validate(CharStream charStream) throws JavetSanitizerException {
+        reset();
+        validateBlank(charStream);
+    }
+
     /**
      * Validate blank.
      *
@@ -95,7 +217,22 @@ public abstract class BaseJavetSanitizerChecker
      */
     protected void validateBlank(String codeString) throws JavetSanitizerException {
         if (StringUtils.isBlank(codeString)) {
-            throw JavetSanitizerException.emptyCodeString();
+            rejection.emptyCodeString();
+            throw JavetSanitizerAbortException.INSTANCE;
+        }
+    }
+
+    /**
+     * Validate blank.
+     *
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    protected void validateBlank(CharStream charStream) throws JavetSanitizerException {
+        if (CharStreamUtils.isBlank(charStream)) {
+            rejection.emptyCodeString();
+            throw JavetSanitizerAbortException.INSTANCE;
         }
     }
 }
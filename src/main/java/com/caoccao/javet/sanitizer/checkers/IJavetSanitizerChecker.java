@@ -18,9 +18,20 @@ package com.caoccao.javet.sanitizer.checkers;
 
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
 import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.utils.CharStreamUtils;
+import org.antlr.v4.runtime.CharStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 
 /**
  * The interface Javet sanitizer checker.
+ * <p>
+ * Concurrency: a sealed {@link JavetSanitizerOption} may be shared by any number of checkers on any threads,
+ * because every check creates its own listener and borrows its own lexer and parser.
+ * A checker instance keeps the parsers of its last check, so it serves one thread at a time.
+ * Create a checker per thread or per check, which is cheap.
  *
  * @since 0.1.0
  */
@@ -35,6 +46,96 @@ public interface IJavetSanitizerChecker {
      */
     boolean check(String codeString) throws JavetSanitizerException;
 
+    /**
+     * Check the given UTF-8 byte buffer.
+     * The bytes are decoded into the code point buffer of the lexer without an intermediate string.
+     *
+     * @param byteBuffer the byte buffer
+     * @return true : checked, false : not checked
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    default boolean check(ByteBuffer byteBuffer) throws JavetSanitizerException {
+        return check(byteBuffer == null ? null : CharStreamUtils.fromByteBuffer(byteBuffer));
+    }
+
+    /**
+     * Check the given char sequence.
+     *
+     * @param codeString the code string
+     * @return true : checked, false : not checked
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    default boolean check(CharSequence codeString) throws JavetSanitizerException {
+        if (codeString instanceof String) {
+            return check((String) codeString);
+        }
+        return check(codeString == null ? null : CharStreamUtils.fromCharSequence(codeString));
+    }
+
+    /**
+     * Check the given char stream.
+     * The default implementation materializes the char stream as a string.
+     *
+     * @param charStream the char stream
+     * @return true : checked, false : not checked
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    default boolean check(CharStream charStream) throws JavetSanitizerException {
+        return check(charStream == null ? null : CharStreamUtils.getText(charStream));
+    }
+
+    /**
+     * Check the given UTF-8 file.
+     * The file is memory-mapped and decoded straight into the code point buffer of the lexer,
+     * so that large bundles are not read into heap strings first.
+     *
+     * @param path the path
+     * @return true : checked, false : not checked
+     * @throws IOException             the io exception
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    default boolean check(Path path) throws IOException, JavetSanitizerException {
+        return check(CharStreamUtils.fromPath(path));
+    }
+
+    /**
+     * Check the given range of chars.
+     *
+     * @param chars  the chars
+     * @param offset the offset
+     * @param length the length
+     * @return true : checked, false : not checked
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    default boolean check(char[] chars, int offset, int length) throws JavetSanitizerException {
+        return check(CharStreamUtils.fromCharArray(chars, offset, length));
+    }
+
+    /**
+     * Evaluate the given code string without throwing on rejection.
+     * A rejection is reported in the result without constructing a {@link JavetSanitizerException}.
+     *
+     * @param codeString the code string
+     * @return the check result
+     * @since 0.4.0
+     */
+    JavetSanitizerCheckResult evaluate(String codeString);
+
+    /**
+     * Evaluate the given char stream without throwing on rejection.
+     * A rejection is reported in the result without constructing a {@link JavetSanitizerException}.
+     *
+     * @param charStream the char stream
+     * @return the check result
+     * @since 0.4.0
+     */
+    JavetSanitizerCheckResult evaluate(CharStream charStream);
+
     /**
      * Gets option.
      *
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.utils.CharStreamUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The type Javet sanitizer batch checker evaluates many scripts in parallel on a fork-join pool
+ * and returns the verdicts in input order.
+ * Each worker thread borrows the lexer and the parser from its own thread-local pool.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerBatchChecker {
+    /**
+     * The constant DEFAULT_GRANULARITY.
+     *
+     * @since 0.4.0
+     */
+    public static final int DEFAULT_GRANULARITY = 4;
+    private final JavetSanitizerStatelessChecker<?> checker;
+    private final ForkJoinPool forkJoinPool;
+    private final int granularity;
+
+    /**
+     * Instantiates a new Javet sanitizer batch checker on the common pool.
+     *
+     * @param checker the checker
+     * @since 0.4.0
+     */
+    public JavetSanitizerBatchChecker(JavetSanitizerStatelessChecker<?> checker) {
+        this(checker, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new Javet sanitizer batch checker.
+     *
+     * @param checker      the checker
+     * @param forkJoinPool the fork join pool
+     * @since 0.4.0
+     */
+    public JavetSanitizerBatchChecker(JavetSanitizerStatelessChecker<?> checker, ForkJoinPool forkJoinPool) {
+        this(checker, forkJoinPool, DEFAULT_GRANULARITY);
+    }
+
+    /**
+     * Instantiates a new Javet sanitizer batch checker.
+     *
+     * @param checker      the checker
+     * @param forkJoinPool the fork join pool
+     * @param granularity  the max number of scripts evaluated by a task without splitting
+     * @since 0.4.0
+     */
+    public JavetSanitizerBatchChecker(
+            JavetSanitizerStatelessChecker<?> checker,
+            ForkJoinPool forkJoinPool,
+            int granularity) {
+        this.checker = Objects.requireNonNull(checker);
+        this.forkJoinPool = Objects.requireNonNull(forkJoinPool);
+        if (granularity < 1) {
+            throw new IllegalArgumentException("Granularity must be positive.");
+        }
+        this.granularity = granularity;
+    }
+
+    /**
+     * Evaluate all the given scripts. A null script is evaluated as an empty code string.
+     *
+     * @param codeStrings the code strings
+     * @return the check results in input order
+     * @since 0.4.0
+     */
+    public List<JavetSanitizerCheckResult> checkAll(Collection<? extends CharSequence> codeStrings) {
+        // The tasks index the list, so a list without constant-time random access is copied.
+        final List<? extends CharSequence> codeStringList =
+                codeStrings instanceof List && codeStrings instanceof RandomAccess
+                        ? (List<? extends CharSequence>) codeStrings
+                        : new ArrayList<>(codeStrings);
+        final JavetSanitizerCheckResult[] results = new JavetSanitizerCheckResult[codeStringList.size()];
+        if (results.length > 0) {
+            forkJoinPool.invoke(new CheckTask(codeStringList, results, 0, results.length));
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * Gets checker.
+     *
+     * @return the checker
+     * @since 0.4.0
+     */
+    public JavetSanitizerStatelessChecker<?> getChecker() {
+        return checker;
+    }
+
+    /**
+     * Gets fork join pool.
+     *
+     * @return the fork join pool
+     * @since 0.4.0
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * Gets granularity.
+     *
+     * @return the granularity
+     * @since 0.4.0
+     */
+    public int getGranularity() {
+        return granularity;
+    }
+
+    private final class CheckTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final List<? extends CharSequence> codeStrings;
+        private final int endIndex;
+        private final JavetSanitizerCheckResult[] results;
+        private final int startIndex;
+
+        private CheckTask(
+                List<? extends CharSequence> codeStrings,
+                JavetSanitizerCheckResult[] results,
+                int startIndex,
+                int endIndex) {
+            this.codeStrings = codeStrings;
+            this.endIndex = endIndex;
+            this.results = results;
+            this.startIndex = startIndex;
+        }
+
+        @Override
+        protected void compute() {
+            if (endIndex - startIndex <= granularity) {
+                for (int i = startIndex; i < endIndex; i++) {
+                    CharSequence codeString = codeStrings.get(i);
+                    results[i] = codeString == null || codeString instanceof String
+                            ? checker.evaluate((String) codeString)
+                            : checker.evaluate(CharStreamUtils.fromCharSequence(codeString));
+                }
+            } else {
+                final int middleIndex = (startIndex + endIndex) >>> 1;
+                invokeAll(
+                        new CheckTask(codeStrings, results, startIndex, middleIndex),
+                        new CheckTask(codeStrings, results, middleIndex, endIndex));
+            }
+        }
+    }
+}
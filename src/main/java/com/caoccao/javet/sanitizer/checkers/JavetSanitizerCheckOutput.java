@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.parsers.BaseJavaScriptContextParser;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptFunctionDeclarationParser;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptStatementParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The type Javet sanitizer check output holds the parsers of one check
+ * performed by {@link JavetSanitizerStatelessChecker}.
+ *
+ * @param <Parser> the type parameter
+ * @since 0.4.0
+ */
+public final class JavetSanitizerCheckOutput<Parser extends BaseJavaScriptContextParser<Parser, ?>> {
+    private final Map<String, JavaScriptFunctionDeclarationParser> functionParserMap;
+    private final Parser rootParser;
+    private final List<JavaScriptStatementParser> statementParsers;
+
+    JavetSanitizerCheckOutput(BaseJavetSanitizerChecker<Parser> checker) {
+        rootParser = checker.getRootParser();
+        if (checker instanceof JavetSanitizerStatementListChecker) {
+            statementParsers = Collections.unmodifiableList(new ArrayList<>(
+                    ((JavetSanitizerStatementListChecker) checker).getStatementParsers()));
+        } else {
+            statementParsers = Collections.emptyList();
+        }
+        if (checker instanceof JavetSanitizerModuleChecker) {
+            functionParserMap = Collections.unmodifiableMap(new HashMap<>(
+                    ((JavetSanitizerModuleChecker) checker).getFunctionParserMap()));
+        } else {
+            functionParserMap = Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Gets function parser map. It is empty unless the check is performed by a module checker.
+     *
+     * @return the function parser map
+     * @since 0.4.0
+     */
+    public Map<String, JavaScriptFunctionDeclarationParser> getFunctionParserMap() {
+        return functionParserMap;
+    }
+
+    /**
+     * Gets root parser.
+     *
+     * @return the root parser
+     * @since 0.4.0
+     */
+    public Parser getRootParser() {
+        return rootParser;
+    }
+
+    /**
+     * Gets statement parsers. It is empty unless the check is performed by a statement list checker.
+     *
+     * @return the statement parsers
+     * @since 0.4.0
+     */
+    public List<JavaScriptStatementParser> getStatementParsers() {
+        return statementParsers;
+    }
+}
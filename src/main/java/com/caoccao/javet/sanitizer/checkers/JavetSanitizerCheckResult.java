@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerError;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerErrorContext;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerRejection;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The type Javet sanitizer check result is the immutable verdict of
+ * {@link IJavetSanitizerChecker#evaluate(String)}.
+ * The message is only formatted when it is requested.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerCheckResult {
+    private final JavetSanitizerErrorContext context;
+    private final long durationNanos;
+    private final JavetSanitizerError error;
+    private final Map<String, Object> parameters;
+    private final long parseDurationNanos;
+    private final long walkDurationNanos;
+
+    JavetSanitizerCheckResult(
+            JavetSanitizerRejection rejection,
+            long durationNanos,
+            long parseDurationNanos,
+            long walkDurationNanos) {
+        this(
+                rejection.getError(),
+                rejection.getParameters(),
+                rejection.getContext(),
+                durationNanos,
+                parseDurationNanos,
+                walkDurationNanos);
+    }
+
+    JavetSanitizerCheckResult(
+            JavetSanitizerError error,
+            Map<String, Object> parameters,
+            JavetSanitizerErrorContext context,
+            long durationNanos,
+            long parseDurationNanos,
+            long walkDurationNanos) {
+        this.context = context;
+        this.durationNanos = durationNanos;
+        this.error = error;
+        this.parameters = error == null ? Collections.emptyMap() : Collections.unmodifiableMap(parameters);
+        this.parseDurationNanos = parseDurationNanos;
+        this.walkDurationNanos = walkDurationNanos;
+    }
+
+    /**
+     * Gets the error context. It is null if the check passed or the error has no position.
+     *
+     * @return the context
+     * @since 0.4.0
+     */
+    public JavetSanitizerErrorContext getContext() {
+        return context;
+    }
+
+    /**
+     * Gets the duration of the whole check.
+     *
+     * @return the duration
+     * @since 0.4.0
+     */
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    /**
+     * Gets error. It is null if the check passed.
+     *
+     * @return the error
+     * @since 0.4.0
+     */
+    public JavetSanitizerError getError() {
+        return error;
+    }
+
+    /**
+     * Gets error code. It is 0 if the check passed.
+     *
+     * @return the error code
+     * @since 0.4.0
+     */
+    public int getErrorCode() {
+        return error == null ? 0 : error.getCode();
+    }
+
+    /**
+     * Gets message. It is null if the check passed.
+     *
+     * @return the message
+     * @since 0.4.0
+     */
+    public String getMessage() {
+        return error == null ? null : error.getMessage(parameters);
+    }
+
+    /**
+     * Gets parameters.
+     *
+     * @return the parameters
+     * @since 0.4.0
+     */
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Gets the duration of lexing and parsing the root rule.
+     * In streaming mode it includes the listener checks.
+     *
+     * @return the parse duration
+     * @since 0.4.0
+     */
+    public Duration getParseDuration() {
+        return Duration.ofNanos(parseDurationNanos);
+    }
+
+    /**
+     * Gets the duration of walking the parse tree with the listener.
+     *
+     * @return the walk duration
+     * @since 0.4.0
+     */
+    public Duration getWalkDuration() {
+        return Duration.ofNanos(walkDurationNanos);
+    }
+
+    /**
+     * Is passed.
+     *
+     * @return true : passed, false : rejected
+     * @since 0.4.0
+     */
+    public boolean isPassed() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return isPassed()
+                ? "Passed in " + getDuration()
+                : "Rejected with " + getErrorCode() + " in " + getDuration() + ": " + getMessage();
+    }
+}
@@ -20,6 +20,7 @@ package com.caoccao.javet.sanitizer.checkers;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
 import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
 import com.caoccao.javet.sanitizer.parsers.JavaScriptExpressionSequenceParser;
+import org.antlr.v4.runtime.CharStream;
 
 /**
  * The type Javet sanitizer expression sequence checker.
@@ -46,11 +47,16 @@ public class JavetSanitizerExpressionSequenceChecker
     }
 
     @Override
-    public boolean check(String codeString) throws JavetSanitizerException {
-        super.check(codeString);
-        rootParser = new JavaScriptExpressionSequenceParser(codeString)
-                .parse()
-                .walk(option.getListener());
-        return true;
+    protected void validate(String codeString) throws JavetSanitizerException {
+        super.validate(codeString);
+        rootParser = new JavaScriptExpressionSequenceParser(option, codeString).setRejection(rejection);
+        rootParser.parseAndWalk(option.createListener());
+    }
+
+    @Override
+    protected void validate(CharStream charStream) throws JavetSanitizerException {
+        super.validate(charStream);
+        rootParser = new JavaScriptExpressionSequenceParser(option, charStream).setRejection(rejection);
+        rootParser.parseAndWalk(option.createListener());
     }
 }
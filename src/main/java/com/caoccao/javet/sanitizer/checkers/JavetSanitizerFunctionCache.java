@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Javet sanitizer function cache is a thread-safe, size-bounded LRU set of the function declarations
+ * that passed the listener under a sealed option.
+ * It can be shared by any number of {@link JavetSanitizerModuleChecker}.
+ * <p>
+ * A function declaration is identified by the SHA-256 digest of the types and the length-prefixed texts of its tokens,
+ * so whitespaces and comments do not matter.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerFunctionCache {
+    /**
+     * The constant DEFAULT_MAX_SIZE.
+     *
+     * @since 0.4.0
+     */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    private final LongAdder hitCount;
+    private final Map<Key, Boolean> map;
+    private final int maxSize;
+    private final LongAdder missCount;
+
+    /**
+     * Instantiates a new Javet sanitizer function cache with the default max size.
+     *
+     * @since 0.4.0
+     */
+    public JavetSanitizerFunctionCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Instantiates a new Javet sanitizer function cache.
+     *
+     * @param maxSize the max number of function declarations
+     * @since 0.4.0
+     */
+    public JavetSanitizerFunctionCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be positive.");
+        }
+        hitCount = new LongAdder();
+        this.maxSize = maxSize;
+        map = new LinkedHashMap<Key, Boolean>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                return size() > JavetSanitizerFunctionCache.this.maxSize;
+            }
+        };
+        missCount = new LongAdder();
+    }
+
+    private static void digest(MessageDigest messageDigest, ParseTree parseTree) {
+        if (parseTree instanceof TerminalNode) {
+            Token token = ((TerminalNode) parseTree).getSymbol();
+            final int type = token.getType();
+            messageDigest.update((byte) (type >>> 8));
+            messageDigest.update((byte) type);
+            String text = token.getText();
+            final int length = text.length();
+            // The text is length-prefixed so that the token boundaries are part of the digest.
+            messageDigest.update((byte) (length >>> 24));
+            messageDigest.update((byte) (length >>> 16));
+            messageDigest.update((byte) (length >>> 8));
+            messageDigest.update((byte) length);
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                messageDigest.update((byte) c);
+                messageDigest.update((byte) (c >>> 8));
+            }
+        } else {
+            final int childCount = parseTree.getChildCount();
+            for (int i = 0; i < childCount; i++) {
+                digest(messageDigest, parseTree.getChild(i));
+            }
+        }
+    }
+
+    /**
+     * Add the function declaration that passed the listener under the option.
+     *
+     * @param option              the option
+     * @param functionDeclaration the function declaration
+     * @since 0.4.0
+     */
+    public void add(JavetSanitizerOption option, JavaScriptParser.FunctionDeclarationContext functionDeclaration) {
+        if (option.isSealed()) {
+            final Key key = new Key(option, functionDeclaration);
+            synchronized (map) {
+                map.put(key, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Clear the function declarations and the statistics.
+     *
+     * @since 0.4.0
+     */
+    public void clear() {
+        synchronized (map) {
+            map.clear();
+        }
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    /**
+     * Contains the function declaration that passed the listener under the option.
+     * It is always false if the option is not sealed.
+     *
+     * @param option              the option
+     * @param functionDeclaration the function declaration
+     * @return true : passed before, false : unknown
+     * @since 0.4.0
+     */
+    public boolean contains(JavetSanitizerOption option, JavaScriptParser.FunctionDeclarationContext functionDeclaration) {
+        if (!option.isSealed()) {
+            return false;
+        }
+        final Key key = new Key(option, functionDeclaration);
+        final boolean contained;
+        synchronized (map) {
+            contained = map.get(key) != null;
+        }
+        if (contained) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return contained;
+    }
+
+    /**
+     * Gets hit count.
+     *
+     * @return the hit count
+     * @since 0.4.0
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets max size.
+     *
+     * @return the max size
+     * @since 0.4.0
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets miss count.
+     *
+     * @return the miss count
+     * @since 0.4.0
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the number of cached function declarations.
+     *
+     * @return the size
+     * @since 0.4.0
+     */
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    private static final class Key {
+        private final byte[] digest;
+        private final int hashCode;
+        private final JavetSanitizerOption option;
+
+        private Key(JavetSanitizerOption option, JavaScriptParser.FunctionDeclarationContext functionDeclaration) {
+            this.option = Objects.requireNonNull(option);
+            MessageDigest messageDigest = JavetSanitizerVerdictCache.MESSAGE_DIGEST.get();
+            messageDigest.reset();
+            JavetSanitizerFunctionCache.digest(messageDigest, functionDeclaration);
+            digest = messageDigest.digest();
+            hashCode = 31 * option.hashCode() + Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return option.equals(key.option) && Arrays.equals(digest, key.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptIncrementalStatementListParser;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptStatementListParser;
+import org.antlr.v4.runtime.CharStream;
+
+/**
+ * The type Javet sanitizer incremental statement list checker re-checks an edited script
+ * by re-parsing and re-walking only the top-level statements that changed since the last check.
+ * It gives the same verdicts as {@link JavetSanitizerStatementListChecker}.
+ * <p>
+ * The checker keeps the parse trees of the last check, so one checker should serve one script.
+ *
+ * @see JavaScriptIncrementalStatementListParser
+ * @since 0.4.0
+ */
+public class JavetSanitizerIncrementalStatementListChecker extends JavetSanitizerStatementListChecker {
+    /**
+     * The parser of the last check whose parse succeeded.
+     *
+     * @since 0.4.0
+     */
+    protected JavaScriptIncrementalStatementListParser previousParser;
+
+    /**
+     * Instantiates a new Javet sanitizer incremental statement list checker.
+     *
+     * @since 0.4.0
+     */
+    public JavetSanitizerIncrementalStatementListChecker() {
+        this(JavetSanitizerOption.Default);
+    }
+
+    /**
+     * Instantiates a new Javet sanitizer incremental statement list checker.
+     *
+     * @param option the option
+     * @since 0.4.0
+     */
+    public JavetSanitizerIncrementalStatementListChecker(JavetSanitizerOption option) {
+        super(option);
+        previousParser = null;
+    }
+
+    @Override
+    protected void validate(String codeString) throws JavetSanitizerException {
+        try {
+            super.validate(codeString);
+        } finally {
+            updatePreviousParser();
+        }
+    }
+
+    @Override
+    protected void validate(CharStream charStream) throws JavetSanitizerException {
+        try {
+            super.validate(charStream);
+        } finally {
+            updatePreviousParser();
+        }
+    }
+
+    @Override
+    protected JavaScriptStatementListParser createRootParser(String codeString) throws JavetSanitizerException {
+        return new JavaScriptIncrementalStatementListParser(option, codeString, previousParser);
+    }
+
+    @Override
+    protected JavaScriptStatementListParser createRootParser(CharStream charStream) throws JavetSanitizerException {
+        return new JavaScriptIncrementalStatementListParser(option, charStream, previousParser);
+    }
+
+    /**
+     * Forget the last check so that the next check parses the whole script.
+     *
+     * @since 0.4.0
+     */
+    public void invalidate() {
+        previousParser = null;
+    }
+
+    private void updatePreviousParser() {
+        // A parser whose parse failed has no context and the previous parser stays valid.
+        if (rootParser instanceof JavaScriptIncrementalStatementListParser && rootParser.getContext() != null) {
+            previousParser = (JavaScriptIncrementalStatementListParser) rootParser;
+        }
+    }
+}
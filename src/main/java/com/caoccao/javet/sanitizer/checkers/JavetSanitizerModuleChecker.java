@@ -18,21 +18,35 @@ package com.caoccao.javet.sanitizer.checkers;
 
 
 import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerAbortException;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
 import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
 import com.caoccao.javet.sanitizer.parsers.JavaScriptFunctionDeclarationParser;
 import com.caoccao.javet.sanitizer.parsers.JavaScriptStatementParser;
+import org.antlr.v4.runtime.CharStream;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.Set;
 
 /**
  * The type Javet sanitizer module checker.
+ * <p>
+ * If a {@link JavetSanitizerFunctionCache} is given and the option is sealed,
+ * the function declarations that passed the listener before are not walked again.
+ * The module is still parsed as a whole because the syntax and the function parsers depend on it.
  *
  * @since 0.1.0
  */
 public class JavetSanitizerModuleChecker extends JavetSanitizerStatementListChecker {
+    /**
+     * The Function cache. It is null if the function declarations are always walked.
+     *
+     * @since 0.4.0
+     */
+    protected JavetSanitizerFunctionCache functionCache;
     /**
      * The Function parser map.
      *
@@ -56,30 +70,41 @@ public class JavetSanitizerModuleChecker extends JavetSanitizerStatementListChec
      * @since 0.1.0
      */
     public JavetSanitizerModuleChecker(JavetSanitizerOption option) {
+        this(option, null);
+    }
+
+    /**
+     * Instantiates a new Javet sanitizer module checker.
+     *
+     * @param option        the option
+     * @param functionCache the function cache, null if the function declarations are always walked
+     * @since 0.4.0
+     */
+    public JavetSanitizerModuleChecker(JavetSanitizerOption option, JavetSanitizerFunctionCache functionCache) {
         super(option);
+        this.functionCache = functionCache;
     }
 
     @Override
-    public boolean check(String codeString) throws JavetSanitizerException {
-        super.check(codeString);
-        Map<String, JavaScriptFunctionDeclarationParser> functionParserMap = getFunctionParserMap();
-        functionParserMap.clear();
-        boolean importStatementAllowed = option.isKeywordImportEnabled();
-        for (JavaScriptStatementParser statementParser : statementParsers) {
-            statementParser.validateChildCountEquals(1);
-            if (importStatementAllowed
-                    && statementParser.isChildClass(0, JavaScriptParser.ImportStatementContext.class)) {
-                continue;
-            }
-            importStatementAllowed = false;
-            statementParser.validateChildClass(JavaScriptParser.FunctionDeclarationContext.class);
-            JavaScriptFunctionDeclarationParser javaScriptFunctionDeclarationParser =
-                    statementParser.getJavaScriptFunctionDeclarationParser(0).parse();
-            String functionIdentifier = javaScriptFunctionDeclarationParser.getIdentifier();
-            functionParserMap.put(functionIdentifier, javaScriptFunctionDeclarationParser);
-        }
-        validateFunctions();
-        return true;
+    protected void validate(String codeString) throws JavetSanitizerException {
+        super.validate(codeString);
+        validateStatements();
+    }
+
+    @Override
+    protected void validate(CharStream charStream) throws JavetSanitizerException {
+        super.validate(charStream);
+        validateStatements();
+    }
+
+    /**
+     * Gets function cache.
+     *
+     * @return the function cache
+     * @since 0.4.0
+     */
+    public JavetSanitizerFunctionCache getFunctionCache() {
+        return functionCache;
     }
 
     /**
@@ -95,6 +120,31 @@ public class JavetSanitizerModuleChecker extends JavetSanitizerStatementListChec
         return functionParserMap;
     }
 
+    @Override
+    protected void parseAndWalk() throws JavetSanitizerException {
+        if (functionCache == null || !option.isSealed() || option.isStreamingEnabled()) {
+            super.parseAndWalk();
+            return;
+        }
+        final Queue<JavaScriptParser.FunctionDeclarationContext> walkedFunctionDeclarations =
+                new ConcurrentLinkedQueue<>();
+        rootParser.parse();
+        walk(statementContext -> {
+            JavaScriptParser.FunctionDeclarationContext functionDeclarationContext =
+                    statementContext.functionDeclaration();
+            if (functionDeclarationContext != null) {
+                if (functionCache.contains(option, functionDeclarationContext)) {
+                    return false;
+                }
+                walkedFunctionDeclarations.add(functionDeclarationContext);
+            }
+            return true;
+        });
+        for (JavaScriptParser.FunctionDeclarationContext functionDeclarationContext : walkedFunctionDeclarations) {
+            functionCache.add(option, functionDeclarationContext);
+        }
+    }
+
     @Override
     protected void reset() {
         super.reset();
@@ -111,8 +161,35 @@ public class JavetSanitizerModuleChecker extends JavetSanitizerStatementListChec
         Map<String, JavaScriptFunctionDeclarationParser> functionParserMap = getFunctionParserMap();
         for (String functionIdentifier : option.getReservedFunctionIdentifierSet()) {
             if (!functionParserMap.containsKey(functionIdentifier)) {
-                throw JavetSanitizerException.functionNotFound(functionIdentifier);
+                rejection.functionNotFound(functionIdentifier);
+                throw JavetSanitizerAbortException.INSTANCE;
             }
         }
     }
+
+    /**
+     * Validate statements.
+     *
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    protected void validateStatements() throws JavetSanitizerException {
+        Map<String, JavaScriptFunctionDeclarationParser> functionParserMap = getFunctionParserMap();
+        functionParserMap.clear();
+        boolean importStatementAllowed = option.isKeywordImportEnabled();
+        for (JavaScriptStatementParser statementParser : statementParsers) {
+            statementParser.validateChildCountEquals(1);
+            if (importStatementAllowed
+                    && statementParser.isChildClass(0, JavaScriptParser.ImportStatementContext.class)) {
+                continue;
+            }
+            importStatementAllowed = false;
+            statementParser.validateChildClass(JavaScriptParser.FunctionDeclarationContext.class);
+            JavaScriptFunctionDeclarationParser javaScriptFunctionDeclarationParser =
+                    statementParser.getJavaScriptFunctionDeclarationParser(0).parse();
+            String functionIdentifier = javaScriptFunctionDeclarationParser.getIdentifier();
+            functionParserMap.put(functionIdentifier, javaScriptFunctionDeclarationParser);
+        }
+        validateFunctions();
+    }
 }
@@ -20,6 +20,7 @@ package com.caoccao.javet.sanitizer.checkers;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
 import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
 import com.caoccao.javet.sanitizer.parsers.JavaScriptSingleExpressionParser;
+import org.antlr.v4.runtime.CharStream;
 
 /**
  * The type Javet sanitizer single expression checker.
@@ -48,11 +49,16 @@ public class JavetSanitizerSingleExpressionChecker
     }
 
     @Override
-    public boolean check(String codeString) throws JavetSanitizerException {
-        super.check(codeString);
-        rootParser = new JavaScriptSingleExpressionParser(codeString)
-                .parse()
-                .walk(option.getListener());
-        return true;
+    protected void validate(String codeString) throws JavetSanitizerException {
+        super.validate(codeString);
+        rootParser = new JavaScriptSingleExpressionParser(option, codeString).setRejection(rejection);
+        rootParser.parseAndWalk(option.createListener());
+    }
+
+    @Override
+    protected void validate(CharStream charStream) throws JavetSanitizerException {
+        super.validate(charStream);
+        rootParser = new JavaScriptSingleExpressionParser(option, charStream).setRejection(rejection);
+        rootParser.parseAndWalk(option.createListener());
     }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.parsers.BaseJavaScriptContextParser;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptAnonymousFunctionParser;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptExpressionSequenceParser;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptSingleExpressionParser;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptStatementListParser;
+import org.antlr.v4.runtime.CharStream;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The type Javet sanitizer stateless checker has no per-check state,
+ * so one instance per option can be shared by any number of threads.
+ * Each check runs on a new stateful checker and the parsers of the check are returned in
+ * {@link JavetSanitizerCheckOutput} instead of being kept by the checker.
+ *
+ * @param <Parser> the type parameter
+ * @since 0.4.0
+ */
+public final class JavetSanitizerStatelessChecker<Parser extends BaseJavaScriptContextParser<Parser, ?>> {
+    private final Class<?> checkerClass;
+    private final Function<JavetSanitizerOption, ? extends BaseJavetSanitizerChecker<Parser>> checkerFunction;
+    private final JavetSanitizerOption option;
+
+    /**
+     * Instantiates a new Javet sanitizer stateless checker.
+     *
+     * @param option          the option
+     * @param checkerFunction the function that creates a stateful checker per check
+     * @since 0.4.0
+     */
+    public JavetSanitizerStatelessChecker(
+            JavetSanitizerOption option,
+            Function<JavetSanitizerOption, ? extends BaseJavetSanitizerChecker<Parser>> checkerFunction) {
+        this.checkerFunction = Objects.requireNonNull(checkerFunction);
+        this.option = Objects.requireNonNull(option);
+        checkerClass = checkerFunction.apply(option).getClass();
+    }
+
+    /**
+     * Create a stateless anonymous function checker.
+     *
+     * @param option the option
+     * @return the stateless checker
+     * @since 0.4.0
+     */
+    public static JavetSanitizerStatelessChecker<JavaScriptAnonymousFunctionParser> ofAnonymousFunction(
+            JavetSanitizerOption option) {
+        return new JavetSanitizerStatelessChecker<>(option, JavetSanitizerAnonymousFunctionChecker::new);
+    }
+
+    /**
+     * Create a stateless expression sequence checker.
+     *
+     * @param option the option
+     * @return the stateless checker
+     * @since 0.4.0
+     */
+    public static JavetSanitizerStatelessChecker<JavaScriptExpressionSequenceParser> ofExpressionSequence(
+            JavetSanitizerOption option) {
+        return new JavetSanitizerStatelessChecker<>(option, JavetSanitizerExpressionSequenceChecker::new);
+    }
+
+    /**
+     * Create a stateless module checker.
+     *
+     * @param option the option
+     * @return the stateless checker
+     * @since 0.4.0
+     */
+    public static JavetSanitizerStatelessChecker<JavaScriptStatementListParser> ofModule(
+            JavetSanitizerOption option) {
+        return new JavetSanitizerStatelessChecker<>(option, JavetSanitizerModuleChecker::new);
+    }
+
+    /**
+     * Create a stateless module checker sharing the function cache.
+     *
+     * @param option        the option
+     * @param functionCache the function cache
+     * @return the stateless checker
+     * @since 0.4.0
+     */
+    public static JavetSanitizerStatelessChecker<JavaScriptStatementListParser> ofModule(
+            JavetSanitizerOption option,
+            JavetSanitizerFunctionCache functionCache) {
+        Objects.requireNonNull(functionCache);
+        return new JavetSanitizerStatelessChecker<>(
+                option,
+                checkerOption -> new JavetSanitizerModuleChecker(checkerOption, functionCache));
+    }
+
+    /**
+     * Create a stateless single expression checker.
+     *
+     * @param option the option
+     * @return the stateless checker
+     * @since 0.4.0
+     */
+    public static JavetSanitizerStatelessChecker<JavaScriptSingleExpressionParser> ofSingleExpression(
+            JavetSanitizerOption option) {
+        return new JavetSanitizerStatelessChecker<>(option, JavetSanitizerSingleExpressionChecker::new);
+    }
+
+    /**
+     * Create a stateless statement list checker.
+     *
+     * @param option the option
+     * @return the stateless checker
+     * @since 0.4.0
+     */
+    public static JavetSanitizerStatelessChecker<JavaScriptStatementListParser> ofStatementList(
+            JavetSanitizerOption option) {
+        return new JavetSanitizerStatelessChecker<>(option, JavetSanitizerStatementListChecker::new);
+    }
+
+    /**
+     * Check the given code string.
+     *
+     * @param codeString the code string
+     * @return the check output
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavetSanitizerCheckOutput<Parser> check(String codeString) throws JavetSanitizerException {
+        BaseJavetSanitizerChecker<Parser> checker = checkerFunction.apply(option);
+        checker.check(codeString);
+        return new JavetSanitizerCheckOutput<>(checker);
+    }
+
+    /**
+     * Check the given char stream.
+     *
+     * @param charStream the char stream
+     * @return the check output
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavetSanitizerCheckOutput<Parser> check(CharStream charStream) throws JavetSanitizerException {
+        BaseJavetSanitizerChecker<Parser> checker = checkerFunction.apply(option);
+        checker.check(charStream);
+        return new JavetSanitizerCheckOutput<>(checker);
+    }
+
+    /**
+     * Evaluate the given code string without throwing on rejection.
+     *
+     * @param codeString the code string
+     * @return the check result
+     * @since 0.4.0
+     */
+    public JavetSanitizerCheckResult evaluate(String codeString) {
+        return checkerFunction.apply(option).evaluate(codeString);
+    }
+
+    /**
+     * Evaluate the given char stream without throwing on rejection.
+     *
+     * @param charStream the char stream
+     * @return the check result
+     * @since 0.4.0
+     */
+    public JavetSanitizerCheckResult evaluate(CharStream charStream) {
+        return checkerFunction.apply(option).evaluate(charStream);
+    }
+
+    /**
+     * Gets the class of the stateful checker created per check.
+     *
+     * @return the checker class
+     * @since 0.4.0
+     */
+    public Class<?> getCheckerClass() {
+        return checkerClass;
+    }
+
+    /**
+     * Gets option.
+     *
+     * @return the option
+     * @since 0.4.0
+     */
+    public JavetSanitizerOption getOption() {
+        return option;
+    }
+}
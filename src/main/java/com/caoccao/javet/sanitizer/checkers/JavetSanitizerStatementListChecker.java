@@ -17,21 +17,36 @@
 package com.caoccao.javet.sanitizer.checkers;
 
 
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
 import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptParallelStatementListParser;
 import com.caoccao.javet.sanitizer.parsers.JavaScriptStatementListParser;
 import com.caoccao.javet.sanitizer.parsers.JavaScriptStatementParser;
+import org.antlr.v4.runtime.CharStream;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 /**
  * The type Javet sanitizer statement list checker.
+ * <p>
+ * If a fork-join pool is set and streaming is disabled, large code is split into chunks
+ * of top-level statements which are parsed in parallel on the pool,
+ * and the top-level statements are walked in parallel on the pool.
  *
  * @since 0.1.0
  */
 public class JavetSanitizerStatementListChecker
         extends BaseJavetSanitizerChecker<JavaScriptStatementListParser> {
+    /**
+     * The Fork join pool. It is null if the statements are walked in the calling thread.
+     *
+     * @since 0.4.0
+     */
+    protected ForkJoinPool forkJoinPool;
     /**
      * The Statement parsers.
      *
@@ -59,13 +74,96 @@ public class JavetSanitizerStatementListChecker
     }
 
     @Override
-    public boolean check(String codeString) throws JavetSanitizerException {
-        super.check(codeString);
-        rootParser = new JavaScriptStatementListParser(codeString)
-                .parse()
-                .walk(option.getListener());
+    protected void validate(String codeString) throws JavetSanitizerException {
+        super.validate(codeString);
+        rootParser = createRootParser(codeString).setRejection(rejection);
+        parseAndWalk();
+        statementParsers.addAll(rootParser.getJavaScriptStatementParsers());
+    }
+
+    @Override
+    protected void validate(CharStream charStream) throws JavetSanitizerException {
+        super.validate(charStream);
+        rootParser = createRootParser(charStream).setRejection(rejection);
+        parseAndWalk();
         statementParsers.addAll(rootParser.getJavaScriptStatementParsers());
-        return true;
+    }
+
+    /**
+     * Create the root parser for the code string.
+     *
+     * @param codeString the code string
+     * @return the root parser
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    protected JavaScriptStatementListParser createRootParser(String codeString) throws JavetSanitizerException {
+        if (forkJoinPool != null) {
+            return new JavaScriptParallelStatementListParser(option, codeString, forkJoinPool);
+        }
+        return new JavaScriptStatementListParser(option, codeString);
+    }
+
+    /**
+     * Create the root parser for the char stream.
+     *
+     * @param charStream the char stream
+     * @return the root parser
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    protected JavaScriptStatementListParser createRootParser(CharStream charStream) throws JavetSanitizerException {
+        if (forkJoinPool != null) {
+            return new JavaScriptParallelStatementListParser(option, charStream, forkJoinPool);
+        }
+        return new JavaScriptStatementListParser(option, charStream);
+    }
+
+    /**
+     * Parse and walk the root parser.
+     *
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    protected void parseAndWalk() throws JavetSanitizerException {
+        if (forkJoinPool == null || option.isStreamingEnabled()) {
+            rootParser.parseAndWalk(option.createListener());
+        } else {
+            rootParser.parse();
+            walk(statementContext -> true);
+        }
+    }
+
+    /**
+     * Gets fork join pool.
+     *
+     * @return the fork join pool
+     * @since 0.4.0
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * Gets statement parsers of the last check.
+     *
+     * @return the statement parsers
+     * @since 0.4.0
+     */
+    public List<JavaScriptStatementParser> getStatementParsers() {
+        return statementParsers;
+    }
+
+    /**
+     * Sets fork join pool for parsing and walking the top-level statements in parallel.
+     *
+     * @param forkJoinPool the fork join pool, null if the statements are walked in the calling thread
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerStatementListChecker setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
     }
 
     @Override
@@ -77,4 +175,21 @@ public class JavetSanitizerStatementListChecker
             statementParsers.clear();
         }
     }
+
+    /**
+     * Walk the parsed top-level statements that match the filter,
+     * in parallel if the fork join pool is set.
+     *
+     * @param statementFilter the statement filter
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    protected void walk(Predicate<JavaScriptParser.StatementContext> statementFilter)
+            throws JavetSanitizerException {
+        if (forkJoinPool == null) {
+            rootParser.walk(option.createListener(), statementFilter);
+        } else {
+            rootParser.walk(forkJoinPool, statementFilter);
+        }
+    }
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerError;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerErrorContext;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.utils.CharStreamUtils;
+import org.antlr.v4.runtime.CharStream;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Javet sanitizer verdict cache is a thread-safe, size-bounded LRU cache of check results
+ * placed in front of {@link JavetSanitizerStatelessChecker}.
+ * <p>
+ * The key is the SHA-256 digest of the source, the class of the checker and the sealed option,
+ * so options with the same fingerprint share the verdicts.
+ * Checks with an option that is not sealed bypass the cache because the option may still change.
+ * Rejections are kept as compact records with the error, the parameters and the positions of the
+ * error context. The source code is not kept, so the context of a cached rejection has no source line.
+ * Parse timeouts are not cached because they depend on the load of the host.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerVerdictCache {
+    /**
+     * The constant DEFAULT_MAX_SIZE.
+     *
+     * @since 0.4.0
+     */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int DIGEST_BUFFER_SIZE = 8192;
+    static final ThreadLocal<MessageDigest> MESSAGE_DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    private final LongAdder evictionCount;
+    private final LongAdder hitCount;
+    private final Map<Key, Verdict> map;
+    private final int maxSize;
+    private final LongAdder missCount;
+
+    /**
+     * Instantiates a new Javet sanitizer verdict cache with the default max size.
+     *
+     * @since 0.4.0
+     */
+    public JavetSanitizerVerdictCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Instantiates a new Javet sanitizer verdict cache.
+     *
+     * @param maxSize the max number of verdicts
+     * @since 0.4.0
+     */
+    public JavetSanitizerVerdictCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be positive.");
+        }
+        evictionCount = new LongAdder();
+        hitCount = new LongAdder();
+        this.maxSize = maxSize;
+        map = new LinkedHashMap<Key, Verdict>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Verdict> eldest) {
+                if (size() > JavetSanitizerVerdictCache.this.maxSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        missCount = new LongAdder();
+    }
+
+    static byte[] digest(CharSequence codeString) {
+        MessageDigest messageDigest = MESSAGE_DIGEST.get();
+        messageDigest.reset();
+        final byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+        final int length = codeString.length();
+        int bufferIndex = 0;
+        for (int i = 0; i < length; i++) {
+            char c = codeString.charAt(i);
+            buffer[bufferIndex++] = (byte) c;
+            buffer[bufferIndex++] = (byte) (c >>> 8);
+            if (bufferIndex == DIGEST_BUFFER_SIZE) {
+                messageDigest.update(buffer, 0, bufferIndex);
+                bufferIndex = 0;
+            }
+        }
+        messageDigest.update(buffer, 0, bufferIndex);
+        return messageDigest.digest();
+    }
+
+    /**
+     * Clear the verdicts and the statistics.
+     *
+     * @since 0.4.0
+     */
+    public void clear() {
+        synchronized (map) {
+            map.clear();
+        }
+        evictionCount.reset();
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    /**
+     * Evaluate the given code string with the checker, or return the cached verdict.
+     *
+     * @param checker    the checker
+     * @param codeString the code string
+     * @return the check result
+     * @since 0.4.0
+     */
+    public JavetSanitizerCheckResult evaluate(JavetSanitizerStatelessChecker<?> checker, String codeString) {
+        Objects.requireNonNull(checker);
+        if (codeString == null || !checker.getOption().isSealed()) {
+            return checker.evaluate(codeString);
+        }
+        final long startTime = System.nanoTime();
+        final Key key = new Key(checker.getCheckerClass(), checker.getOption(), digest(codeString));
+        JavetSanitizerCheckResult result = get(key, startTime);
+        if (result == null) {
+            result = checker.evaluate(codeString);
+            put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Evaluate the given char stream with the checker, or return the cached verdict.
+     *
+     * @param checker    the checker
+     * @param charStream the char stream
+     * @return the check result
+     * @since 0.4.0
+     */
+    public JavetSanitizerCheckResult evaluate(JavetSanitizerStatelessChecker<?> checker, CharStream charStream) {
+        Objects.requireNonNull(checker);
+        if (charStream == null || !checker.getOption().isSealed()) {
+            return checker.evaluate(charStream);
+        }
+        final long startTime = System.nanoTime();
+        final Key key = new Key(
+                checker.getCheckerClass(), checker.getOption(), digest(CharStreamUtils.getText(charStream)));
+        JavetSanitizerCheckResult result = get(key, startTime);
+        if (result == null) {
+            result = checker.evaluate(charStream);
+            put(key, result);
+        }
+        return result;
+    }
+
+    private JavetSanitizerCheckResult get(Key key, long startTime) {
+        final Verdict verdict;
+        synchronized (map) {
+            verdict = map.get(key);
+        }
+        if (verdict == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return verdict.toCheckResult(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Gets max size.
+     *
+     * @return the max size
+     * @since 0.4.0
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets statistics.
+     *
+     * @return the statistics
+     * @since 0.4.0
+     */
+    public JavetSanitizerVerdictCacheStatistics getStatistics() {
+        return new JavetSanitizerVerdictCacheStatistics(
+                hitCount.sum(), missCount.sum(), evictionCount.sum(), size(), maxSize);
+    }
+
+    private void put(Key key, JavetSanitizerCheckResult result) {
+        if (result.getError() == JavetSanitizerError.ParseTimeout) {
+            return;
+        }
+        final Verdict verdict = new Verdict(result);
+        synchronized (map) {
+            map.put(key, verdict);
+        }
+    }
+
+    /**
+     * Gets the number of cached verdicts.
+     *
+     * @return the size
+     * @since 0.4.0
+     */
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> checkerClass;
+        private final byte[] digest;
+        private final int hashCode;
+        private final JavetSanitizerOption option;
+
+        private Key(Class<?> checkerClass, JavetSanitizerOption option, byte[] digest) {
+            this.checkerClass = checkerClass;
+            this.digest = digest;
+            this.option = option;
+            hashCode = 31 * (31 * checkerClass.hashCode() + option.hashCode())
+                    + Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return checkerClass == key.checkerClass
+                    && option.equals(key.option)
+                    && Arrays.equals(digest, key.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Verdict {
+        private final boolean contextPresent;
+        private final int endColumn;
+        private final int endLineNumber;
+        private final int endPosition;
+        private final JavetSanitizerError error;
+        private final Map<String, Object> parameters;
+        private final int startColumn;
+        private final int startLineNumber;
+        private final int startPosition;
+
+        private Verdict(JavetSanitizerCheckResult result) {
+            error = result.getError();
+            parameters = result.getParameters();
+            JavetSanitizerErrorContext context = result.getContext();
+            contextPresent = context != null;
+            if (contextPresent) {
+                endColumn = context.getEndColumn();
+                endLineNumber = context.getEndLineNumber();
+                endPosition = context.getEndPosition();
+                startColumn = context.getStartColumn();
+                startLineNumber = context.getStartLineNumber();
+                startPosition = context.getStartPosition();
+            } else {
+                endColumn = endLineNumber = endPosition = 0;
+                startColumn = startLineNumber = startPosition = 0;
+            }
+        }
+
+        private JavetSanitizerCheckResult toCheckResult(long durationNanos) {
+            JavetSanitizerErrorContext context = null;
+            if (contextPresent) {
+                context = new JavetSanitizerErrorContext()
+                        .setEndColumn(endColumn)
+                        .setEndLineNumber(endLineNumber)
+                        .setEndPosition(endPosition)
+                        .setStartColumn(startColumn)
+                        .setStartLineNumber(startLineNumber)
+                        .setStartPosition(startPosition);
+            }
+            return new JavetSanitizerCheckResult(error, parameters, context, durationNanos, 0L, 0L);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+/**
+ * The type Javet sanitizer verdict cache statistics is an immutable view of the verdict cache at a point in time.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerVerdictCacheStatistics {
+    private final long evictionCount;
+    private final long hitCount;
+    private final int maxSize;
+    private final long missCount;
+    private final int size;
+
+    JavetSanitizerVerdictCacheStatistics(long hitCount, long missCount, long evictionCount, int size, int maxSize) {
+        this.evictionCount = evictionCount;
+        this.hitCount = hitCount;
+        this.maxSize = maxSize;
+        this.missCount = missCount;
+        this.size = size;
+    }
+
+    /**
+     * Gets eviction count.
+     *
+     * @return the eviction count
+     * @since 0.4.0
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets hit count.
+     *
+     * @return the hit count
+     * @since 0.4.0
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets hit rate. It is 0 if there is no request.
+     *
+     * @return the hit rate
+     * @since 0.4.0
+     */
+    public double getHitRate() {
+        final long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0D : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Gets max size.
+     *
+     * @return the max size
+     * @since 0.4.0
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets miss count.
+     *
+     * @return the miss count
+     * @since 0.4.0
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets size.
+     *
+     * @return the size
+     * @since 0.4.0
+     */
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "JavetSanitizerVerdictCacheStatistics{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", size=" + size +
+                ", maxSize=" + maxSize +
+                '}';
+    }
+}
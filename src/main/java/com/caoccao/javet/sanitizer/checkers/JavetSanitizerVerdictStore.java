@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerError;
+import com.caoccao.javet.sanitizer.utils.CharStreamUtils;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.RuntimeMetaData;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Javet sanitizer verdict store is a disk-backed verdict cache placed in front of
+ * {@link JavetSanitizerStatelessChecker}. It survives restarts and can be shared by several JVMs on the same host.
+ * <p>
+ * The file is a memory-mapped, append-only hash index with open addressing.
+ * Each slot maps the 128-bit source hash and the 128-bit fingerprint of the checker class and
+ * {@link com.caoccao.javet.sanitizer.options.JavetSanitizerOption#getFingerprint()} to the error code of the verdict.
+ * Slots are never updated or removed. A slot is committed by writing its checksum last,
+ * so readers never take a lock and ignore slots that are not committed yet.
+ * Writers are serialized by a file lock.
+ * <p>
+ * The file is validated on open. It is rebuilt if the format, the ANTLR runtime, the grammar
+ * or the sanitizer version changes. The checksum is salted with the version stamp,
+ * so a process still running an old version does not accept the verdicts of a new version and vice versa.
+ * <p>
+ * Only the error code is stored. A rejection read from the store has no parameters and no context.
+ * Unknown errors, missing listeners and parse timeouts are not stored because they do not depend on the source only.
+ * When the index is too crowded to place a verdict, the verdict is not stored.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerVerdictStore implements Closeable {
+    /**
+     * The constant DEFAULT_SLOT_COUNT.
+     *
+     * @since 0.4.0
+     */
+    public static final int DEFAULT_SLOT_COUNT = 1 << 20;
+    /**
+     * The constant FORMAT_VERSION.
+     *
+     * @since 0.4.0
+     */
+    public static final int FORMAT_VERSION = 1;
+    /**
+     * The constant MAGIC.
+     *
+     * @since 0.4.0
+     */
+    public static final int MAGIC = 0x4A535653;
+    /**
+     * The constant MAX_SLOT_COUNT.
+     *
+     * @since 0.4.0
+     */
+    public static final int MAX_SLOT_COUNT = 1 << 25;
+    private static final Map<Integer, JavetSanitizerError> ERROR_MAP;
+    private static final int HASH_SIZE = 16;
+    private static final int HEADER_OFFSET_FORMAT_VERSION = 4;
+    private static final int HEADER_OFFSET_MAGIC = 0;
+    private static final int HEADER_OFFSET_SLOT_COUNT = 8;
+    private static final int HEADER_OFFSET_STAMP = 16;
+    private static final int HEADER_SIZE = 64;
+    private static final Map<Path, Object> LOCK_MAP = new ConcurrentHashMap<>();
+    private static final int MAX_PROBE_COUNT = 16;
+    private static final int SLOT_OFFSET_CHECKSUM = 36;
+    private static final int SLOT_OFFSET_ERROR_CODE = 32;
+    private static final int SLOT_OFFSET_OPTION_FINGERPRINT = 16;
+    private static final int SLOT_SIZE = 40;
+    private static final byte[] STAMP;
+
+    static {
+        Map<Integer, JavetSanitizerError> errorMap = new HashMap<>();
+        for (JavetSanitizerError error : JavetSanitizerError.values()) {
+            errorMap.put(error.getCode(), error);
+        }
+        ERROR_MAP = Collections.unmodifiableMap(errorMap);
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            String sanitizerVersion = JavetSanitizerVerdictStore.class.getPackage().getImplementationVersion();
+            for (String text : new String[]{
+                    String.valueOf(FORMAT_VERSION),
+                    RuntimeMetaData.VERSION,
+                    sanitizerVersion == null ? "" : sanitizerVersion,
+                    JavaScriptLexer._serializedATN,
+                    JavaScriptParser._serializedATN}) {
+                messageDigest.update(text.getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte) 0);
+            }
+            STAMP = messageDigest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final FileChannel fileChannel;
+    private final Object lock;
+    private final MappedByteBuffer mappedByteBuffer;
+    private final Path path;
+    private final int salt;
+    private final int slotCount;
+
+    private JavetSanitizerVerdictStore(Path path, FileChannel fileChannel, int slotCount) throws IOException {
+        this.fileChannel = fileChannel;
+        this.path = path;
+        lock = LOCK_MAP.computeIfAbsent(path, key -> new Object());
+        salt = ByteBuffer.wrap(STAMP).getInt();
+        synchronized (lock) {
+            FileLock fileLock = fileChannel.lock();
+            try {
+                int existingSlotCount = readValidSlotCount(fileChannel);
+                if (existingSlotCount > 0) {
+                    this.slotCount = existingSlotCount;
+                    mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, getFileSize(slotCount));
+                } else {
+                    this.slotCount = slotCount;
+                    mappedByteBuffer = rebuild(fileChannel, slotCount);
+                }
+            } finally {
+                fileLock.release();
+            }
+        }
+    }
+
+    private static long getFileSize(int slotCount) {
+        return HEADER_SIZE + (long) slotCount * SLOT_SIZE;
+    }
+
+    /**
+     * Open the verdict store at the given path with the default slot count.
+     *
+     * @param path the path
+     * @return the verdict store
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public static JavetSanitizerVerdictStore open(Path path) throws IOException {
+        return open(path, DEFAULT_SLOT_COUNT);
+    }
+
+    /**
+     * Open the verdict store at the given path.
+     * The slot count only applies when the file is created or rebuilt.
+     * A valid existing file keeps its own slot count.
+     *
+     * @param path      the path
+     * @param slotCount the slot count, a power of 2
+     * @return the verdict store
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public static JavetSanitizerVerdictStore open(Path path, int slotCount) throws IOException {
+        if (slotCount <= 0 || slotCount > MAX_SLOT_COUNT || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of 2 not greater than " + MAX_SLOT_COUNT + ".");
+        }
+        Objects.requireNonNull(path);
+        if (!Files.exists(path)) {
+            Files.createFile(path);
+        }
+        Path realPath = path.toRealPath();
+        FileChannel fileChannel = FileChannel.open(realPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new JavetSanitizerVerdictStore(realPath, fileChannel, slotCount);
+        } catch (IOException | RuntimeException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    private static int readValidSlotCount(FileChannel fileChannel) throws IOException {
+        if (fileChannel.size() < HEADER_SIZE) {
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (fileChannel.read(header, header.position()) < 0) {
+                return 0;
+            }
+        }
+        if (header.getInt(HEADER_OFFSET_MAGIC) != MAGIC
+                || header.getInt(HEADER_OFFSET_FORMAT_VERSION) != FORMAT_VERSION) {
+            return 0;
+        }
+        for (int i = 0; i < STAMP.length; i++) {
+            if (header.get(HEADER_OFFSET_STAMP + i) != STAMP[i]) {
+                return 0;
+            }
+        }
+        int slotCount = header.getInt(HEADER_OFFSET_SLOT_COUNT);
+        if (slotCount <= 0 || slotCount > MAX_SLOT_COUNT || Integer.bitCount(slotCount) != 1
+                || fileChannel.size() < getFileSize(slotCount)) {
+            return 0;
+        }
+        return slotCount;
+    }
+
+    private static MappedByteBuffer rebuild(FileChannel fileChannel, int slotCount) throws IOException {
+        final long fileSize = getFileSize(slotCount);
+        // The file is never truncated because other processes may still map it.
+        if (fileChannel.size() < fileSize) {
+            fileChannel.write(ByteBuffer.wrap(new byte[1]), fileSize - 1);
+        }
+        MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        mappedByteBuffer.putInt(HEADER_OFFSET_MAGIC, 0);
+        for (int i = HEADER_SIZE; i < fileSize; i += 8) {
+            mappedByteBuffer.putLong(i, 0L);
+        }
+        mappedByteBuffer.putInt(HEADER_OFFSET_FORMAT_VERSION, FORMAT_VERSION);
+        mappedByteBuffer.putInt(HEADER_OFFSET_SLOT_COUNT, slotCount);
+        for (int i = 0; i < STAMP.length; i++) {
+            mappedByteBuffer.put(HEADER_OFFSET_STAMP + i, STAMP[i]);
+        }
+        mappedByteBuffer.putInt(HEADER_OFFSET_MAGIC, MAGIC);
+        mappedByteBuffer.force();
+        return mappedByteBuffer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapped byte buffer is released by GC because Java 8 has no public API to unmap it.
+        fileChannel.close();
+    }
+
+    /**
+     * Evaluate the given code string with the checker, or return the stored verdict.
+     *
+     * @param checker    the checker
+     * @param codeString the code string
+     * @return the check result
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public JavetSanitizerCheckResult evaluate(JavetSanitizerStatelessChecker<?> checker, String codeString)
+            throws IOException {
+        Objects.requireNonNull(checker);
+        if (codeString == null || !checker.getOption().isSealed()) {
+            return checker.evaluate(codeString);
+        }
+        final long startTime = System.nanoTime();
+        final byte[] sourceHash = Arrays.copyOf(JavetSanitizerVerdictCache.digest(codeString), HASH_SIZE);
+        final byte[] optionFingerprint = getOptionFingerprint(checker);
+        JavetSanitizerCheckResult result = get(sourceHash, optionFingerprint, startTime);
+        if (result == null) {
+            result = checker.evaluate(codeString);
+            put(sourceHash, optionFingerprint, result);
+        }
+        return result;
+    }
+
+    /**
+     * Evaluate the given char stream with the checker, or return the stored verdict.
+     *
+     * @param checker    the checker
+     * @param charStream the char stream
+     * @return the check result
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public JavetSanitizerCheckResult evaluate(JavetSanitizerStatelessChecker<?> checker, CharStream charStream)
+            throws IOException {
+        Objects.requireNonNull(checker);
+        if (charStream == null || !checker.getOption().isSealed()) {
+            return checker.evaluate(charStream);
+        }
+        final long startTime = System.nanoTime();
+        final byte[] sourceHash = Arrays.copyOf(
+                JavetSanitizerVerdictCache.digest(CharStreamUtils.getText(charStream)), HASH_SIZE);
+        final byte[] optionFingerprint = getOptionFingerprint(checker);
+        JavetSanitizerCheckResult result = get(sourceHash, optionFingerprint, startTime);
+        if (result == null) {
+            result = checker.evaluate(charStream);
+            put(sourceHash, optionFingerprint, result);
+        }
+        return result;
+    }
+
+    private JavetSanitizerCheckResult get(byte[] sourceHash, byte[] optionFingerprint, long startTime) {
+        final int startSlot = getStartSlot(sourceHash, optionFingerprint);
+        for (int probe = 0; probe < MAX_PROBE_COUNT; probe++) {
+            final int offset = getSlotOffset((startSlot + probe) & (slotCount - 1));
+            final int checksum = mappedByteBuffer.getInt(offset + SLOT_OFFSET_CHECKSUM);
+            if (checksum == 0) {
+                return null;
+            }
+            final int errorCode = mappedByteBuffer.getInt(offset + SLOT_OFFSET_ERROR_CODE);
+            if (isSlotMatched(offset, sourceHash, optionFingerprint)
+                    && checksum == getChecksum(sourceHash, optionFingerprint, errorCode)) {
+                final JavetSanitizerError error = ERROR_MAP.get(errorCode);
+                if (errorCode != 0 && error == null) {
+                    return null;
+                }
+                return new JavetSanitizerCheckResult(
+                        error, Collections.emptyMap(), null, System.nanoTime() - startTime, 0L, 0L);
+            }
+        }
+        return null;
+    }
+
+    private int getChecksum(byte[] sourceHash, byte[] optionFingerprint, int errorCode) {
+        int checksum = salt;
+        for (byte b : sourceHash) {
+            checksum = 31 * checksum + b;
+        }
+        for (byte b : optionFingerprint) {
+            checksum = 31 * checksum + b;
+        }
+        checksum = 31 * checksum + errorCode;
+        checksum ^= checksum >>> 16;
+        return checksum == 0 ? 1 : checksum;
+    }
+
+    private byte[] getOptionFingerprint(JavetSanitizerStatelessChecker<?> checker) {
+        MessageDigest messageDigest = JavetSanitizerVerdictCache.MESSAGE_DIGEST.get();
+        messageDigest.reset();
+        messageDigest.update(checker.getCheckerClass().getName().getBytes(StandardCharsets.UTF_8));
+        messageDigest.update(checker.getOption().getFingerprint());
+        return Arrays.copyOf(messageDigest.digest(), HASH_SIZE);
+    }
+
+    /**
+     * Gets path.
+     *
+     * @return the path
+     * @since 0.4.0
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Gets slot count.
+     *
+     * @return the slot count
+     * @since 0.4.0
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    private int getSlotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private int getStartSlot(byte[] sourceHash, byte[] optionFingerprint) {
+        int hash = 0;
+        for (int i = 0; i < 4; i++) {
+            hash = (hash << 8) | ((sourceHash[i] ^ optionFingerprint[i]) & 0xFF);
+        }
+        return hash & (slotCount - 1);
+    }
+
+    private boolean isSlotMatched(int offset, byte[] sourceHash, byte[] optionFingerprint) {
+        for (int i = 0; i < HASH_SIZE; i++) {
+            if (mappedByteBuffer.get(offset + i) != sourceHash[i]
+                    || mappedByteBuffer.get(offset + SLOT_OFFSET_OPTION_FINGERPRINT + i) != optionFingerprint[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(byte[] sourceHash, byte[] optionFingerprint, JavetSanitizerCheckResult result)
+            throws IOException {
+        final JavetSanitizerError error = result.getError();
+        if (error == JavetSanitizerError.UnknownError
+                || error == JavetSanitizerError.ListenerNotFound
+                || error == JavetSanitizerError.ParseTimeout) {
+            return;
+        }
+        final int errorCode = result.getErrorCode();
+        final int startSlot = getStartSlot(sourceHash, optionFingerprint);
+        synchronized (lock) {
+            FileLock fileLock = fileChannel.lock();
+            try {
+                for (int probe = 0; probe < MAX_PROBE_COUNT; probe++) {
+                    final int offset = getSlotOffset((startSlot + probe) & (slotCount - 1));
+                    if (mappedByteBuffer.getInt(offset + SLOT_OFFSET_CHECKSUM) == 0) {
+                        for (int i = 0; i < HASH_SIZE; i++) {
+                            mappedByteBuffer.put(offset + i, sourceHash[i]);
+                            mappedByteBuffer.put(offset + SLOT_OFFSET_OPTION_FINGERPRINT + i, optionFingerprint[i]);
+                        }
+                        mappedByteBuffer.putInt(offset + SLOT_OFFSET_ERROR_CODE, errorCode);
+                        mappedByteBuffer.putInt(
+                                offset + SLOT_OFFSET_CHECKSUM,
+                                getChecksum(sourceHash, optionFingerprint, errorCode));
+                        return;
+                    }
+                    if (isSlotMatched(offset, sourceHash, optionFingerprint)) {
+                        return;
+                    }
+                }
+            } finally {
+                fileLock.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.exceptions;
+
+/**
+ * The type Javet sanitizer abort exception is the internal signal that aborts
+ * a parse tree walk or a parse once the listener records a {@link JavetSanitizerException}.
+ * It carries no stack trace and no suppressed exceptions so that a single instance is shared.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerAbortException extends RuntimeException {
+    /**
+     * The constant INSTANCE.
+     *
+     * @since 0.4.0
+     */
+    public static final JavetSanitizerAbortException INSTANCE = new JavetSanitizerAbortException();
+
+    private JavetSanitizerAbortException() {
+        super("Sanity check error.", null, false, false);
+    }
+}
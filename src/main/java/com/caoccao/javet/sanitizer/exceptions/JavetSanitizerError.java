@@ -40,6 +40,11 @@ public enum JavetSanitizerError {
     SyntaxCountTooLarger(222, "Syntax count ${actualCount} is greater than the maximal syntax count ${maxCount}."),
 
     FunctionNotFound(300, "Function ${name} is not found."),
+
+    SourceLengthTooLarge(400, "Source length ${actualLength} is greater than the maximal source length ${maxLength}."),
+    TokenCountTooLarge(401, "Token count ${actualCount} is greater than the maximal token count ${maxCount}."),
+    ParseTreeDepthTooLarge(402, "Parse tree depth ${actualDepth} is greater than the maximal parse tree depth ${maxDepth}."),
+    ParseTimeout(403, "Parse time is greater than the maximal parse time ${maxTime}ms."),
     ;
 
     private final int code;
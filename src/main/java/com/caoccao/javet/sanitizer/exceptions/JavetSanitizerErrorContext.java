@@ -19,8 +19,13 @@ package com.caoccao.javet.sanitizer.exceptions;
 
 import com.caoccao.javet.sanitizer.utils.StringUtils;
 
+import java.util.Objects;
+
 /**
  * The type Javet sanitizer error context.
+ * <p>
+ * A context created from a source index only stores the positions.
+ * The line numbers, the columns and the source line are resolved on the first request.
  *
  * @since 0.1.0
  */
@@ -28,10 +33,13 @@ public class JavetSanitizerErrorContext {
     private int endColumn;
     private int endLineNumber;
     private int endPosition;
+    private boolean resolved;
     private String sourceCode;
+    private JavetSanitizerSourceIndex sourceIndex;
     private int startColumn;
     private int startLineNumber;
     private int startPosition;
+    private int stopStartPosition;
 
     /**
      * Instantiates a new Javet sanitizer error context.
@@ -39,6 +47,29 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public JavetSanitizerErrorContext() {
+        resolved = true;
+        sourceIndex = null;
+    }
+
+    /**
+     * Instantiates a new lazy Javet sanitizer error context.
+     *
+     * @param sourceIndex       the source index
+     * @param startPosition     the start position
+     * @param endPosition       the end position, exclusive
+     * @param stopStartPosition the start position of the last token
+     * @since 0.4.0
+     */
+    public JavetSanitizerErrorContext(
+            JavetSanitizerSourceIndex sourceIndex,
+            int startPosition,
+            int endPosition,
+            int stopStartPosition) {
+        this.endPosition = endPosition;
+        resolved = false;
+        this.sourceIndex = Objects.requireNonNull(sourceIndex);
+        this.startPosition = startPosition;
+        this.stopStartPosition = stopStartPosition;
     }
 
     /**
@@ -48,6 +79,7 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public int getEndColumn() {
+        resolve();
         return endColumn;
     }
 
@@ -58,6 +90,7 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public int getEndLineNumber() {
+        resolve();
         return endLineNumber;
     }
 
@@ -78,7 +111,7 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public String getSourceCode() {
-        return sourceCode;
+        return sourceIndex == null ? sourceCode : sourceIndex.getSourceCode();
     }
 
     /**
@@ -88,6 +121,9 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public String getSourceLine() {
+        if (sourceIndex != null) {
+            return sourceIndex.getText(startPosition, endPosition);
+        }
         return StringUtils.isEmpty(sourceCode)
                 ? StringUtils.EMPTY
                 : sourceCode.substring(getStartPosition(), getEndPosition());
@@ -100,6 +136,7 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public int getStartColumn() {
+        resolve();
         return startColumn;
     }
 
@@ -110,6 +147,7 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public int getStartLineNumber() {
+        resolve();
         return startLineNumber;
     }
 
@@ -131,6 +169,7 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public JavetSanitizerErrorContext setEndColumn(int endColumn) {
+        resolve();
         this.endColumn = endColumn;
         return this;
     }
@@ -143,6 +182,7 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public JavetSanitizerErrorContext setEndLineNumber(int endLineNumber) {
+        resolve();
         this.endLineNumber = endLineNumber;
         return this;
     }
@@ -167,6 +207,8 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public JavetSanitizerErrorContext setSourceCode(String sourceCode) {
+        resolve();
+        sourceIndex = null;
         this.sourceCode = sourceCode;
         return this;
     }
@@ -179,6 +221,7 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public JavetSanitizerErrorContext setStartColumn(int startColumn) {
+        resolve();
         this.startColumn = startColumn;
         return this;
     }
@@ -191,6 +234,7 @@ public class JavetSanitizerErrorContext {
      * @since 0.1.0
      */
     public JavetSanitizerErrorContext setStartLineNumber(int startLineNumber) {
+        resolve();
         this.startLineNumber = startLineNumber;
         return this;
     }
@@ -207,13 +251,23 @@ public class JavetSanitizerErrorContext {
         return this;
     }
 
+    private void resolve() {
+        if (!resolved) {
+            startLineNumber = sourceIndex.getLineNumber(startPosition);
+            startColumn = sourceIndex.getColumn(startLineNumber, startPosition);
+            endLineNumber = sourceIndex.getLineNumber(stopStartPosition);
+            endColumn = sourceIndex.getColumn(endLineNumber, endPosition);
+            resolved = true;
+        }
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
         sb.append("Source Code: ").append(getSourceLine()).append("\n");
-        sb.append("Line Number: ").append(startLineNumber).append(", ").append(endLineNumber).append("\n");
-        sb.append("Column: ").append(startColumn).append(", ").append(endColumn).append("\n");
-        sb.append("Position: ").append(startPosition).append(", ").append(endPosition);
+        sb.append("Line Number: ").append(getStartLineNumber()).append(", ").append(getEndLineNumber()).append("\n");
+        sb.append("Column: ").append(getStartColumn()).append(", ").append(getEndColumn()).append("\n");
+        sb.append("Position: ").append(getStartPosition()).append(", ").append(getEndPosition());
         return sb.toString();
     }
 }
@@ -16,8 +16,6 @@
 
 package com.caoccao.javet.sanitizer.exceptions;
 
-import com.caoccao.javet.sanitizer.utils.SimpleMap;
-
 import java.util.Map;
 import java.util.Objects;
 
@@ -27,26 +25,31 @@ import java.util.Objects;
  * @since 0.1.0
  */
 public final class JavetSanitizerException extends Exception {
+    private static volatile boolean stackTraceEnabled = true;
     private final JavetSanitizerError error;
     private final Map<String, Object> parameters;
     private JavetSanitizerErrorContext context;
+    private String message;
 
-    private JavetSanitizerException(JavetSanitizerError error) {
-        this(error, SimpleMap.of());
-    }
-
-    private JavetSanitizerException(JavetSanitizerError error, Map<String, Object> parameters) {
-        super(Objects.requireNonNull(error).getMessage(Objects.requireNonNull(parameters)));
+    private JavetSanitizerException(JavetSanitizerError error, Map<String, Object> parameters, Throwable cause) {
+        super(null, cause);
         context = null;
-        this.error = error;
-        this.parameters = parameters;
+        this.error = Objects.requireNonNull(error);
+        message = null;
+        this.parameters = Objects.requireNonNull(parameters);
     }
 
-    private JavetSanitizerException(JavetSanitizerError error, Map<String, Object> parameters, Throwable cause) {
-        super(Objects.requireNonNull(error).getMessage(Objects.requireNonNull(parameters)), cause);
-        context = null;
-        this.error = error;
-        this.parameters = parameters;
+    /**
+     * Create the exception of the given error, parameters and cause.
+     *
+     * @param error      the error
+     * @param parameters the parameters
+     * @param cause      the cause
+     * @return the javet sanitizer exception
+     * @since 0.4.0
+     */
+    static JavetSanitizerException of(JavetSanitizerError error, Map<String, Object> parameters, Throwable cause) {
+        return new JavetSanitizerException(error, parameters, cause);
     }
 
     /**
@@ -58,9 +61,7 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException argumentCountMismatch(int expectedCount, int actualCount) {
-        return new JavetSanitizerException(
-                JavetSanitizerError.ArgumentCountMismatch,
-                SimpleMap.of("actualCount", actualCount, "expectedCount", expectedCount));
+        return new JavetSanitizerRejection().argumentCountMismatch(expectedCount, actualCount).toException();
     }
 
     /**
@@ -70,7 +71,7 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException emptyCodeString() {
-        return new JavetSanitizerException(JavetSanitizerError.EmptyCodeString);
+        return new JavetSanitizerRejection().emptyCodeString().toException();
     }
 
     /**
@@ -81,9 +82,7 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException functionNotFound(String name) {
-        return new JavetSanitizerException(
-                JavetSanitizerError.FunctionNotFound,
-                SimpleMap.of("name", name));
+        return new JavetSanitizerRejection().functionNotFound(name).toException();
     }
 
     /**
@@ -94,9 +93,7 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException identifierNotAllowed(String identifier) {
-        return new JavetSanitizerException(
-                JavetSanitizerError.IdentifierNotAllowed,
-                SimpleMap.of("identifier", identifier));
+        return new JavetSanitizerRejection().identifierNotAllowed(identifier).toException();
     }
 
     /**
@@ -107,9 +104,7 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException keywordNotAllowed(String keyword) {
-        return new JavetSanitizerException(
-                JavetSanitizerError.KeywordNotAllowed,
-                SimpleMap.of("keyword", keyword));
+        return new JavetSanitizerRejection().keywordNotAllowed(keyword).toException();
     }
 
     /**
@@ -121,10 +116,42 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException listenerNotFound(String listenerClassName, Throwable cause) {
-        return new JavetSanitizerException(
-                JavetSanitizerError.ListenerNotFound,
-                SimpleMap.of("name", listenerClassName),
-                cause);
+        return new JavetSanitizerRejection().listenerNotFound(listenerClassName, cause).toException();
+    }
+
+    /**
+     * Parse timeout javet sanitizer exception.
+     *
+     * @param maxTime the max time in milliseconds
+     * @return the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public static JavetSanitizerException parseTimeout(long maxTime) {
+        return new JavetSanitizerRejection().parseTimeout(maxTime).toException();
+    }
+
+    /**
+     * Parse tree depth too large javet sanitizer exception.
+     *
+     * @param maxDepth    the max depth
+     * @param actualDepth the actual depth
+     * @return the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public static JavetSanitizerException parseTreeDepthTooLarge(int maxDepth, int actualDepth) {
+        return new JavetSanitizerRejection().parseTreeDepthTooLarge(maxDepth, actualDepth).toException();
+    }
+
+    /**
+     * Source length too large javet sanitizer exception.
+     *
+     * @param maxLength    the max length
+     * @param actualLength the actual length
+     * @return the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public static JavetSanitizerException sourceLengthTooLarge(int maxLength, int actualLength) {
+        return new JavetSanitizerRejection().sourceLengthTooLarge(maxLength, actualLength).toException();
     }
 
     /**
@@ -136,9 +163,7 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException syntaxCountMismatch(int expectedCount, int actualCount) {
-        return new JavetSanitizerException(
-                JavetSanitizerError.SyntaxCountMismatch,
-                SimpleMap.of("actualCount", actualCount, "expectedCount", expectedCount));
+        return new JavetSanitizerRejection().syntaxCountMismatch(expectedCount, actualCount).toException();
     }
 
     /**
@@ -150,9 +175,7 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException syntaxCountTooLarge(int maxCount, int actualCount) {
-        return new JavetSanitizerException(
-                JavetSanitizerError.SyntaxCountTooLarger,
-                SimpleMap.of("actualCount", actualCount, "maxCount", maxCount));
+        return new JavetSanitizerRejection().syntaxCountTooLarge(maxCount, actualCount).toException();
     }
 
     /**
@@ -164,9 +187,19 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException syntaxCountTooSmall(int minCount, int actualCount) {
-        return new JavetSanitizerException(
-                JavetSanitizerError.SyntaxCountTooSmall,
-                SimpleMap.of("actualCount", actualCount, "minCount", minCount));
+        return new JavetSanitizerRejection().syntaxCountTooSmall(minCount, actualCount).toException();
+    }
+
+    /**
+     * Token count too large javet sanitizer exception.
+     *
+     * @param maxCount    the max count
+     * @param actualCount the actual count
+     * @return the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public static JavetSanitizerException tokenCountTooLarge(int maxCount, int actualCount) {
+        return new JavetSanitizerRejection().tokenCountTooLarge(maxCount, actualCount).toException();
     }
 
     /**
@@ -178,9 +211,7 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException tokenMismatch(String expectedToken, String actualToken) {
-        return new JavetSanitizerException(
-                JavetSanitizerError.InvalidToken,
-                SimpleMap.of("expectedToken", expectedToken, "actualToken", actualToken));
+        return new JavetSanitizerRejection().tokenMismatch(expectedToken, actualToken).toException();
     }
 
     /**
@@ -192,9 +223,34 @@ public final class JavetSanitizerException extends Exception {
      * @since 0.1.0
      */
     public static JavetSanitizerException unknownError(String message, Throwable t) {
-        return new JavetSanitizerException(
-                JavetSanitizerError.UnknownError,
-                SimpleMap.of("message", message));
+        return new JavetSanitizerRejection().unknownError(message).toException();
+    }
+
+    /**
+     * Is stack trace enabled.
+     *
+     * @return true : the stack trace is filled in, false : the stack trace is skipped
+     * @since 0.4.0
+     */
+    public static boolean isStackTraceEnabled() {
+        return stackTraceEnabled;
+    }
+
+    /**
+     * Sets stack trace enabled.
+     * Skipping the stack trace saves the cost of the stack walk on every rejection,
+     * which matters when a high rate of scripts is rejected.
+     *
+     * @param stackTraceEnabled the stack trace enabled
+     * @since 0.4.0
+     */
+    public static void setStackTraceEnabled(boolean stackTraceEnabled) {
+        JavetSanitizerException.stackTraceEnabled = stackTraceEnabled;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return stackTraceEnabled ? super.fillInStackTrace() : this;
     }
 
     /**
@@ -217,6 +273,20 @@ public final class JavetSanitizerException extends Exception {
         return error;
     }
 
+    /**
+     * Gets message. It is formatted on the first request.
+     *
+     * @return the message
+     * @since 0.4.0
+     */
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = error.getMessage(parameters);
+        }
+        return message;
+    }
+
     /**
      * Gets parameters.
      *
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.exceptions;
+
+/**
+ * The type Javet sanitizer limit exception aborts a parse from inside the lexer or the parser
+ * once a resource limit of the option is exceeded.
+ * It carries the {@link JavetSanitizerRejection} to be reported and no stack trace.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerLimitException extends RuntimeException {
+    private final JavetSanitizerRejection rejection;
+
+    /**
+     * Instantiates a new Javet sanitizer limit exception.
+     *
+     * @param rejection the rejection
+     * @since 0.4.0
+     */
+    public JavetSanitizerLimitException(JavetSanitizerRejection rejection) {
+        super(null, null, false, false);
+        this.rejection = rejection;
+    }
+
+    /**
+     * Gets rejection.
+     *
+     * @return the rejection
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection getRejection() {
+        return rejection;
+    }
+}
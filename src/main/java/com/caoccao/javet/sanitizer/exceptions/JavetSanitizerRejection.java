@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.exceptions;
+
+import com.caoccao.javet.sanitizer.utils.SimpleMap;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The type Javet sanitizer rejection records why a check rejected the code
+ * without constructing a {@link JavetSanitizerException}.
+ * <p>
+ * During an evaluation the parsers, the listeners and the checkers record the rejection
+ * and unwind with {@link JavetSanitizerAbortException#INSTANCE}, so a rejection costs no stack trace.
+ * The exception is only constructed by {@link #toException()} when the caller wants it thrown.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerRejection {
+    private Throwable cause;
+    private JavetSanitizerErrorContext context;
+    private JavetSanitizerError error;
+    private Map<String, Object> parameters;
+
+    /**
+     * Instantiates a new Javet sanitizer rejection.
+     *
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection() {
+        reset();
+    }
+
+    /**
+     * Record argument count mismatch.
+     *
+     * @param expectedCount the expected count
+     * @param actualCount   the actual count
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection argumentCountMismatch(int expectedCount, int actualCount) {
+        return record(
+                JavetSanitizerError.ArgumentCountMismatch,
+                SimpleMap.of("actualCount", actualCount, "expectedCount", expectedCount));
+    }
+
+    /**
+     * Record empty code string.
+     *
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection emptyCodeString() {
+        return record(JavetSanitizerError.EmptyCodeString, SimpleMap.of());
+    }
+
+    /**
+     * Record function not found.
+     *
+     * @param name the name
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection functionNotFound(String name) {
+        return record(JavetSanitizerError.FunctionNotFound, SimpleMap.of("name", name));
+    }
+
+    /**
+     * Gets cause.
+     *
+     * @return the cause
+     * @since 0.4.0
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+
+    /**
+     * Gets context.
+     *
+     * @return the context
+     * @since 0.4.0
+     */
+    public JavetSanitizerErrorContext getContext() {
+        return context;
+    }
+
+    /**
+     * Gets error. It is null if nothing is recorded.
+     *
+     * @return the error
+     * @since 0.4.0
+     */
+    public JavetSanitizerError getError() {
+        return error;
+    }
+
+    /**
+     * Gets parameters.
+     *
+     * @return the parameters
+     * @since 0.4.0
+     */
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Record identifier not allowed.
+     *
+     * @param identifier the identifier
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection identifierNotAllowed(String identifier) {
+        return record(JavetSanitizerError.IdentifierNotAllowed, SimpleMap.of("identifier", identifier));
+    }
+
+    /**
+     * Is rejected.
+     *
+     * @return true : rejected, false : nothing is recorded
+     * @since 0.4.0
+     */
+    public boolean isRejected() {
+        return error != null;
+    }
+
+    /**
+     * Record keyword not allowed.
+     *
+     * @param keyword the keyword
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection keywordNotAllowed(String keyword) {
+        return record(JavetSanitizerError.KeywordNotAllowed, SimpleMap.of("keyword", keyword));
+    }
+
+    /**
+     * Record listener not found.
+     *
+     * @param listenerClassName the listener class name
+     * @param cause             the cause
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection listenerNotFound(String listenerClassName, Throwable cause) {
+        record(JavetSanitizerError.ListenerNotFound, SimpleMap.of("name", listenerClassName));
+        this.cause = cause;
+        return this;
+    }
+
+    /**
+     * Record parse timeout.
+     *
+     * @param maxTime the max time in milliseconds
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection parseTimeout(long maxTime) {
+        return record(JavetSanitizerError.ParseTimeout, SimpleMap.of("maxTime", maxTime));
+    }
+
+    /**
+     * Record parse tree depth too large.
+     *
+     * @param maxDepth    the max depth
+     * @param actualDepth the actual depth
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection parseTreeDepthTooLarge(int maxDepth, int actualDepth) {
+        return record(
+                JavetSanitizerError.ParseTreeDepthTooLarge,
+                SimpleMap.of("actualDepth", actualDepth, "maxDepth", maxDepth));
+    }
+
+    /**
+     * Record the error and the parameters. The context and the cause are cleared.
+     *
+     * @param error      the error
+     * @param parameters the parameters
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection record(JavetSanitizerError error, Map<String, Object> parameters) {
+        cause = null;
+        context = null;
+        this.error = Objects.requireNonNull(error);
+        this.parameters = Objects.requireNonNull(parameters);
+        return this;
+    }
+
+    /**
+     * Record the given exception.
+     *
+     * @param exception the exception
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection record(JavetSanitizerException exception) {
+        record(exception.getError(), exception.getParameters());
+        cause = exception.getCause();
+        context = exception.getContext();
+        return this;
+    }
+
+    /**
+     * Record the given rejection.
+     *
+     * @param rejection the rejection
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection record(JavetSanitizerRejection rejection) {
+        if (rejection != this) {
+            cause = rejection.cause;
+            context = rejection.context;
+            error = rejection.error;
+            parameters = rejection.parameters;
+        }
+        return this;
+    }
+
+    /**
+     * Reset.
+     *
+     * @since 0.4.0
+     */
+    public void reset() {
+        cause = null;
+        context = null;
+        error = null;
+        parameters = SimpleMap.of();
+    }
+
+    /**
+     * Sets context.
+     *
+     * @param context the context
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection setContext(JavetSanitizerErrorContext context) {
+        this.context = context;
+        return this;
+    }
+
+    /**
+     * Record source length too large.
+     *
+     * @param maxLength    the max length
+     * @param actualLength the actual length
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection sourceLengthTooLarge(int maxLength, int actualLength) {
+        return record(
+                JavetSanitizerError.SourceLengthTooLarge,
+                SimpleMap.of("actualLength", actualLength, "maxLength", maxLength));
+    }
+
+    /**
+     * Record syntax count mismatch.
+     *
+     * @param expectedCount the expected count
+     * @param actualCount   the actual count
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection syntaxCountMismatch(int expectedCount, int actualCount) {
+        return record(
+                JavetSanitizerError.SyntaxCountMismatch,
+                SimpleMap.of("actualCount", actualCount, "expectedCount", expectedCount));
+    }
+
+    /**
+     * Record syntax count too large.
+     *
+     * @param maxCount    the max count
+     * @param actualCount the actual count
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection syntaxCountTooLarge(int maxCount, int actualCount) {
+        return record(
+                JavetSanitizerError.SyntaxCountTooLarger,
+                SimpleMap.of("actualCount", actualCount, "maxCount", maxCount));
+    }
+
+    /**
+     * Record syntax count too small.
+     *
+     * @param minCount    the min count
+     * @param actualCount the actual count
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection syntaxCountTooSmall(int minCount, int actualCount) {
+        return record(
+                JavetSanitizerError.SyntaxCountTooSmall,
+                SimpleMap.of("actualCount", actualCount, "minCount", minCount));
+    }
+
+    /**
+     * Create the exception of the recorded rejection.
+     *
+     * @return the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavetSanitizerException toException() {
+        return JavetSanitizerException.of(Objects.requireNonNull(error), parameters, cause).setContext(context);
+    }
+
+    /**
+     * Record token count too large.
+     *
+     * @param maxCount    the max count
+     * @param actualCount the actual count
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection tokenCountTooLarge(int maxCount, int actualCount) {
+        return record(
+                JavetSanitizerError.TokenCountTooLarge,
+                SimpleMap.of("actualCount", actualCount, "maxCount", maxCount));
+    }
+
+    /**
+     * Record token mismatch.
+     *
+     * @param expectedToken the expected token
+     * @param actualToken   the actual token
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection tokenMismatch(String expectedToken, String actualToken) {
+        return record(
+                JavetSanitizerError.InvalidToken,
+                SimpleMap.of("expectedToken", expectedToken, "actualToken", actualToken));
+    }
+
+    /**
+     * Record unknown error.
+     *
+     * @param message the message
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection unknownError(String message) {
+        return record(JavetSanitizerError.UnknownError, SimpleMap.of("message", message));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.exceptions;
+
+import com.caoccao.javet.sanitizer.utils.CharStreamUtils;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The type Javet sanitizer source index is shared by the error contexts of one source.
+ * Positions are code point indices of the char stream of the lexer.
+ * The line start offsets are built once on the first request
+ * and line numbers and columns are resolved by binary search.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerSourceIndex {
+    private final CharStream charStream;
+    private volatile int[] lineStartPositions;
+    private volatile String sourceCode;
+
+    /**
+     * Instantiates a new Javet sanitizer source index.
+     *
+     * @param charStream the char stream
+     * @param sourceCode the source code, null if it is not materialized yet
+     * @since 0.4.0
+     */
+    public JavetSanitizerSourceIndex(CharStream charStream, String sourceCode) {
+        this.charStream = Objects.requireNonNull(charStream);
+        lineStartPositions = null;
+        this.sourceCode = sourceCode;
+    }
+
+    /**
+     * Gets column.
+     *
+     * @param lineNumber the line number
+     * @param position   the position
+     * @return the column
+     * @since 0.4.0
+     */
+    public int getColumn(int lineNumber, int position) {
+        return position - getLineStartPositions()[lineNumber - 1];
+    }
+
+    /**
+     * Gets line count.
+     *
+     * @return the line count
+     * @since 0.4.0
+     */
+    public int getLineCount() {
+        return getLineStartPositions().length;
+    }
+
+    /**
+     * Gets line number.
+     *
+     * @param position the position
+     * @return the line number
+     * @since 0.4.0
+     */
+    public int getLineNumber(int position) {
+        int index = Arrays.binarySearch(getLineStartPositions(), position);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private int[] getLineStartPositions() {
+        int[] lineStartPositions = this.lineStartPositions;
+        if (lineStartPositions == null) {
+            int count = 1;
+            int[] positions = new int[16];
+            String text = getSourceCode();
+            final int length = text.length();
+            int position = 0;
+            for (int i = 0; i < length; ++position) {
+                final int codePoint = text.codePointAt(i);
+                i += Character.charCount(codePoint);
+                if (codePoint == '\n') {
+                    if (count == positions.length) {
+                        positions = Arrays.copyOf(positions, count << 1);
+                    }
+                    positions[count++] = position + 1;
+                }
+            }
+            lineStartPositions = Arrays.copyOf(positions, count);
+            this.lineStartPositions = lineStartPositions;
+        }
+        return lineStartPositions;
+    }
+
+    /**
+     * Gets source code.
+     *
+     * @return the source code
+     * @since 0.4.0
+     */
+    public String getSourceCode() {
+        String sourceCode = this.sourceCode;
+        if (sourceCode == null) {
+            sourceCode = CharStreamUtils.getText(charStream);
+            this.sourceCode = sourceCode;
+        }
+        return sourceCode;
+    }
+
+    /**
+     * Gets text.
+     *
+     * @param startPosition the start position
+     * @param endPosition   the end position, exclusive
+     * @return the text
+     * @since 0.4.0
+     */
+    public String getText(int startPosition, int endPosition) {
+        return charStream.getText(Interval.of(startPosition, endPosition - 1));
+    }
+}
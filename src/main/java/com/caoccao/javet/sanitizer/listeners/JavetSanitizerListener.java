@@ -18,7 +18,9 @@ package com.caoccao.javet.sanitizer.listeners;
 
 import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
 import com.caoccao.javet.sanitizer.antlr.JavaScriptParserListener;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerAbortException;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerRejection;
 import com.caoccao.javet.sanitizer.matchers.JavetSanitizerBuiltInObjectMatcher;
 import com.caoccao.javet.sanitizer.matchers.JavetSanitizerIdentifierMatcher;
 import com.caoccao.javet.sanitizer.matchers.JavetSanitizerKeywordMatcher;
@@ -35,8 +37,8 @@ import org.antlr.v4.runtime.tree.TerminalNode;
  */
 public class JavetSanitizerListener implements JavaScriptParserListener {
     protected ParserRuleContext errorContext;
-    protected JavetSanitizerException exception;
     protected JavetSanitizerOption option;
+    protected JavetSanitizerRejection rejection;
 
     public JavetSanitizerListener(JavetSanitizerOption option) {
         this.option = option;
@@ -1497,42 +1499,63 @@ public class JavetSanitizerListener implements JavaScriptParserListener {
     }
 
     public JavetSanitizerException getException() {
-        return exception;
+        return rejection == null ? null : rejection.toException();
     }
 
     public JavetSanitizerOption getOption() {
         return option;
     }
 
+    /**
+     * Gets rejection. It is null if no error is raised.
+     *
+     * @return the rejection
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection getRejection() {
+        return rejection;
+    }
+
     protected void raiseError(JavetSanitizerException exception, ParserRuleContext errorContext) {
+        raiseError(new JavetSanitizerRejection().record(exception), errorContext);
+    }
+
+    /**
+     * Raise error without constructing the exception.
+     *
+     * @param rejection    the rejection
+     * @param errorContext the error context
+     * @since 0.4.0
+     */
+    protected void raiseError(JavetSanitizerRejection rejection, ParserRuleContext errorContext) {
         this.errorContext = errorContext;
-        this.exception = exception;
-        throw new RuntimeException("Sanity check error.");
+        this.rejection = rejection;
+        throw JavetSanitizerAbortException.INSTANCE;
     }
 
     public void resetError() {
         errorContext = null;
-        exception = null;
+        rejection = null;
     }
 
     protected void validateBuiltInObject(ParserRuleContext context) {
         ParseTree parseTree = JavetSanitizerBuiltInObjectMatcher.getInstance().matches(option, context);
         if (parseTree != null) {
-            raiseError(JavetSanitizerException.identifierNotAllowed(parseTree.getText()), context);
+            raiseError(new JavetSanitizerRejection().identifierNotAllowed(parseTree.getText()), context);
         }
     }
 
     protected void validateIdentifier(ParserRuleContext context) {
         ParseTree parseTree = JavetSanitizerIdentifierMatcher.getInstance().matches(option, context);
         if (parseTree != null) {
-            raiseError(JavetSanitizerException.identifierNotAllowed(parseTree.getText()), context);
+            raiseError(new JavetSanitizerRejection().identifierNotAllowed(parseTree.getText()), context);
         }
     }
 
     protected void validateKeyword(ParserRuleContext context) {
         ParseTree parseTree = JavetSanitizerKeywordMatcher.getInstance().matches(option, context);
         if (parseTree != null) {
-            raiseError(JavetSanitizerException.keywordNotAllowed(parseTree.getText()), context);
+            raiseError(new JavetSanitizerRejection().keywordNotAllowed(parseTree.getText()), context);
         }
     }
 
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.listeners;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.Objects;
+
+/**
+ * The type Javet sanitizer streaming listener runs a {@link JavetSanitizerListener}
+ * as a parse listener so that a violation aborts the parse as soon as the offending rule is reduced.
+ * <p>
+ * The checks inspect the children of a rule, so a rule is dispatched to the listener when it exits
+ * instead of when it enters. Every rule context fires exactly one exit event after its children,
+ * so the contexts are dispatched one by one in post-order and the listener keeps no state per context.
+ * <p>
+ * The nested contexts of a left-recursive rule, e.g. the left operand of a binary expression,
+ * fire their exit events from the recursion loop before {@code Parser.pushNewRecursionContext()}
+ * sets their stop tokens and moves them under the enclosing context.
+ * So a check sees such a context with no stop token and with the parent of the rule invocation.
+ * The stop token is set by the time a violation is reported.
+ * <p>
+ * Dispatching stops at the first violation or the first syntax error.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerStreamingListener implements ParseTreeListener {
+    private final JavetSanitizerListener listener;
+    private boolean stopped;
+
+    /**
+     * Instantiates a new Javet sanitizer streaming listener.
+     *
+     * @param listener the listener
+     * @since 0.4.0
+     */
+    public JavetSanitizerStreamingListener(JavetSanitizerListener listener) {
+        this.listener = Objects.requireNonNull(listener);
+        reset();
+    }
+
+    private void dispatch(ParserRuleContext context) {
+        listener.enterEveryRule(context);
+        context.enterRule(listener);
+        final int childCount = context.getChildCount();
+        for (int i = 0; i < childCount; ++i) {
+            ParseTree child = context.getChild(i);
+            if (child instanceof ErrorNode) {
+                listener.visitErrorNode((ErrorNode) child);
+            } else if (child instanceof TerminalNode) {
+                listener.visitTerminal((TerminalNode) child);
+            }
+        }
+        context.exitRule(listener);
+        listener.exitEveryRule(context);
+    }
+
+    @Override
+    public void enterEveryRule(ParserRuleContext ctx) {
+    }
+
+    @Override
+    public void exitEveryRule(ParserRuleContext ctx) {
+        if (stopped) {
+            return;
+        }
+        if (ctx.exception != null || listener.getRejection() != null) {
+            // The rule exits because the parse is being aborted.
+            stopped = true;
+            return;
+        }
+        try {
+            dispatch(ctx);
+        } catch (RuntimeException e) {
+            stopped = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Gets listener.
+     *
+     * @return the listener
+     * @since 0.4.0
+     */
+    public JavetSanitizerListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Reset the listener so that the rule can be parsed again.
+     *
+     * @since 0.4.0
+     */
+    public void reset() {
+        listener.resetError();
+        stopped = false;
+    }
+
+    @Override
+    public void visitErrorNode(ErrorNode node) {
+    }
+
+    @Override
+    public void visitTerminal(TerminalNode node) {
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.matchers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.antlr.v4.runtime.Token;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The type Javet sanitizer token matcher scans the token stream of {@link JavaScriptLexer}
+ * for keywords and identifiers that {@link com.caoccao.javet.sanitizer.listeners.JavetSanitizerSecurityCheckListener}
+ * would reject, so that blatant violations are rejected before the parser runs.
+ * <p>
+ * It only rejects what the listener is certain to reject.
+ * <ul>
+ *     <li><code>async</code> is rejected wherever it appears.</li>
+ *     <li><code>debugger</code>, <code>export</code>, <code>import</code>, <code>var</code> and <code>with</code>
+ *     are rejected unless they might be a property name, i.e. they follow <code>.</code>, <code>?.</code>
+ *     or <code>#</code>, precede <code>:</code>, or appear directly in an object literal, a class body
+ *     or any brace that is not certainly a block.</li>
+ *     <li><code>import</code> followed by <code>.</code> is not checked because it is the meta property
+ *     <code>import.meta</code>.</li>
+ *     <li><code>await</code> and <code>yield</code> are not checked because they are also valid identifiers.</li>
+ *     <li>Identifiers are checked against the disallowed and reserved identifiers,
+ *     except the bindings of import statements.</li>
+ * </ul>
+ * Anything it does not reject is left to the parser and the listener.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerTokenMatcher {
+    private static final JavetSanitizerTokenMatcher INSTANCE = new JavetSanitizerTokenMatcher();
+    private static final int SCOPE_BLOCK = 0;
+    private static final int SCOPE_OTHER = 1;
+    private static final int SCOPE_PAREN = 2;
+
+    private JavetSanitizerTokenMatcher() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     * @since 0.4.0
+     */
+    public static JavetSanitizerTokenMatcher getInstance() {
+        return INSTANCE;
+    }
+
+    private static BitSet getKeywordMask(JavetSanitizerOption option) {
+        BitSet keywordMask = new BitSet();
+        if (!option.isKeywordDebuggerEnabled()) {
+            keywordMask.set(JavaScriptLexer.Debugger);
+        }
+        if (!option.isKeywordExportEnabled()) {
+            keywordMask.set(JavaScriptLexer.Export);
+        }
+        if (!option.isKeywordImportEnabled()) {
+            keywordMask.set(JavaScriptLexer.Import);
+        }
+        if (!option.isKeywordVarEnabled()) {
+            keywordMask.set(JavaScriptLexer.Var);
+        }
+        if (!option.isKeywordWithEnabled()) {
+            keywordMask.set(JavaScriptLexer.With);
+        }
+        return keywordMask;
+    }
+
+    private static int getOpenBraceScope(Token previousToken, Deque<Integer> scopes) {
+        if (previousToken == null) {
+            return SCOPE_BLOCK;
+        }
+        switch (previousToken.getType()) {
+            case JavaScriptLexer.ARROW:
+            case JavaScriptLexer.CloseParen:
+            case JavaScriptLexer.Do:
+            case JavaScriptLexer.Else:
+            case JavaScriptLexer.Finally:
+            case JavaScriptLexer.Try:
+                return SCOPE_BLOCK;
+            case JavaScriptLexer.CloseBrace:
+            case JavaScriptLexer.OpenBrace:
+            case JavaScriptLexer.SemiColon:
+                return scopes.isEmpty() || scopes.peek() == SCOPE_BLOCK ? SCOPE_BLOCK : SCOPE_OTHER;
+            default:
+                return SCOPE_OTHER;
+        }
+    }
+
+    private static boolean isMetaProperty(Token token, Token nextToken) {
+        return token.getType() == JavaScriptLexer.Import
+                && nextToken != null && nextToken.getType() == JavaScriptLexer.Dot;
+    }
+
+    private static boolean isPropertyName(Token previousToken, Token nextToken) {
+        if (previousToken != null) {
+            final int type = previousToken.getType();
+            if (type == JavaScriptLexer.Dot
+                    || type == JavaScriptLexer.QuestionMarkDot
+                    || type == JavaScriptLexer.Hashtag) {
+                return true;
+            }
+        }
+        return nextToken != null && nextToken.getType() == JavaScriptLexer.Colon;
+    }
+
+    /**
+     * Matches the first token that is certainly rejected.
+     *
+     * @param option the option
+     * @param tokens the tokens
+     * @return the token
+     * @since 0.4.0
+     */
+    public Token matches(JavetSanitizerOption option, List<? extends Token> tokens) {
+        final boolean asyncDisallowed = !option.isKeywordAsyncEnabled();
+        final BitSet keywordMask = getKeywordMask(option);
+        final JavetSanitizerIdentifierMatcher identifierMatcher = JavetSanitizerIdentifierMatcher.getInstance();
+        final Deque<Integer> scopes = new ArrayDeque<>();
+        int classScopeDepth = -1;
+        boolean importClause = false;
+        Token previousToken = null;
+        final int tokenCount = tokens.size();
+        int nextIndex = 0;
+        Token nextToken = null;
+        for (int index = 0; index < tokenCount; ++index) {
+            Token token = tokens.get(index);
+            if (token.getChannel() != Token.DEFAULT_CHANNEL || token.getType() == Token.EOF) {
+                continue;
+            }
+            if (nextIndex <= index) {
+                nextIndex = index + 1;
+                nextToken = null;
+                while (nextIndex < tokenCount) {
+                    Token candidate = tokens.get(nextIndex);
+                    if (candidate.getChannel() == Token.DEFAULT_CHANNEL) {
+                        nextToken = candidate.getType() == Token.EOF ? null : candidate;
+                        break;
+                    }
+                    ++nextIndex;
+                }
+            }
+            final int type = token.getType();
+            switch (type) {
+                case JavaScriptLexer.OpenBrace:
+                    if (classScopeDepth == scopes.size()) {
+                        classScopeDepth = -1;
+                        scopes.push(SCOPE_OTHER);
+                    } else {
+                        scopes.push(getOpenBraceScope(previousToken, scopes));
+                    }
+                    break;
+                case JavaScriptLexer.TemplateStringStartExpression:
+                    scopes.push(SCOPE_OTHER);
+                    break;
+                case JavaScriptLexer.OpenBracket:
+                case JavaScriptLexer.OpenParen:
+                    scopes.push(SCOPE_PAREN);
+                    break;
+                case JavaScriptLexer.CloseBrace:
+                case JavaScriptLexer.CloseBracket:
+                case JavaScriptLexer.CloseParen:
+                case JavaScriptLexer.TemplateCloseBrace:
+                    if (!scopes.isEmpty()) {
+                        scopes.pop();
+                    }
+                    break;
+                case JavaScriptLexer.Class:
+                    if (!isPropertyName(previousToken, nextToken)) {
+                        classScopeDepth = scopes.size();
+                    }
+                    break;
+                case JavaScriptLexer.From:
+                case JavaScriptLexer.SemiColon:
+                    importClause = false;
+                    break;
+                case JavaScriptLexer.Async:
+                    if (asyncDisallowed) {
+                        return token;
+                    }
+                    break;
+                case JavaScriptLexer.Identifier:
+                    if (!importClause && identifierMatcher.matches(option, token.getText())) {
+                        return token;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if ((keywordMask.get(type) || type == JavaScriptLexer.Import) && !isMetaProperty(token, nextToken)) {
+                final boolean propertyName = isPropertyName(previousToken, nextToken);
+                final boolean blockScope = scopes.isEmpty() || scopes.peek() != SCOPE_OTHER;
+                if (keywordMask.get(type) && !propertyName && blockScope) {
+                    return token;
+                }
+                if (type == JavaScriptLexer.Import && !propertyName
+                        && (nextToken == null || nextToken.getType() != JavaScriptLexer.OpenParen)) {
+                    importClause = true;
+                }
+            }
+            previousToken = token;
+        }
+        return null;
+    }
+}
@@ -22,11 +22,22 @@ import com.caoccao.javet.sanitizer.listeners.JavetSanitizerSecurityCheckListener
 import com.caoccao.javet.sanitizer.utils.SimpleList;
 import com.caoccao.javet.sanitizer.utils.SimpleSet;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.function.Function;
 
 /**
  * The type Javet sanitizer option.
+ * <p>
+ * A sealed option carries a 128-bit fingerprint of its policy, computed once by {@link #seal()}.
+ * Two sealed options are equal if their fingerprints are equal and they share the same
+ * listener function and reserved identifier matcher. The name is not part of the policy.
+ * An option that is not sealed is only equal to itself.
  *
  * @since 0.1.0
  */
@@ -210,6 +221,19 @@ public class JavetSanitizerOption {
             "WeakRef",
             "WeakSet"));
 
+    /**
+     * The constant FINGERPRINT_SIZE.
+     *
+     * @since 0.4.0
+     */
+    public static final int FINGERPRINT_SIZE = 16;
+    // The defaults must be initialized before the default option is sealed.
+    private static final Function<JavetSanitizerOption, JavetSanitizerListener> DEFAULT_LISTENER_FUNCTION =
+            JavetSanitizerSecurityCheckListener::new;
+    private static final Function<String, Boolean> DEFAULT_RESERVED_IDENTIFIER_MATCHER = identifier -> false;
+    // Custom functions cannot be identified across processes, so their tokens are salted per process.
+    private static final long PROCESS_NONCE = new Random().nextLong() ^ System.nanoTime();
+
     /**
      * Default option is the most strict and secure option.
      * Most built-in objects and keywords are disabled.
@@ -221,6 +245,7 @@ public class JavetSanitizerOption {
     private Map<String, Object> argumentMap;
     private Set<String> builtInObjectSet;
     private Set<String> disallowedIdentifierSet;
+    private byte[] fingerprint;
     private String globalIdentifier;
     private boolean keywordAsyncEnabled;
     private boolean keywordAwaitEnabled;
@@ -232,14 +257,21 @@ public class JavetSanitizerOption {
     private boolean keywordYieldEnabled;
     private JavetSanitizerListener listener;
     private Function<JavetSanitizerOption, JavetSanitizerListener> listenerFunction;
+    private long maxParseTimeMillis;
+    private int maxParseTreeDepth;
+    private int maxSourceLength;
+    private int maxTokenCount;
     private String name;
     private Set<String> reservedFunctionIdentifierSet;
     private Function<String, Boolean> reservedIdentifierMatcher;
     private Set<String> reservedIdentifierSet;
     private Set<String> reservedMutableIdentifierSet;
     private boolean sealed;
+    private boolean streamingEnabled;
     private List<String> toBeDeletedIdentifierList;
     private List<String> toBeFrozenIdentifierList;
+    private boolean tokenPrePassEnabled;
+    private boolean twoStagePredictionEnabled;
 
     /**
      * Instantiates a new Javet sanitizer option.
@@ -250,6 +282,7 @@ public class JavetSanitizerOption {
         argumentMap = new HashMap<>();
         builtInObjectSet = new HashSet<>(DEFAULT_BUILT_IN_OBJECT_SET);
         disallowedIdentifierSet = new HashSet<>(DEFAULT_DISALLOWED_IDENTIFIER_SET);
+        fingerprint = null;
         globalIdentifier = DEFAULT_GLOBAL_IDENTIFIER;
         keywordAsyncEnabled = false;
         keywordAwaitEnabled = false;
@@ -260,15 +293,98 @@ public class JavetSanitizerOption {
         keywordWithEnabled = false;
         keywordYieldEnabled = false;
         listener = null;
-        listenerFunction = JavetSanitizerSecurityCheckListener::new;
+        listenerFunction = DEFAULT_LISTENER_FUNCTION;
+        maxParseTimeMillis = 0L;
+        maxParseTreeDepth = 0;
+        maxSourceLength = 0;
+        maxTokenCount = 0;
         this.name = Objects.requireNonNull(name);
         reservedFunctionIdentifierSet = new HashSet<>(DEFAULT_RESERVED_FUNCTION_IDENTIFIER_SET);
-        reservedIdentifierMatcher = identifier -> false;
+        reservedIdentifierMatcher = DEFAULT_RESERVED_IDENTIFIER_MATCHER;
         reservedIdentifierSet = new HashSet<>(DEFAULT_RESERVED_IDENTIFIER_SET);
         reservedMutableIdentifierSet = new HashSet<>(DEFAULT_RESERVED_MUTABLE_IDENTIFIER_SET);
         toBeDeletedIdentifierList = new ArrayList<>(DEFAULT_TO_BE_DELETED_OBJECT_LIST);
         toBeFrozenIdentifierList = new ArrayList<>(DEFAULT_TO_BE_FROZEN_OBJECT_LIST);
+        tokenPrePassEnabled = false;
+        twoStagePredictionEnabled = false;
         sealed = false;
+        streamingEnabled = false;
+    }
+
+    private static String getFunctionToken(Object function, Object defaultFunction) {
+        if (function == defaultFunction) {
+            return "default";
+        }
+        return function.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(function))
+                + "@" + Long.toHexString(PROCESS_NONCE);
+    }
+
+    private static void writeStrings(DataOutputStream dataOutputStream, Collection<String> strings, boolean sorted)
+            throws IOException {
+        Collection<String> orderedStrings = sorted ? new TreeSet<>(strings) : strings;
+        dataOutputStream.writeInt(orderedStrings.size());
+        for (String string : orderedStrings) {
+            dataOutputStream.writeUTF(string);
+        }
+    }
+
+    private byte[] computeFingerprint() {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            try (DataOutputStream dataOutputStream = new DataOutputStream(
+                    new DigestOutputStream(NullOutputStream.INSTANCE, messageDigest))) {
+                Map<String, Object> sortedArgumentMap = new TreeMap<>(argumentMap);
+                dataOutputStream.writeInt(sortedArgumentMap.size());
+                for (Map.Entry<String, Object> entry : sortedArgumentMap.entrySet()) {
+                    dataOutputStream.writeUTF(entry.getKey());
+                    dataOutputStream.writeUTF(String.valueOf(entry.getValue()));
+                }
+                writeStrings(dataOutputStream, builtInObjectSet, true);
+                writeStrings(dataOutputStream, disallowedIdentifierSet, true);
+                dataOutputStream.writeUTF(globalIdentifier);
+                dataOutputStream.writeBoolean(keywordAsyncEnabled);
+                dataOutputStream.writeBoolean(keywordAwaitEnabled);
+                dataOutputStream.writeBoolean(keywordDebuggerEnabled);
+                dataOutputStream.writeBoolean(keywordExportEnabled);
+                dataOutputStream.writeBoolean(keywordImportEnabled);
+                dataOutputStream.writeBoolean(keywordVarEnabled);
+                dataOutputStream.writeBoolean(keywordWithEnabled);
+                dataOutputStream.writeBoolean(keywordYieldEnabled);
+                dataOutputStream.writeUTF(getFunctionToken(listenerFunction, DEFAULT_LISTENER_FUNCTION));
+                dataOutputStream.writeLong(maxParseTimeMillis);
+                dataOutputStream.writeInt(maxParseTreeDepth);
+                dataOutputStream.writeInt(maxSourceLength);
+                dataOutputStream.writeInt(maxTokenCount);
+                writeStrings(dataOutputStream, reservedFunctionIdentifierSet, true);
+                dataOutputStream.writeUTF(getFunctionToken(
+                        reservedIdentifierMatcher, DEFAULT_RESERVED_IDENTIFIER_MATCHER));
+                writeStrings(dataOutputStream, reservedIdentifierSet, true);
+                writeStrings(dataOutputStream, reservedMutableIdentifierSet, true);
+                dataOutputStream.writeBoolean(streamingEnabled);
+                writeStrings(dataOutputStream, toBeDeletedIdentifierList, false);
+                writeStrings(dataOutputStream, toBeFrozenIdentifierList, false);
+                dataOutputStream.writeBoolean(tokenPrePassEnabled);
+                dataOutputStream.writeBoolean(twoStagePredictionEnabled);
+            }
+            return Arrays.copyOf(messageDigest.digest(), FINGERPRINT_SIZE);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JavetSanitizerOption)) {
+            return false;
+        }
+        JavetSanitizerOption option = (JavetSanitizerOption) o;
+        return fingerprint != null && option.fingerprint != null
+                && Arrays.equals(fingerprint, option.fingerprint)
+                && listenerFunction == option.listenerFunction
+                && reservedIdentifierMatcher == option.reservedIdentifierMatcher;
     }
 
     /**
@@ -301,6 +417,19 @@ public class JavetSanitizerOption {
         return disallowedIdentifierSet;
     }
 
+    /**
+     * Gets the 128-bit fingerprint of the policy. It is null if the option is not sealed.
+     * <p>
+     * The fingerprint is stable across processes unless a custom listener function or
+     * a custom reserved identifier matcher is set, in which case it is only valid in the current process.
+     *
+     * @return the fingerprint
+     * @since 0.4.0
+     */
+    public byte[] getFingerprint() {
+        return fingerprint == null ? null : fingerprint.clone();
+    }
+
     /**
      * Gets global identifier.
      *
@@ -311,12 +440,37 @@ public class JavetSanitizerOption {
         return globalIdentifier;
     }
 
+    /**
+     * Create a new listener with the listener function.
+     * A listener records the error of the check it serves,
+     * so each check creates its own listener and concurrent checks on the same option do not interfere.
+     *
+     * @return the listener
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavetSanitizerListener createListener() throws JavetSanitizerException {
+        JavetSanitizerListener listener;
+        try {
+            listener = listenerFunction.apply(this);
+        } catch (Throwable t) {
+            throw JavetSanitizerException.listenerNotFound(listenerFunction.toString(), t);
+        }
+        if (listener == null) {
+            throw JavetSanitizerException.listenerNotFound(listenerFunction.toString(), null);
+        }
+        return listener;
+    }
+
     /**
      * Gets listener.
+     * The listener is created once and cached by the option, so it must not be shared by concurrent checks.
      *
      * @return the listener
      * @throws JavetSanitizerException the javet sanitizer exception
+     * @deprecated Use {@link #createListener()} so that each check has its own listener.
      */
+    @Deprecated
     public JavetSanitizerListener getListener() throws JavetSanitizerException {
         if (listener == null) {
             try {
@@ -328,6 +482,46 @@ public class JavetSanitizerOption {
         return listener;
     }
 
+    /**
+     * Gets max parse time in milliseconds. 0 means unlimited.
+     *
+     * @return the max parse time millis
+     * @since 0.4.0
+     */
+    public long getMaxParseTimeMillis() {
+        return maxParseTimeMillis;
+    }
+
+    /**
+     * Gets max parse tree depth. 0 means unlimited.
+     *
+     * @return the max parse tree depth
+     * @since 0.4.0
+     */
+    public int getMaxParseTreeDepth() {
+        return maxParseTreeDepth;
+    }
+
+    /**
+     * Gets max source length. 0 means unlimited.
+     *
+     * @return the max source length
+     * @since 0.4.0
+     */
+    public int getMaxSourceLength() {
+        return maxSourceLength;
+    }
+
+    /**
+     * Gets max token count. 0 means unlimited.
+     *
+     * @return the max token count
+     * @since 0.4.0
+     */
+    public int getMaxTokenCount() {
+        return maxTokenCount;
+    }
+
     /**
      * Gets name.
      *
@@ -398,6 +592,22 @@ public class JavetSanitizerOption {
         return toBeFrozenIdentifierList;
     }
 
+    /**
+     * Hash code of a sealed option is derived from the fingerprint.
+     * An option that is not sealed has the identity hash code,
+     * so it must not be put in a hash-based collection before it is sealed.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        if (fingerprint == null) {
+            return System.identityHashCode(this);
+        }
+        return ((fingerprint[0] & 0xFF) << 24) | ((fingerprint[1] & 0xFF) << 16)
+                | ((fingerprint[2] & 0xFF) << 8) | (fingerprint[3] & 0xFF);
+    }
+
     /**
      * Is keyword async enabled.
      *
@@ -488,6 +698,43 @@ public class JavetSanitizerOption {
         return sealed;
     }
 
+    /**
+     * Is streaming enabled.
+     * If it is enabled, the listener runs as a parse listener so that a violation aborts the parse
+     * as soon as the offending rule is reduced, instead of walking the parse tree after the parse.
+     *
+     * @return the boolean
+     * @since 0.4.0
+     */
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    /**
+     * Is token pre-pass enabled.
+     * If it is enabled, the token stream of the lexer is scanned before the parser runs
+     * so that disallowed keywords and identifiers are rejected without parsing.
+     * A script with both a syntax error and a violation may then report the violation.
+     *
+     * @return the boolean
+     * @since 0.4.0
+     */
+    public boolean isTokenPrePassEnabled() {
+        return tokenPrePassEnabled;
+    }
+
+    /**
+     * Is two-stage prediction enabled.
+     * If it is enabled, the parsers parse with SLL prediction first,
+     * then rewind and retry with LL prediction only when SLL bails out.
+     *
+     * @return the boolean
+     * @since 0.4.0
+     */
+    public boolean isTwoStagePredictionEnabled() {
+        return twoStagePredictionEnabled;
+    }
+
     /**
      * Seal javet sanitizer option. After it is sealed, it will be immutable.
      *
@@ -504,6 +751,7 @@ public class JavetSanitizerOption {
         toBeDeletedIdentifierList = Collections.unmodifiableList(toBeDeletedIdentifierList);
         toBeFrozenIdentifierList = Collections.unmodifiableList(toBeFrozenIdentifierList);
         sealed = true;
+        fingerprint = computeFingerprint();
         return this;
     }
 
@@ -648,6 +896,64 @@ public class JavetSanitizerOption {
         return this;
     }
 
+    /**
+     * Sets max parse time in milliseconds.
+     * The deadline is checked by the token stream and the prediction of the parser,
+     * so a parse that runs past the deadline is aborted. 0 means unlimited.
+     *
+     * @param maxParseTimeMillis the max parse time millis
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerOption setMaxParseTimeMillis(long maxParseTimeMillis) {
+        if (!sealed) {
+            this.maxParseTimeMillis = Math.max(0L, maxParseTimeMillis);
+        }
+        return this;
+    }
+
+    /**
+     * Sets max parse tree depth, the max nesting level of the parser rules. 0 means unlimited.
+     *
+     * @param maxParseTreeDepth the max parse tree depth
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerOption setMaxParseTreeDepth(int maxParseTreeDepth) {
+        if (!sealed) {
+            this.maxParseTreeDepth = Math.max(0, maxParseTreeDepth);
+        }
+        return this;
+    }
+
+    /**
+     * Sets max source length, the max size of the char stream. 0 means unlimited.
+     *
+     * @param maxSourceLength the max source length
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerOption setMaxSourceLength(int maxSourceLength) {
+        if (!sealed) {
+            this.maxSourceLength = Math.max(0, maxSourceLength);
+        }
+        return this;
+    }
+
+    /**
+     * Sets max token count including the hidden tokens. 0 means unlimited.
+     *
+     * @param maxTokenCount the max token count
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerOption setMaxTokenCount(int maxTokenCount) {
+        if (!sealed) {
+            this.maxTokenCount = Math.max(0, maxTokenCount);
+        }
+        return this;
+    }
+
     /**
      * Sets name.
      *
@@ -676,6 +982,48 @@ public class JavetSanitizerOption {
         return this;
     }
 
+    /**
+     * Sets streaming enabled.
+     *
+     * @param streamingEnabled the streaming enabled
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerOption setStreamingEnabled(boolean streamingEnabled) {
+        if (!sealed) {
+            this.streamingEnabled = streamingEnabled;
+        }
+        return this;
+    }
+
+    /**
+     * Sets token pre-pass enabled.
+     *
+     * @param tokenPrePassEnabled the token pre-pass enabled
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerOption setTokenPrePassEnabled(boolean tokenPrePassEnabled) {
+        if (!sealed) {
+            this.tokenPrePassEnabled = tokenPrePassEnabled;
+        }
+        return this;
+    }
+
+    /**
+     * Sets two-stage prediction enabled.
+     *
+     * @param twoStagePredictionEnabled the two-stage prediction enabled
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerOption setTwoStagePredictionEnabled(boolean twoStagePredictionEnabled) {
+        if (!sealed) {
+            this.twoStagePredictionEnabled = twoStagePredictionEnabled;
+        }
+        return this;
+    }
+
     /**
      * To clone javet sanitizer option.
      *
@@ -696,9 +1044,14 @@ public class JavetSanitizerOption {
         option.keywordDebuggerEnabled = keywordDebuggerEnabled;
         option.keywordExportEnabled = keywordExportEnabled;
         option.keywordImportEnabled = keywordImportEnabled;
+        option.keywordVarEnabled = keywordVarEnabled;
         option.keywordWithEnabled = keywordWithEnabled;
         option.keywordYieldEnabled = keywordYieldEnabled;
         option.listenerFunction = listenerFunction;
+        option.maxParseTimeMillis = maxParseTimeMillis;
+        option.maxParseTreeDepth = maxParseTreeDepth;
+        option.maxSourceLength = maxSourceLength;
+        option.maxTokenCount = maxTokenCount;
         option.reservedFunctionIdentifierSet.clear();
         option.reservedFunctionIdentifierSet.addAll(reservedFunctionIdentifierSet);
         option.reservedIdentifierMatcher = reservedIdentifierMatcher;
@@ -710,6 +1063,21 @@ public class JavetSanitizerOption {
         option.toBeDeletedIdentifierList.addAll(toBeDeletedIdentifierList);
         option.toBeFrozenIdentifierList.clear();
         option.toBeFrozenIdentifierList.addAll(toBeFrozenIdentifierList);
+        option.streamingEnabled = streamingEnabled;
+        option.tokenPrePassEnabled = tokenPrePassEnabled;
+        option.twoStagePredictionEnabled = twoStagePredictionEnabled;
         return option;
     }
+
+    private static final class NullOutputStream extends OutputStream {
+        private static final NullOutputStream INSTANCE = new NullOutputStream();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
 }
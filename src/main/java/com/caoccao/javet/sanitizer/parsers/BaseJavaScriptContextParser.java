@@ -18,16 +18,28 @@ package com.caoccao.javet.sanitizer.parsers;
 
 import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
 import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerAbortException;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerErrorContext;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerLimitException;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerRejection;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerSourceIndex;
 import com.caoccao.javet.sanitizer.listeners.JavetSanitizerListener;
+import com.caoccao.javet.sanitizer.listeners.JavetSanitizerStreamingListener;
+import com.caoccao.javet.sanitizer.matchers.JavetSanitizerTokenMatcher;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.utils.CharStreamUtils;
 import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.atn.ProfilingATNSimulator;
 import org.antlr.v4.runtime.misc.IntervalSet;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * The type Base JavaScript context parser.
@@ -40,8 +52,16 @@ import java.util.Objects;
 public abstract class BaseJavaScriptContextParser<
         Parser extends BaseJavaScriptContextParser<Parser, Context>,
         Context extends ParserRuleContext> {
+    /**
+     * The Char stream.
+     * It is null until the context is initialized if the parser is created from a code string.
+     *
+     * @since 0.4.0
+     */
+    protected CharStream charStream;
     /**
      * The Code string.
+     * It is null until it is requested if the parser is created from a char stream.
      *
      * @since 0.1.0
      */
@@ -64,12 +84,83 @@ public abstract class BaseJavaScriptContextParser<
      * @since 0.1.0
      */
     protected JavaScriptParser javaScriptParser;
+    /**
+     * The JavaScript parser pair borrowed from {@link JavaScriptParserPool} during parsing.
+     *
+     * @since 0.4.0
+     */
+    protected JavaScriptParserPair javaScriptParserPair;
+    /**
+     * The Option.
+     *
+     * @since 0.4.0
+     */
+    protected JavetSanitizerOption option;
+    /**
+     * The Parser guard enforcing the limits of the option during parsing. It is null if there are no limits.
+     *
+     * @since 0.4.0
+     */
+    protected JavaScriptParserGuard parserGuard;
+    /**
+     * The duration of the last parse in nanoseconds.
+     *
+     * @since 0.4.0
+     */
+    protected long parseDurationNanos;
+    /**
+     * The profile of the last parse. It is null if profiling is disabled or the context was not parsed.
+     *
+     * @since 0.4.0
+     */
+    protected JavaScriptParseProfile parseProfile;
+    /**
+     * The prediction mode that succeeded.
+     *
+     * @since 0.4.0
+     */
+    protected PredictionMode predictionMode;
+    /**
+     * The Profiling enabled.
+     *
+     * @since 0.4.0
+     */
+    protected boolean profilingEnabled;
+    /**
+     * The Rejection shared by the parser and its child parsers.
+     * If it is not null, a violation is recorded in it and the parser aborts with
+     * {@link com.caoccao.javet.sanitizer.exceptions.JavetSanitizerAbortException#INSTANCE}
+     * instead of throwing a {@link JavetSanitizerException}.
+     *
+     * @since 0.4.0
+     */
+    protected JavetSanitizerRejection rejection;
+    /**
+     * The Source index shared by the error contexts of the parser and its child parsers.
+     * It is null until it is requested.
+     *
+     * @since 0.4.0
+     */
+    protected JavetSanitizerSourceIndex sourceIndex;
+    /**
+     * The streaming listener attached to the parser during {@link #parseAndWalk(JavetSanitizerListener)}
+     * if streaming is enabled.
+     *
+     * @since 0.4.0
+     */
+    protected JavetSanitizerStreamingListener streamingListener;
     /**
      * The Token stream.
      *
      * @since 0.1.0
      */
     protected TokenStream tokenStream;
+    /**
+     * The duration of the last walk in nanoseconds.
+     *
+     * @since 0.4.0
+     */
+    protected long walkDurationNanos;
 
     /**
      * Instantiates a new Base JavaScript context parser.
@@ -91,11 +182,74 @@ public abstract class BaseJavaScriptContextParser<
      * @since 0.1.0
      */
     public BaseJavaScriptContextParser(Context context, String codeString) throws JavetSanitizerException {
-        this.codeString = Objects.requireNonNull(codeString);
+        this(JavetSanitizerOption.Default, context, codeString);
+    }
+
+    /**
+     * Instantiates a new Base JavaScript context parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public BaseJavaScriptContextParser(
+            JavetSanitizerOption option,
+            Context context,
+            String codeString) throws JavetSanitizerException {
+        this(option, context, Objects.requireNonNull(codeString), null);
+    }
+
+    /**
+     * Instantiates a new Base JavaScript context parser.
+     * The code string is only materialized when it is requested, e.g. by an error context.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public BaseJavaScriptContextParser(
+            JavetSanitizerOption option,
+            Context context,
+            CharStream charStream) throws JavetSanitizerException {
+        this(option, context, null, Objects.requireNonNull(charStream));
+    }
+
+    private BaseJavaScriptContextParser(
+            JavetSanitizerOption option,
+            Context context,
+            String codeString,
+            CharStream charStream) {
+        this.charStream = charStream;
+        this.codeString = codeString;
         this.context = context;
+        this.option = Objects.requireNonNull(option);
         javaScriptLexer = null;
         javaScriptParser = null;
+        javaScriptParserPair = null;
+        parseDurationNanos = 0L;
+        parseProfile = null;
+        parserGuard = null;
+        predictionMode = null;
+        profilingEnabled = false;
+        rejection = null;
+        sourceIndex = null;
+        streamingListener = null;
         tokenStream = null;
+        walkDurationNanos = 0L;
+    }
+
+    /**
+     * Create the parser guard enforcing the limits of the option.
+     *
+     * @return the parser guard, null if the option has no limits
+     * @since 0.4.0
+     */
+    protected JavaScriptParserGuard createParserGuard() {
+        return JavaScriptParserGuard.of(option);
     }
 
     /**
@@ -105,6 +259,9 @@ public abstract class BaseJavaScriptContextParser<
      * @since 0.1.0
      */
     public String getCodeString() {
+        if (codeString == null) {
+            codeString = CharStreamUtils.getText(charStream);
+        }
         return codeString;
     }
 
@@ -118,6 +275,76 @@ public abstract class BaseJavaScriptContextParser<
         return context;
     }
 
+    /**
+     * Gets option.
+     *
+     * @return the option
+     * @since 0.4.0
+     */
+    public JavetSanitizerOption getOption() {
+        return option;
+    }
+
+    /**
+     * Gets source index.
+     *
+     * @return the source index
+     * @since 0.4.0
+     */
+    public JavetSanitizerSourceIndex getSourceIndex() {
+        if (sourceIndex == null) {
+            sourceIndex = new JavetSanitizerSourceIndex(
+                    charStream == null ? CharStreams.fromString(codeString) : charStream,
+                    codeString);
+        }
+        return sourceIndex;
+    }
+
+    /**
+     * Gets the duration of the last parse in nanoseconds.
+     * In streaming mode it includes the listener checks.
+     *
+     * @return the parse duration in nanoseconds
+     * @since 0.4.0
+     */
+    public long getParseDurationNanos() {
+        return parseDurationNanos;
+    }
+
+    /**
+     * Gets the profile of the last parse.
+     * It is also available if the parse failed, e.g. with a parse timeout.
+     *
+     * @return the parse profile, null if profiling is disabled or the context was not parsed
+     * @since 0.4.0
+     */
+    public JavaScriptParseProfile getParseProfile() {
+        return parseProfile;
+    }
+
+    /**
+     * Gets the prediction mode that succeeded.
+     * It is {@link PredictionMode#SLL} if the SLL stage of the two-stage prediction succeeded,
+     * {@link PredictionMode#LL} if the LL stage was used,
+     * or null if the context was not parsed by this parser.
+     *
+     * @return the prediction mode
+     * @since 0.4.0
+     */
+    public PredictionMode getPredictionMode() {
+        return predictionMode;
+    }
+
+    /**
+     * Gets rejection.
+     *
+     * @return the rejection, null if violations are thrown as exceptions
+     * @since 0.4.0
+     */
+    public JavetSanitizerRejection getRejection() {
+        return rejection;
+    }
+
     /**
      * Gets JavaScript function declaration parser.
      *
@@ -128,9 +355,11 @@ public abstract class BaseJavaScriptContextParser<
      */
     public JavaScriptFunctionDeclarationParser getJavaScriptFunctionDeclarationParser(int index)
             throws JavetSanitizerException {
-        return new JavaScriptFunctionDeclarationParser(
-                context.getRuleContext(JavaScriptParser.FunctionDeclarationContext.class, index),
-                getCodeString());
+        JavaScriptParser.FunctionDeclarationContext functionDeclarationContext =
+                context.getRuleContext(JavaScriptParser.FunctionDeclarationContext.class, index);
+        return shareSourceIndex(codeString == null
+                ? new JavaScriptFunctionDeclarationParser(option, functionDeclarationContext, charStream)
+                : new JavaScriptFunctionDeclarationParser(option, functionDeclarationContext, codeString));
     }
 
     /**
@@ -142,9 +371,21 @@ public abstract class BaseJavaScriptContextParser<
      * @since 0.1.0
      */
     public JavaScriptStatementParser getJavaScriptStatementParser(int index) throws JavetSanitizerException {
-        return new JavaScriptStatementParser(
-                context.getRuleContext(JavaScriptParser.StatementContext.class, index),
-                getCodeString());
+        JavaScriptParser.StatementContext statementContext =
+                context.getRuleContext(JavaScriptParser.StatementContext.class, index);
+        return shareSourceIndex(codeString == null
+                ? new JavaScriptStatementParser(option, statementContext, charStream)
+                : new JavaScriptStatementParser(option, statementContext, codeString));
+    }
+
+    /**
+     * Gets the duration of the last walk in nanoseconds.
+     *
+     * @return the walk duration in nanoseconds
+     * @since 0.4.0
+     */
+    public long getWalkDurationNanos() {
+        return walkDurationNanos;
     }
 
     /**
@@ -156,16 +397,47 @@ public abstract class BaseJavaScriptContextParser<
      */
     protected Parser initializeContext() throws JavetSanitizerException {
         if (context == null) {
-            javaScriptLexer = new JavaScriptLexer(CharStreams.fromString(codeString));
-            javaScriptLexer.setUseStrictDefault(true);
-            tokenStream = new CommonTokenStream(javaScriptLexer);
-            javaScriptParser = new JavaScriptParser(tokenStream);
-            javaScriptParser.setBuildParseTree(true);
-            javaScriptParser.setErrorHandler(new BailErrorStrategy());
+            final int maxSourceLength = option.getMaxSourceLength();
+            if (maxSourceLength > 0) {
+                final int sourceLength = charStream == null ? codeString.length() : charStream.size();
+                if (sourceLength > maxSourceLength) {
+                    throw reject(new JavetSanitizerRejection().sourceLengthTooLarge(maxSourceLength, sourceLength));
+                }
+            }
+            if (charStream == null) {
+                charStream = CharStreams.fromString(codeString);
+            }
+            javaScriptParserPair = JavaScriptParserPool.borrow(charStream);
+            javaScriptLexer = javaScriptParserPair.getJavaScriptLexer();
+            tokenStream = javaScriptParserPair.getTokenStream();
+            javaScriptParser = javaScriptParserPair.getJavaScriptParser();
+            parserGuard = createParserGuard();
+            javaScriptParserPair.setGuard(parserGuard);
+            if (option.isTokenPrePassEnabled()) {
+                checkTokens();
+            }
         }
         return (Parser) this;
     }
 
+    /**
+     * Check the tokens of the lexer before the parser runs.
+     *
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    protected void checkTokens() throws JavetSanitizerException {
+        BufferedTokenStream bufferedTokenStream = (BufferedTokenStream) tokenStream;
+        bufferedTokenStream.fill();
+        Token token = JavetSanitizerTokenMatcher.getInstance().matches(option, bufferedTokenStream.getTokens());
+        if (token != null) {
+            JavetSanitizerRejection javetSanitizerRejection = token.getType() == JavaScriptLexer.Identifier
+                    ? new JavetSanitizerRejection().identifierNotAllowed(token.getText())
+                    : new JavetSanitizerRejection().keywordNotAllowed(token.getText());
+            throw reject(javetSanitizerRejection.setContext(toJavaScriptParserContext(token)));
+        }
+    }
+
     /**
      * Is child class boolean.
      *
@@ -179,6 +451,77 @@ public abstract class BaseJavaScriptContextParser<
         return context.getChild(index).getClass() == expectedChildClass;
     }
 
+    /**
+     * Is profiling enabled.
+     *
+     * @return true : enabled, false : disabled
+     * @since 0.4.0
+     */
+    public boolean isProfilingEnabled() {
+        return profilingEnabled;
+    }
+
+    /**
+     * Parse context with the given parser rule.
+     * If two-stage prediction is enabled, the rule is parsed with {@link PredictionMode#SLL} first.
+     * The token stream is rewound and the rule is parsed again with {@link PredictionMode#LL}
+     * only when the SLL stage bails out.
+     * <p>
+     * If profiling is enabled, the prediction runs on a {@link ProfilingATNSimulator}
+     * sharing the DFA of the parser, and the statistics of both stages are kept in {@link #parseProfile}.
+     *
+     * @param rule the parser rule
+     * @return the context
+     * @since 0.4.0
+     */
+    protected Context parseContext(Function<JavaScriptParser, Context> rule) {
+        if (!profilingEnabled) {
+            return parseContext(rule, javaScriptParser.getInterpreter());
+        }
+        ParserATNSimulator parserATNSimulator = javaScriptParser.getInterpreter();
+        ProfilingATNSimulator profilingATNSimulator = new ProfilingATNSimulator(javaScriptParser);
+        javaScriptParser.setInterpreter(profilingATNSimulator);
+        try {
+            return parseContext(rule, profilingATNSimulator);
+        } finally {
+            // The pooled parser must get its own simulator back before it is released.
+            javaScriptParser.setInterpreter(parserATNSimulator);
+            parseProfile = JavaScriptParseProfile.of(profilingATNSimulator, getSourceIndex());
+        }
+    }
+
+    private Context parseContext(Function<JavaScriptParser, Context> rule, ParserATNSimulator parserATNSimulator) {
+        if (parserGuard != null && parserGuard.isParseTreeDepthLimited()) {
+            parserGuard.resetDepth();
+            javaScriptParser.removeParseListener(parserGuard);
+            javaScriptParser.addParseListener(parserGuard);
+        }
+        if (streamingListener != null) {
+            streamingListener.reset();
+            javaScriptParser.addParseListener(streamingListener);
+        }
+        if (option.isTwoStagePredictionEnabled()) {
+            parserATNSimulator.setPredictionMode(PredictionMode.SLL);
+            try {
+                Context parsedContext = rule.apply(javaScriptParser);
+                predictionMode = PredictionMode.SLL;
+                return parsedContext;
+            } catch (ParseCancellationException ignored) {
+                javaScriptParser.reset();
+                if (parserGuard != null) {
+                    parserGuard.resetDepth();
+                }
+                if (streamingListener != null) {
+                    streamingListener.reset();
+                }
+            }
+        }
+        parserATNSimulator.setPredictionMode(PredictionMode.LL);
+        Context parsedContext = rule.apply(javaScriptParser);
+        predictionMode = PredictionMode.LL;
+        return parsedContext;
+    }
+
     /**
      * Parse parser.
      *
@@ -187,14 +530,123 @@ public abstract class BaseJavaScriptContextParser<
      * @since 0.1.0
      */
     public Parser parse() throws JavetSanitizerException {
+        final long startTime = System.nanoTime();
         try {
             initializeContext();
         } catch (Throwable t) {
-            throw toJavetSanitizerExceptionException(t);
+            throw reject(toJavetSanitizerRejection(
+                    streamingListener == null ? null : streamingListener.getListener(), t));
+        } finally {
+            releaseContext();
+            parseDurationNanos = System.nanoTime() - startTime;
+        }
+        return (Parser) this;
+    }
+
+    /**
+     * Parse and walk with the listener.
+     * If streaming is enabled and the context has not been parsed,
+     * the listener is attached to the parser so that the parse is aborted at the first violation.
+     * Otherwise, the parse tree is walked after the parse.
+     * <p>
+     * In streaming mode the checks of a rule run when the rule is reduced,
+     * so the violation reported for a script with several violations may differ from the walk.
+     *
+     * @param <Listener> the type parameter
+     * @param listener   the listener
+     * @return the self
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public <Listener extends JavetSanitizerListener> Parser parseAndWalk(Listener listener)
+            throws JavetSanitizerException {
+        if (context == null && option.isStreamingEnabled()) {
+            streamingListener = new JavetSanitizerStreamingListener(listener);
+            try {
+                return parse();
+            } finally {
+                streamingListener = null;
+            }
+        }
+        return parse().walk(listener);
+    }
+
+    /**
+     * Reject with the given rejection.
+     * If the parser records the violations, the rejection is recorded
+     * and {@link com.caoccao.javet.sanitizer.exceptions.JavetSanitizerAbortException#INSTANCE} is thrown.
+     * Otherwise, the exception of the rejection is returned to be thrown by the caller.
+     *
+     * @param rejection the rejection
+     * @return the javet sanitizer exception
+     * @since 0.4.0
+     */
+    protected JavetSanitizerException reject(JavetSanitizerRejection rejection) {
+        if (this.rejection != null) {
+            this.rejection.record(rejection);
+            throw JavetSanitizerAbortException.INSTANCE;
+        }
+        return rejection.toException();
+    }
+
+    /**
+     * Release the lexer and the parser back to {@link JavaScriptParserPool}.
+     * The parse tree stays valid after the release.
+     *
+     * @since 0.4.0
+     */
+    protected void releaseContext() {
+        if (javaScriptParserPair != null) {
+            JavaScriptParserPool.release(javaScriptParserPair);
+            javaScriptParserPair = null;
+            javaScriptLexer = null;
+            javaScriptParser = null;
+            tokenStream = null;
         }
+    }
+
+    /**
+     * Sets profiling enabled.
+     * Profiling is meant for finding the grammar decisions that make a script slow to parse.
+     * It slows the parse down and the parse deadline is only checked while the tokens are fetched.
+     *
+     * @param profilingEnabled the profiling enabled
+     * @return the self
+     * @since 0.4.0
+     */
+    public Parser setProfilingEnabled(boolean profilingEnabled) {
+        this.profilingEnabled = profilingEnabled;
+        return (Parser) this;
+    }
+
+    /**
+     * Sets rejection.
+     * If it is not null, the violations are recorded in it without constructing the exceptions.
+     *
+     * @param rejection the rejection
+     * @return the self
+     * @since 0.4.0
+     */
+    public Parser setRejection(JavetSanitizerRejection rejection) {
+        this.rejection = rejection;
         return (Parser) this;
     }
 
+    /**
+     * Share the source index and the rejection with the child parser.
+     *
+     * @param <ChildParser> the type parameter
+     * @param childParser   the child parser
+     * @return the child parser
+     * @since 0.4.0
+     */
+    protected <ChildParser extends BaseJavaScriptContextParser<ChildParser, ?>> ChildParser shareSourceIndex(
+            ChildParser childParser) {
+        childParser.rejection = rejection;
+        childParser.sourceIndex = getSourceIndex();
+        return childParser;
+    }
+
     /**
      * To JavaScript parser context javet sanitizer error context.
      *
@@ -206,14 +658,7 @@ public abstract class BaseJavaScriptContextParser<
         if (token != null) {
             final int startPosition = token.getStartIndex();
             final int endPosition = token.getStopIndex() + 1;
-            return new JavetSanitizerErrorContext()
-                    .setStartLineNumber(token.getLine())
-                    .setEndLineNumber(token.getLine())
-                    .setStartColumn(token.getCharPositionInLine())
-                    .setEndColumn(token.getCharPositionInLine() + endPosition - startPosition)
-                    .setStartPosition(startPosition)
-                    .setEndPosition(endPosition)
-                    .setSourceCode(codeString);
+            return new JavetSanitizerErrorContext(getSourceIndex(), startPosition, endPosition, startPosition);
         }
         return null;
     }
@@ -229,15 +674,11 @@ public abstract class BaseJavaScriptContextParser<
         if (parseTree instanceof ParserRuleContext) {
             ParserRuleContext parserRuleContext = (ParserRuleContext) parseTree;
             Token stopToken = parserRuleContext.getStop();
-            final int endPosition = stopToken.getStopIndex() + 1;
-            return new JavetSanitizerErrorContext()
-                    .setStartLineNumber(parserRuleContext.getStart().getLine())
-                    .setEndLineNumber(parserRuleContext.getStop().getLine())
-                    .setStartColumn(parserRuleContext.getStart().getCharPositionInLine())
-                    .setEndColumn(parserRuleContext.getStop().getCharPositionInLine() + endPosition - stopToken.getStartIndex())
-                    .setStartPosition(parserRuleContext.getStart().getStartIndex())
-                    .setEndPosition(endPosition)
-                    .setSourceCode(codeString);
+            return new JavetSanitizerErrorContext(
+                    getSourceIndex(),
+                    parserRuleContext.getStart().getStartIndex(),
+                    stopToken.getStopIndex() + 1,
+                    stopToken.getStartIndex());
         }
         return null;
     }
@@ -250,19 +691,68 @@ public abstract class BaseJavaScriptContextParser<
      * @since 0.1.0
      */
     public JavetSanitizerException toJavetSanitizerExceptionException(Throwable t) {
+        return toJavetSanitizerExceptionException(null, t);
+    }
+
+    /**
+     * To javet sanitizer exception exception javet sanitizer exception.
+     * The exception raised by the listener takes precedence.
+     *
+     * @param listener the listener
+     * @param t        the t
+     * @return the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavetSanitizerException toJavetSanitizerExceptionException(JavetSanitizerListener listener, Throwable t) {
+        if (t instanceof JavetSanitizerException) {
+            return (JavetSanitizerException) t;
+        }
+        return toJavetSanitizerRejection(listener, t).toException();
+    }
+
+    /**
+     * To javet sanitizer rejection.
+     * The rejection raised by the listener takes precedence.
+     * If the parser records the violations and aborted with the rejection recorded, that rejection is returned.
+     *
+     * @param listener the listener
+     * @param t        the t
+     * @return the javet sanitizer rejection
+     * @since 0.4.0
+     */
+    protected JavetSanitizerRejection toJavetSanitizerRejection(JavetSanitizerListener listener, Throwable t) {
+        if (t instanceof JavetSanitizerException) {
+            return new JavetSanitizerRejection().record((JavetSanitizerException) t);
+        }
+        if (t instanceof JavetSanitizerLimitException) {
+            return ((JavetSanitizerLimitException) t).getRejection();
+        }
+        if (listener != null) {
+            JavetSanitizerRejection javetSanitizerRejection = listener.getRejection();
+            if (javetSanitizerRejection != null) {
+                ParserRuleContext parserRuleContext = listener.getErrorContext();
+                if (parserRuleContext != null) {
+                    javetSanitizerRejection.setContext(toJavaScriptParserContext(parserRuleContext));
+                }
+                return javetSanitizerRejection;
+            }
+        }
+        if (t instanceof JavetSanitizerAbortException && rejection != null && rejection.isRejected()) {
+            return rejection;
+        }
         if (t instanceof ParseCancellationException) {
             Throwable innerException = t.getCause();
             if (innerException instanceof RecognitionException) {
                 RecognitionException recognitionException = (RecognitionException) innerException;
                 IntervalSet intervalSet = recognitionException.getExpectedTokens();
                 Token offendingToken = recognitionException.getOffendingToken();
-                return JavetSanitizerException.tokenMismatch(
+                return new JavetSanitizerRejection().tokenMismatch(
                                 intervalSet.toString(JavaScriptParser.VOCABULARY),
                                 offendingToken.getText())
                         .setContext(toJavaScriptParserContext(offendingToken));
             }
         }
-        return JavetSanitizerException.unknownError(t.getMessage(), t);
+        return new JavetSanitizerRejection().unknownError(t.getMessage());
     }
 
     /**
@@ -293,10 +783,10 @@ public abstract class BaseJavaScriptContextParser<
     public Parser validateChildClass(int index, Class<?> expectedChildClass) throws JavetSanitizerException {
         ParseTree parseTree = context.getChild(index);
         if (parseTree.getClass() != expectedChildClass) {
-            throw JavetSanitizerException.tokenMismatch(
+            throw reject(new JavetSanitizerRejection().tokenMismatch(
                             expectedChildClass.getSimpleName(),
                             parseTree.getClass().getSimpleName())
-                    .setContext(toJavaScriptParserContext(parseTree));
+                    .setContext(toJavaScriptParserContext(parseTree)));
         }
         return (Parser) this;
     }
@@ -312,12 +802,12 @@ public abstract class BaseJavaScriptContextParser<
      */
     public Parser validateChildCountBetween(int minCount, int maxCount) throws JavetSanitizerException {
         if (context.getChildCount() < minCount) {
-            throw JavetSanitizerException.syntaxCountTooSmall(minCount, context.getChildCount())
-                    .setContext(toJavaScriptParserContext(context));
+            throw reject(new JavetSanitizerRejection().syntaxCountTooSmall(minCount, context.getChildCount())
+                    .setContext(toJavaScriptParserContext(context)));
         }
         if (context.getChildCount() > maxCount) {
-            throw JavetSanitizerException.syntaxCountTooLarge(maxCount, context.getChildCount())
-                    .setContext(toJavaScriptParserContext(context));
+            throw reject(new JavetSanitizerRejection().syntaxCountTooLarge(maxCount, context.getChildCount())
+                    .setContext(toJavaScriptParserContext(context)));
         }
         return (Parser) this;
     }
@@ -332,8 +822,8 @@ public abstract class BaseJavaScriptContextParser<
      */
     public Parser validateChildCountEquals(int expectedCount) throws JavetSanitizerException {
         if (context.getChildCount() != expectedCount) {
-            throw JavetSanitizerException.syntaxCountMismatch(expectedCount, context.getChildCount())
-                    .setContext(toJavaScriptParserContext(context));
+            throw reject(new JavetSanitizerRejection().syntaxCountMismatch(expectedCount, context.getChildCount())
+                    .setContext(toJavaScriptParserContext(context)));
         }
         return (Parser) this;
     }
@@ -348,8 +838,8 @@ public abstract class BaseJavaScriptContextParser<
      */
     public Parser validateChildCountGreaterThan(int minCount) throws JavetSanitizerException {
         if (context.getChildCount() < minCount) {
-            throw JavetSanitizerException.syntaxCountTooSmall(minCount, context.getChildCount())
-                    .setContext(toJavaScriptParserContext(context));
+            throw reject(new JavetSanitizerRejection().syntaxCountTooSmall(minCount, context.getChildCount())
+                    .setContext(toJavaScriptParserContext(context)));
         }
         return (Parser) this;
     }
@@ -375,19 +865,14 @@ public abstract class BaseJavaScriptContextParser<
      * @since 0.1.0
      */
     public <Listener extends JavetSanitizerListener> Parser walk(Listener listener) throws JavetSanitizerException {
+        final long startTime = System.nanoTime();
         ParseTreeWalker parseTreeWalker = new ParseTreeWalker();
         try {
             parseTreeWalker.walk(listener, context);
         } catch (Throwable t) {
-            JavetSanitizerException javetSanitizerException = listener.getException();
-            if (javetSanitizerException == null) {
-                throw toJavetSanitizerExceptionException(t);
-            }
-            ParserRuleContext parserRuleContext = listener.getErrorContext();
-            if (parserRuleContext != null) {
-                javetSanitizerException.setContext(toJavaScriptParserContext(parserRuleContext));
-            }
-            throw javetSanitizerException;
+            throw reject(toJavetSanitizerRejection(listener, t));
+        } finally {
+            walkDurationNanos = System.nanoTime() - startTime;
         }
         return (Parser) this;
     }
@@ -19,6 +19,8 @@ package com.caoccao.javet.sanitizer.parsers;
 
 import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.antlr.v4.runtime.CharStream;
 
 /**
  * The type JavaScript anonymous function parser.
@@ -36,7 +38,20 @@ public class JavaScriptAnonymousFunctionParser
      * @since 0.1.0
      */
     public JavaScriptAnonymousFunctionParser(String codeString) throws JavetSanitizerException {
-        this(null, codeString);
+        this(JavetSanitizerOption.Default, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript anonymous function parser.
+     *
+     * @param option     the option
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptAnonymousFunctionParser(JavetSanitizerOption option, String codeString)
+            throws JavetSanitizerException {
+        this(option, null, codeString);
     }
 
     /**
@@ -50,14 +65,59 @@ public class JavaScriptAnonymousFunctionParser
     public JavaScriptAnonymousFunctionParser(
             JavaScriptParser.AnonymousFunctionContext context,
             String codeString) throws JavetSanitizerException {
-        super(context, codeString);
+        this(JavetSanitizerOption.Default, context, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript anonymous function parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptAnonymousFunctionParser(
+            JavetSanitizerOption option,
+            JavaScriptParser.AnonymousFunctionContext context,
+            String codeString) throws JavetSanitizerException {
+        super(option, context, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript anonymous function parser.
+     *
+     * @param option     the option
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptAnonymousFunctionParser(JavetSanitizerOption option, CharStream charStream)
+            throws JavetSanitizerException {
+        this(option, null, charStream);
+    }
+
+    /**
+     * Instantiates a new JavaScript anonymous function parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptAnonymousFunctionParser(
+            JavetSanitizerOption option,
+            JavaScriptParser.AnonymousFunctionContext context,
+            CharStream charStream) throws JavetSanitizerException {
+        super(option, context, charStream);
     }
 
     @Override
     protected JavaScriptAnonymousFunctionParser initializeContext() throws JavetSanitizerException {
         super.initializeContext();
         if (context == null) {
-            context = javaScriptParser.anonymousFunction();
+            context = parseContext(JavaScriptParser::anonymousFunction);
         }
         return this;
     }
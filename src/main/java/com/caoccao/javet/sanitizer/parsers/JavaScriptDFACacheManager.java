@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import org.antlr.v4.runtime.atn.ATNConfig;
+import org.antlr.v4.runtime.atn.PredictionContextCache;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.dfa.DFAState;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type JavaScript DFA cache manager observes and bounds the DFA and the prediction context caches
+ * shared by all instances of {@link JavaScriptLexer} and {@link JavaScriptParser}.
+ * <p>
+ * The caches grow for the life of the JVM. If a memory ceiling is set,
+ * the estimated size is checked every {@link #getCheckInterval()} parses,
+ * and the caches are reset by the {@link JavaScriptDFACacheResetPolicy} once the ceiling is exceeded.
+ * <p>
+ * A reset replaces the DFA objects instead of mutating them, the same way ANTLR clears its DFA,
+ * so parses that are running on other threads keep using the DFA they started with.
+ *
+ * @since 0.4.0
+ */
+public final class JavaScriptDFACacheManager {
+    /**
+     * The constant DEFAULT_CHECK_INTERVAL.
+     *
+     * @since 0.4.0
+     */
+    public static final int DEFAULT_CHECK_INTERVAL = 1000;
+    private static final int ESTIMATED_BYTES_CONFIG = 32;
+    private static final int ESTIMATED_BYTES_CONFIG_SET = 96;
+    private static final int ESTIMATED_BYTES_CONTEXT = 64;
+    private static final int ESTIMATED_BYTES_DFA_STATE = 72;
+    private static final int ESTIMATED_BYTES_LEXER_CONFIG = 40;
+    private static final int ESTIMATED_BYTES_REFERENCE = 4;
+    private static final int ESTIMATED_BYTES_ARRAY = 16;
+    private static final Field FIELD_CACHE;
+
+    static {
+        Field field;
+        try {
+            field = PredictionContextCache.class.getDeclaredField("cache");
+            field.setAccessible(true);
+        } catch (Throwable t) {
+            field = null;
+        }
+        FIELD_CACHE = field;
+    }
+
+    private static final JavaScriptDFACacheManager INSTANCE = new JavaScriptDFACacheManager();
+
+    private final AtomicLong generation;
+    private final PredictionContextCache lexerContextCache;
+    private final DFA[] lexerDFA;
+    private final AtomicLong parseCount;
+    private final PredictionContextCache parserContextCache;
+    private final DFA[] parserDFA;
+    private final AtomicBoolean resetting;
+    private volatile byte[] baseline;
+    private volatile int checkInterval;
+    private volatile long maxEstimatedBytes;
+    private volatile JavaScriptDFACacheResetPolicy resetPolicy;
+    private volatile Runnable rewarmHook;
+
+    private JavaScriptDFACacheManager() {
+        JavaScriptLexer javaScriptLexer = new JavaScriptLexer(null);
+        JavaScriptParser javaScriptParser = new JavaScriptParser(null);
+        baseline = null;
+        checkInterval = DEFAULT_CHECK_INTERVAL;
+        generation = new AtomicLong(0);
+        lexerContextCache = javaScriptLexer.getInterpreter().getSharedContextCache();
+        lexerDFA = javaScriptLexer.getInterpreter().decisionToDFA;
+        maxEstimatedBytes = 0;
+        parseCount = new AtomicLong(0);
+        parserContextCache = javaScriptParser.getInterpreter().getSharedContextCache();
+        parserDFA = javaScriptParser.getInterpreter().decisionToDFA;
+        resetPolicy = JavaScriptDFACacheResetPolicy.ClearAndRewarm;
+        resetting = new AtomicBoolean(false);
+        rewarmHook = null;
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     * @since 0.4.0
+     */
+    public static JavaScriptDFACacheManager getInstance() {
+        return INSTANCE;
+    }
+
+    private static void clearContextCache(PredictionContextCache predictionContextCache) {
+        if (predictionContextCache != null && FIELD_CACHE != null) {
+            // ANTLR synchronizes on the shared context cache when it reads or writes it.
+            synchronized (predictionContextCache) {
+                try {
+                    ((Map<?, ?>) FIELD_CACHE.get(predictionContextCache)).clear();
+                } catch (IllegalAccessException ignored) {
+                }
+            }
+        }
+    }
+
+    private static void clearDFA(DFA[] dfas) {
+        for (int i = 0; i < dfas.length; ++i) {
+            dfas[i] = new DFA(dfas[i].atnStartState, i);
+        }
+    }
+
+    private static int getContextCacheSize(PredictionContextCache predictionContextCache) {
+        if (predictionContextCache == null) {
+            return 0;
+        }
+        synchronized (predictionContextCache) {
+            return predictionContextCache.size();
+        }
+    }
+
+    private static int getStateCount(DFA[] dfas) {
+        int count = 0;
+        for (DFA dfa : dfas) {
+            count += dfa.states.size();
+        }
+        return count;
+    }
+
+    /**
+     * Check the estimated size against the memory ceiling and reset the caches if the ceiling is exceeded.
+     *
+     * @return true : reset, false : not reset
+     * @since 0.4.0
+     */
+    public boolean checkCeiling() {
+        final long maxEstimatedBytes = this.maxEstimatedBytes;
+        if (maxEstimatedBytes > 0 && getStatistics().getEstimatedBytes() > maxEstimatedBytes) {
+            return reset();
+        }
+        return false;
+    }
+
+    /**
+     * Clear the DFA and the prediction context caches without calling the rewarm hook.
+     *
+     * @since 0.4.0
+     */
+    public void clear() {
+        synchronized (this) {
+            clearDFA(lexerDFA);
+            clearDFA(parserDFA);
+            clearContextCache(lexerContextCache);
+            clearContextCache(parserContextCache);
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Clear baseline.
+     *
+     * @since 0.4.0
+     */
+    public void clearBaseline() {
+        baseline = null;
+    }
+
+    /**
+     * Gets the number of parses between two ceiling checks.
+     *
+     * @return the check interval
+     * @since 0.4.0
+     */
+    public int getCheckInterval() {
+        return checkInterval;
+    }
+
+    private static long getEstimatedBytes(DFA[] dfas, boolean lexer) {
+        final int configBytes = lexer ? ESTIMATED_BYTES_LEXER_CONFIG : ESTIMATED_BYTES_CONFIG;
+        long estimatedBytes = ESTIMATED_BYTES_ARRAY + (long) ESTIMATED_BYTES_REFERENCE * dfas.length;
+        for (DFA dfa : dfas) {
+            List<DFAState> states;
+            synchronized (dfa.states) {
+                states = new ArrayList<>(dfa.states.values());
+            }
+            for (DFAState state : states) {
+                estimatedBytes += ESTIMATED_BYTES_DFA_STATE + ESTIMATED_BYTES_CONFIG_SET;
+                if (state.configs != null) {
+                    List<ATNConfig> configs = state.configs.elements();
+                    estimatedBytes += (long) (configBytes + ESTIMATED_BYTES_REFERENCE) * configs.size();
+                }
+                DFAState[] edges = state.edges;
+                if (edges != null) {
+                    estimatedBytes += ESTIMATED_BYTES_ARRAY + (long) ESTIMATED_BYTES_REFERENCE * edges.length;
+                }
+            }
+        }
+        return estimatedBytes;
+    }
+
+    /**
+     * Gets generation. It is increased by every clear or reset.
+     *
+     * @return the generation
+     * @since 0.4.0
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    DFA[] getLexerDFA() {
+        return lexerDFA;
+    }
+
+    /**
+     * Gets lexer DFA state count. It is cheap enough to be called per parse.
+     *
+     * @return the lexer DFA state count
+     * @since 0.4.0
+     */
+    public int getLexerDFAStateCount() {
+        return getStateCount(lexerDFA);
+    }
+
+    /**
+     * Gets the memory ceiling in bytes. 0 means the caches are not bounded.
+     *
+     * @return the max estimated bytes
+     * @since 0.4.0
+     */
+    public long getMaxEstimatedBytes() {
+        return maxEstimatedBytes;
+    }
+
+    DFA[] getParserDFA() {
+        return parserDFA;
+    }
+
+    /**
+     * Gets parser DFA state count. It is cheap enough to be called per parse.
+     *
+     * @return the parser DFA state count
+     * @since 0.4.0
+     */
+    public int getParserDFAStateCount() {
+        return getStateCount(parserDFA);
+    }
+
+    /**
+     * Gets reset policy.
+     *
+     * @return the reset policy
+     * @since 0.4.0
+     */
+    public JavaScriptDFACacheResetPolicy getResetPolicy() {
+        return resetPolicy;
+    }
+
+    /**
+     * Gets rewarm hook.
+     *
+     * @return the rewarm hook
+     * @since 0.4.0
+     */
+    public Runnable getRewarmHook() {
+        return rewarmHook;
+    }
+
+    /**
+     * Gets statistics. The DFA is walked to estimate the size, so it is not meant to be called per parse.
+     *
+     * @return the statistics
+     * @since 0.4.0
+     */
+    public JavaScriptDFACacheStatistics getStatistics() {
+        DFA[] lexerDFA = this.lexerDFA.clone();
+        DFA[] parserDFA = this.parserDFA.clone();
+        final int lexerContextCacheSize = getContextCacheSize(lexerContextCache);
+        final int parserContextCacheSize = getContextCacheSize(parserContextCache);
+        final long estimatedBytes = getEstimatedBytes(lexerDFA, true)
+                + getEstimatedBytes(parserDFA, false)
+                + (long) ESTIMATED_BYTES_CONTEXT * (lexerContextCacheSize + parserContextCacheSize);
+        final byte[] baseline = this.baseline;
+        return new JavaScriptDFACacheStatistics(
+                generation.get(),
+                getStateCount(lexerDFA),
+                getStateCount(parserDFA),
+                lexerContextCacheSize,
+                parserContextCacheSize,
+                estimatedBytes,
+                baseline == null ? 0 : baseline.length);
+    }
+
+    /**
+     * Mark the current DFA as the baseline of the generational reset policy.
+     * It is usually called right after the warm-up.
+     *
+     * @since 0.4.0
+     */
+    public void markBaseline() {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try {
+            JavaScriptDFASnapshot.save(byteArrayOutputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        baseline = byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Called by {@link JavaScriptParserPool} whenever a parse completes.
+     *
+     * @since 0.4.0
+     */
+    void onParseCompleted() {
+        if (maxEstimatedBytes > 0 && !resetting.get()) {
+            final int checkInterval = Math.max(1, this.checkInterval);
+            if (parseCount.incrementAndGet() % checkInterval == 0) {
+                checkCeiling();
+            }
+        }
+    }
+
+    /**
+     * Reset the caches by the reset policy. It is safe to call while other threads are parsing.
+     * If a reset is in progress, this call is ignored.
+     *
+     * @return true : reset, false : ignored
+     * @since 0.4.0
+     */
+    public boolean reset() {
+        if (!resetting.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            final byte[] baseline = this.baseline;
+            if (resetPolicy == JavaScriptDFACacheResetPolicy.Generational && baseline != null) {
+                synchronized (this) {
+                    clearContextCache(lexerContextCache);
+                    clearContextCache(parserContextCache);
+                    try {
+                        if (!JavaScriptDFASnapshot.load(new ByteArrayInputStream(baseline))) {
+                            clearDFA(lexerDFA);
+                            clearDFA(parserDFA);
+                        }
+                    } catch (IOException e) {
+                        clearDFA(lexerDFA);
+                        clearDFA(parserDFA);
+                    }
+                    generation.incrementAndGet();
+                }
+            } else {
+                clear();
+                Runnable rewarmHook = this.rewarmHook;
+                if (rewarmHook != null) {
+                    rewarmHook.run();
+                }
+            }
+            return true;
+        } finally {
+            resetting.set(false);
+        }
+    }
+
+    /**
+     * Sets the number of parses between two ceiling checks.
+     *
+     * @param checkInterval the check interval
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavaScriptDFACacheManager setCheckInterval(int checkInterval) {
+        this.checkInterval = Math.max(1, checkInterval);
+        return this;
+    }
+
+    /**
+     * Sets the memory ceiling in bytes. 0 means the caches are not bounded.
+     *
+     * @param maxEstimatedBytes the max estimated bytes
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavaScriptDFACacheManager setMaxEstimatedBytes(long maxEstimatedBytes) {
+        this.maxEstimatedBytes = Math.max(0, maxEstimatedBytes);
+        return this;
+    }
+
+    /**
+     * Sets reset policy.
+     *
+     * @param resetPolicy the reset policy
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavaScriptDFACacheManager setResetPolicy(JavaScriptDFACacheResetPolicy resetPolicy) {
+        this.resetPolicy = Objects.requireNonNull(resetPolicy);
+        return this;
+    }
+
+    /**
+     * Sets rewarm hook. It is called on the thread that triggers the reset,
+     * e.g. <code>() -&gt; new JavetSanitizerWarmer().warm()</code>.
+     *
+     * @param rewarmHook the rewarm hook
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavaScriptDFACacheManager setRewarmHook(Runnable rewarmHook) {
+        this.rewarmHook = rewarmHook;
+        return this;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+/**
+ * The enum JavaScript DFA cache reset policy.
+ *
+ * @since 0.4.0
+ */
+public enum JavaScriptDFACacheResetPolicy {
+    /**
+     * Clear the DFA and the prediction context caches, then call the rewarm hook if it is set.
+     *
+     * @since 0.4.0
+     */
+    ClearAndRewarm,
+    /**
+     * Start a new generation from the baseline marked by
+     * {@link JavaScriptDFACacheManager#markBaseline()}.
+     * If there is no baseline, it behaves like {@link #ClearAndRewarm}.
+     *
+     * @since 0.4.0
+     */
+    Generational
+}
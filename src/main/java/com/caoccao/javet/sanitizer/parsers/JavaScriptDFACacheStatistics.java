@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+/**
+ * The type JavaScript DFA cache statistics is an immutable view of the DFA cache at a point in time.
+ *
+ * @since 0.4.0
+ */
+public final class JavaScriptDFACacheStatistics {
+    private final long baselineBytes;
+    private final long estimatedBytes;
+    private final long generation;
+    private final int lexerContextCacheSize;
+    private final int lexerDFAStateCount;
+    private final int parserContextCacheSize;
+    private final int parserDFAStateCount;
+
+    JavaScriptDFACacheStatistics(
+            long generation,
+            int lexerDFAStateCount,
+            int parserDFAStateCount,
+            int lexerContextCacheSize,
+            int parserContextCacheSize,
+            long estimatedBytes,
+            long baselineBytes) {
+        this.baselineBytes = baselineBytes;
+        this.estimatedBytes = estimatedBytes;
+        this.generation = generation;
+        this.lexerContextCacheSize = lexerContextCacheSize;
+        this.lexerDFAStateCount = lexerDFAStateCount;
+        this.parserContextCacheSize = parserContextCacheSize;
+        this.parserDFAStateCount = parserDFAStateCount;
+    }
+
+    /**
+     * Gets the size of the baseline snapshot in bytes.
+     *
+     * @return the baseline bytes
+     * @since 0.4.0
+     */
+    public long getBaselineBytes() {
+        return baselineBytes;
+    }
+
+    /**
+     * Gets the estimated heap usage of the DFA and the prediction context caches in bytes.
+     *
+     * @return the estimated bytes
+     * @since 0.4.0
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Gets generation.
+     *
+     * @return the generation
+     * @since 0.4.0
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Gets lexer context cache size.
+     *
+     * @return the lexer context cache size
+     * @since 0.4.0
+     */
+    public int getLexerContextCacheSize() {
+        return lexerContextCacheSize;
+    }
+
+    /**
+     * Gets lexer DFA state count.
+     *
+     * @return the lexer DFA state count
+     * @since 0.4.0
+     */
+    public int getLexerDFAStateCount() {
+        return lexerDFAStateCount;
+    }
+
+    /**
+     * Gets parser context cache size.
+     *
+     * @return the parser context cache size
+     * @since 0.4.0
+     */
+    public int getParserContextCacheSize() {
+        return parserContextCacheSize;
+    }
+
+    /**
+     * Gets parser DFA state count.
+     *
+     * @return the parser DFA state count
+     * @since 0.4.0
+     */
+    public int getParserDFAStateCount() {
+        return parserDFAStateCount;
+    }
+
+    @Override
+    public String toString() {
+        return "JavaScriptDFACacheStatistics{" +
+                "generation=" + generation +
+                ", lexerDFAStateCount=" + lexerDFAStateCount +
+                ", parserDFAStateCount=" + parserDFAStateCount +
+                ", lexerContextCacheSize=" + lexerContextCacheSize +
+                ", parserContextCacheSize=" + parserContextCacheSize +
+                ", estimatedBytes=" + estimatedBytes +
+                ", baselineBytes=" + baselineBytes +
+                '}';
+    }
+}
@@ -0,0 +1,738 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import org.antlr.v4.runtime.RuntimeMetaData;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.dfa.DFAState;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The type JavaScript DFA snapshot saves the warmed DFA of {@link JavaScriptLexer} and {@link JavaScriptParser}
+ * to a versioned binary stream and loads it back so that a new JVM does not have to rebuild it.
+ * <p>
+ * A snapshot is only loaded if it was produced by the same snapshot format, the same ANTLR runtime
+ * and the same serialized ATN of the lexer and the parser. Otherwise, it is ignored.
+ * <p>
+ * If the system property {@link #PROPERTY_PATH} points at a snapshot file,
+ * the snapshot is loaded when {@link JavaScriptParserPool} is initialized.
+ *
+ * @since 0.4.0
+ */
+public final class JavaScriptDFASnapshot {
+    /**
+     * The constant FORMAT_VERSION.
+     *
+     * @since 0.4.0
+     */
+    public static final int FORMAT_VERSION = 1;
+    /**
+     * The constant MAGIC.
+     *
+     * @since 0.4.0
+     */
+    public static final int MAGIC = 0x4A534446;
+    /**
+     * The constant PROPERTY_PATH.
+     *
+     * @since 0.4.0
+     */
+    public static final String PROPERTY_PATH = "javet.sanitizer.dfa.snapshot";
+    private static final int CONTEXT_TYPE_ARRAY = 2;
+    private static final int CONTEXT_TYPE_EMPTY = 0;
+    private static final int CONTEXT_TYPE_SINGLETON = 1;
+    private static final Field FIELD_CONFLICTING_ALTS;
+    private static final int LEXER_ACTION_INDEXED_CUSTOM = -1;
+    private static final byte[] LEXER_HASH = getHash(JavaScriptLexer._serializedATN);
+    private static final byte[] PARSER_HASH = getHash(JavaScriptParser._serializedATN);
+    private static final int SEMANTIC_CONTEXT_TYPE_AND = 3;
+    private static final int SEMANTIC_CONTEXT_TYPE_NONE = 0;
+    private static final int SEMANTIC_CONTEXT_TYPE_OR = 4;
+    private static final int SEMANTIC_CONTEXT_TYPE_PRECEDENCE = 2;
+    private static final int SEMANTIC_CONTEXT_TYPE_PREDICATE = 1;
+    private static final int STATE_ERROR = -1;
+    private static final int STATE_NULL = -2;
+
+    static {
+        Field field;
+        try {
+            field = ATNConfigSet.class.getDeclaredField("conflictingAlts");
+            field.setAccessible(true);
+        } catch (Throwable t) {
+            field = null;
+        }
+        FIELD_CONFLICTING_ALTS = field;
+    }
+
+    private JavaScriptDFASnapshot() {
+    }
+
+    private static byte[] getHash(String serializedATN) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(serializedATN.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Load the snapshot from the input stream.
+     *
+     * @param inputStream the input stream
+     * @return true : loaded, false : ignored because the snapshot is not compatible
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public static boolean load(InputStream inputStream) throws IOException {
+        DataInputStream dataInputStream = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(inputStream)));
+        if (dataInputStream.readInt() != MAGIC) {
+            throw new IOException("Invalid DFA snapshot.");
+        }
+        if (dataInputStream.readInt() != FORMAT_VERSION
+                || !RuntimeMetaData.VERSION.equals(dataInputStream.readUTF())
+                || !Arrays.equals(LEXER_HASH, readBytes(dataInputStream))
+                || !Arrays.equals(PARSER_HASH, readBytes(dataInputStream))) {
+            return false;
+        }
+        JavaScriptDFACacheManager javaScriptDFACacheManager = JavaScriptDFACacheManager.getInstance();
+        DFA[] targetLexerDFA = javaScriptDFACacheManager.getLexerDFA();
+        DFA[] targetParserDFA = javaScriptDFACacheManager.getParserDFA();
+        DFA[] lexerDFA = new Reader(dataInputStream, JavaScriptLexer._ATN, true).read(targetLexerDFA.length);
+        DFA[] parserDFA = new Reader(dataInputStream, JavaScriptParser._ATN, false).read(targetParserDFA.length);
+        // The DFA objects are swapped instead of being updated in place so that concurrent parses are not affected.
+        System.arraycopy(lexerDFA, 0, targetLexerDFA, 0, lexerDFA.length);
+        System.arraycopy(parserDFA, 0, targetParserDFA, 0, parserDFA.length);
+        return true;
+    }
+
+    /**
+     * Load the snapshot from the path.
+     *
+     * @param path the path
+     * @return true : loaded, false : ignored because the snapshot is not compatible
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public static boolean load(Path path) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return load(inputStream);
+        }
+    }
+
+    /**
+     * Load the snapshot from the path given by the system property {@link #PROPERTY_PATH}.
+     * A missing, incompatible or corrupted snapshot is ignored because it only affects the warm-up.
+     *
+     * @return true : loaded, false : not loaded
+     * @since 0.4.0
+     */
+    public static boolean loadFromSystemProperty() {
+        String pathString = System.getProperty(PROPERTY_PATH);
+        if (pathString != null && !pathString.isEmpty()) {
+            Path path = Paths.get(pathString);
+            if (Files.isRegularFile(path)) {
+                try {
+                    return load(path);
+                } catch (Throwable ignored) {
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] readBytes(DataInputStream dataInputStream) throws IOException {
+        byte[] bytes = new byte[dataInputStream.readInt()];
+        dataInputStream.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Save the snapshot to the output stream.
+     * It is safe to save the snapshot while other threads are parsing.
+     *
+     * @param outputStream the output stream
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public static void save(OutputStream outputStream) throws IOException {
+        GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+        DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(gzipOutputStream));
+        dataOutputStream.writeInt(MAGIC);
+        dataOutputStream.writeInt(FORMAT_VERSION);
+        dataOutputStream.writeUTF(RuntimeMetaData.VERSION);
+        dataOutputStream.writeInt(LEXER_HASH.length);
+        dataOutputStream.write(LEXER_HASH);
+        dataOutputStream.writeInt(PARSER_HASH.length);
+        dataOutputStream.write(PARSER_HASH);
+        JavaScriptDFACacheManager javaScriptDFACacheManager = JavaScriptDFACacheManager.getInstance();
+        new Writer(dataOutputStream, true).write(javaScriptDFACacheManager.getLexerDFA().clone());
+        new Writer(dataOutputStream, false).write(javaScriptDFACacheManager.getParserDFA().clone());
+        dataOutputStream.flush();
+        gzipOutputStream.finish();
+    }
+
+    /**
+     * Save the snapshot to the path.
+     *
+     * @param path the path
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public static void save(Path path) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(path)) {
+            save(outputStream);
+        }
+    }
+
+    private static final class Reader {
+        private final ATN atn;
+        private final DataInputStream dataInputStream;
+        private final boolean lexer;
+        private DecisionState nonGreedyState;
+
+        Reader(DataInputStream dataInputStream, ATN atn, boolean lexer) {
+            this.atn = atn;
+            this.dataInputStream = dataInputStream;
+            this.lexer = lexer;
+            nonGreedyState = null;
+        }
+
+        DFA[] read(int dfaCount) throws IOException {
+            if (dataInputStream.readInt() != dfaCount) {
+                throw new IOException("DFA count mismatches.");
+            }
+            final PredictionContext[] contexts = readContexts();
+            final DFA[] dfas = new DFA[dfaCount];
+            for (int decision = 0; decision < dfaCount; ++decision) {
+                DFA dfa = new DFA(atn.getDecisionState(decision), decision);
+                final int stateCount = dataInputStream.readInt();
+                final DFAState[] states = new DFAState[stateCount];
+                for (int i = 0; i < stateCount; ++i) {
+                    states[i] = readState(contexts);
+                }
+                for (DFAState state : states) {
+                    final int edgeLength = dataInputStream.readInt();
+                    if (edgeLength >= 0) {
+                        state.edges = readEdges(edgeLength, states);
+                    }
+                }
+                for (DFAState state : states) {
+                    dfa.states.put(state, state);
+                }
+                if (dfa.isPrecedenceDfa()) {
+                    DFAState[] edges = readEdges(dataInputStream.readInt(), states);
+                    for (int precedence = 0; precedence < edges.length; ++precedence) {
+                        if (edges[precedence] != null) {
+                            dfa.setPrecedenceStartState(precedence, edges[precedence]);
+                        }
+                    }
+                } else {
+                    final int s0 = dataInputStream.readInt();
+                    if (s0 >= 0) {
+                        dfa.s0 = states[s0];
+                    }
+                }
+                dfas[decision] = dfa;
+            }
+            return dfas;
+        }
+
+        private ATNConfig readConfig(PredictionContext[] contexts) throws IOException {
+            ATNState state = atn.states.get(dataInputStream.readInt());
+            final int alt = dataInputStream.readInt();
+            PredictionContext context = contexts[dataInputStream.readInt()];
+            final int reachesIntoOuterContext = dataInputStream.readInt();
+            ATNConfig config;
+            if (lexer) {
+                LexerActionExecutor lexerActionExecutor = readLexerActionExecutor();
+                LexerATNConfig lexerATNConfig = new LexerATNConfig(state, alt, context, lexerActionExecutor);
+                if (dataInputStream.readBoolean()) {
+                    // The flag can only be set by a transition into a non-greedy decision state,
+                    // and it is kept by the transition back to the state.
+                    lexerATNConfig = new LexerATNConfig(
+                            new LexerATNConfig(lexerATNConfig, getNonGreedyState()), state);
+                }
+                config = lexerATNConfig;
+            } else {
+                config = new ATNConfig(state, alt, context, readSemanticContext());
+            }
+            config.reachesIntoOuterContext = reachesIntoOuterContext;
+            return config;
+        }
+
+        private PredictionContext[] readContexts() throws IOException {
+            final int contextCount = dataInputStream.readInt();
+            final PredictionContext[] contexts = new PredictionContext[contextCount];
+            for (int i = 0; i < contextCount; ++i) {
+                final int type = dataInputStream.readByte();
+                if (type == CONTEXT_TYPE_EMPTY) {
+                    contexts[i] = EmptyPredictionContext.Instance;
+                } else if (type == CONTEXT_TYPE_SINGLETON) {
+                    PredictionContext parent = readParentContext(contexts, i);
+                    contexts[i] = SingletonPredictionContext.create(parent, dataInputStream.readInt());
+                } else if (type == CONTEXT_TYPE_ARRAY) {
+                    final int size = dataInputStream.readInt();
+                    PredictionContext[] parents = new PredictionContext[size];
+                    int[] returnStates = new int[size];
+                    for (int j = 0; j < size; ++j) {
+                        parents[j] = readParentContext(contexts, i);
+                        returnStates[j] = dataInputStream.readInt();
+                    }
+                    contexts[i] = new ArrayPredictionContext(parents, returnStates);
+                } else {
+                    throw new IOException("Unknown prediction context type " + type + ".");
+                }
+            }
+            return contexts;
+        }
+
+        private DFAState[] readEdges(int edgeLength, DFAState[] states) throws IOException {
+            DFAState[] edges = new DFAState[edgeLength];
+            final int edgeCount = dataInputStream.readInt();
+            for (int i = 0; i < edgeCount; ++i) {
+                final int index = dataInputStream.readInt();
+                final int target = dataInputStream.readInt();
+                edges[index] = target == STATE_ERROR ? ATNSimulator.ERROR : states[target];
+            }
+            return edges;
+        }
+
+        private LexerAction readLexerAction() throws IOException {
+            final int type = dataInputStream.readByte();
+            if (type == LEXER_ACTION_INDEXED_CUSTOM) {
+                final int offset = dataInputStream.readInt();
+                return new LexerIndexedCustomAction(offset, readLexerAction());
+            }
+            switch (LexerActionType.values()[type]) {
+                case CHANNEL:
+                    return new LexerChannelAction(dataInputStream.readInt());
+                case CUSTOM:
+                    final int ruleIndex = dataInputStream.readInt();
+                    return new LexerCustomAction(ruleIndex, dataInputStream.readInt());
+                case MODE:
+                    return new LexerModeAction(dataInputStream.readInt());
+                case MORE:
+                    return LexerMoreAction.INSTANCE;
+                case POP_MODE:
+                    return LexerPopModeAction.INSTANCE;
+                case PUSH_MODE:
+                    return new LexerPushModeAction(dataInputStream.readInt());
+                case SKIP:
+                    return LexerSkipAction.INSTANCE;
+                case TYPE:
+                    return new LexerTypeAction(dataInputStream.readInt());
+                default:
+                    throw new IOException("Unknown lexer action type " + type + ".");
+            }
+        }
+
+        private LexerActionExecutor readLexerActionExecutor() throws IOException {
+            final int actionCount = dataInputStream.readInt();
+            if (actionCount < 0) {
+                return null;
+            }
+            LexerAction[] lexerActions = new LexerAction[actionCount];
+            for (int i = 0; i < actionCount; ++i) {
+                lexerActions[i] = readLexerAction();
+            }
+            return new LexerActionExecutor(lexerActions);
+        }
+
+        private DecisionState getNonGreedyState() throws IOException {
+            if (nonGreedyState == null) {
+                for (DecisionState decisionState : atn.decisionToState) {
+                    if (decisionState.nonGreedy) {
+                        nonGreedyState = decisionState;
+                        break;
+                    }
+                }
+                if (nonGreedyState == null) {
+                    throw new IOException("Non-greedy decision state is not found.");
+                }
+            }
+            return nonGreedyState;
+        }
+
+        private PredictionContext readParentContext(PredictionContext[] contexts, int index) throws IOException {
+            final int parentIndex = dataInputStream.readInt();
+            if (parentIndex < 0) {
+                return null;
+            }
+            if (parentIndex >= index) {
+                throw new IOException("Invalid parent prediction context " + parentIndex + ".");
+            }
+            return contexts[parentIndex];
+        }
+
+        private SemanticContext readSemanticContext() throws IOException {
+            final int type = dataInputStream.readByte();
+            switch (type) {
+                case SEMANTIC_CONTEXT_TYPE_NONE:
+                    return SemanticContext.Empty.Instance;
+                case SEMANTIC_CONTEXT_TYPE_PREDICATE:
+                    final int ruleIndex = dataInputStream.readInt();
+                    final int predIndex = dataInputStream.readInt();
+                    return new SemanticContext.Predicate(ruleIndex, predIndex, dataInputStream.readBoolean());
+                case SEMANTIC_CONTEXT_TYPE_PRECEDENCE:
+                    return new SemanticContext.PrecedencePredicate(dataInputStream.readInt());
+                case SEMANTIC_CONTEXT_TYPE_AND:
+                case SEMANTIC_CONTEXT_TYPE_OR:
+                    final int operandCount = dataInputStream.readInt();
+                    SemanticContext semanticContext = readSemanticContext();
+                    for (int i = 1; i < operandCount; ++i) {
+                        SemanticContext operand = readSemanticContext();
+                        semanticContext = type == SEMANTIC_CONTEXT_TYPE_AND
+                                ? new SemanticContext.AND(semanticContext, operand)
+                                : new SemanticContext.OR(semanticContext, operand);
+                    }
+                    return semanticContext;
+                default:
+                    throw new IOException("Unknown semantic context type " + type + ".");
+            }
+        }
+
+        private DFAState readState(PredictionContext[] contexts) throws IOException {
+            final int stateNumber = dataInputStream.readInt();
+            ATNConfigSet configs = lexer ? new OrderedATNConfigSet() : new ATNConfigSet(dataInputStream.readBoolean());
+            final int configCount = dataInputStream.readInt();
+            for (int i = 0; i < configCount; ++i) {
+                configs.add(readConfig(contexts));
+            }
+            configs.uniqueAlt = dataInputStream.readInt();
+            configs.hasSemanticContext = dataInputStream.readBoolean();
+            configs.dipsIntoOuterContext = dataInputStream.readBoolean();
+            if (dataInputStream.readBoolean()) {
+                BitSet conflictingAlts = BitSet.valueOf(readBytes(dataInputStream));
+                if (FIELD_CONFLICTING_ALTS != null) {
+                    try {
+                        FIELD_CONFLICTING_ALTS.set(configs, conflictingAlts);
+                    } catch (IllegalAccessException ignored) {
+                    }
+                }
+            }
+            configs.setReadonly(true);
+            DFAState state = new DFAState(configs);
+            state.stateNumber = stateNumber;
+            state.isAcceptState = dataInputStream.readBoolean();
+            state.prediction = dataInputStream.readInt();
+            state.requiresFullContext = dataInputStream.readBoolean();
+            if (lexer) {
+                state.lexerActionExecutor = readLexerActionExecutor();
+            }
+            final int predicateCount = dataInputStream.readInt();
+            if (predicateCount >= 0) {
+                state.predicates = new DFAState.PredPrediction[predicateCount];
+                for (int i = 0; i < predicateCount; ++i) {
+                    SemanticContext pred = readSemanticContext();
+                    state.predicates[i] = new DFAState.PredPrediction(pred, dataInputStream.readInt());
+                }
+            }
+            return state;
+        }
+    }
+
+    private static final class Writer {
+        private final Map<PredictionContext, Integer> contextIndexMap;
+        private final DataOutputStream dataOutputStream;
+        private final boolean lexer;
+
+        Writer(DataOutputStream dataOutputStream, boolean lexer) {
+            contextIndexMap = new IdentityHashMap<>();
+            this.dataOutputStream = dataOutputStream;
+            this.lexer = lexer;
+        }
+
+        private void collectContexts(PredictionContext context, List<PredictionContext> contexts) {
+            // The parents are collected before the children with an explicit stack
+            // because the prediction context graph can be deep.
+            Deque<PredictionContext> stack = new ArrayDeque<>();
+            Set<PredictionContext> visitedContexts = Collections.newSetFromMap(new IdentityHashMap<>());
+            stack.push(context);
+            while (!stack.isEmpty()) {
+                PredictionContext currentContext = stack.peek();
+                if (contextIndexMap.containsKey(currentContext)) {
+                    stack.pop();
+                    continue;
+                }
+                if (visitedContexts.add(currentContext)) {
+                    if (!(currentContext instanceof EmptyPredictionContext)) {
+                        for (int i = 0; i < currentContext.size(); ++i) {
+                            PredictionContext parent = currentContext.getParent(i);
+                            if (parent != null && !contextIndexMap.containsKey(parent)) {
+                                stack.push(parent);
+                            }
+                        }
+                    }
+                } else {
+                    stack.pop();
+                    contextIndexMap.put(currentContext, contexts.size());
+                    contexts.add(currentContext);
+                }
+            }
+        }
+
+        private Map<DFAState, Integer> getStateIndexMap(List<DFAState> states) {
+            Map<DFAState, Integer> stateIndexMap = new IdentityHashMap<>();
+            for (DFAState state : states) {
+                stateIndexMap.put(state, stateIndexMap.size());
+            }
+            return stateIndexMap;
+        }
+
+        void write(DFA[] dfas) throws IOException {
+            dataOutputStream.writeInt(dfas.length);
+            final List<List<DFAState>> statesList = new ArrayList<>(dfas.length);
+            final List<PredictionContext> contexts = new ArrayList<>();
+            for (DFA dfa : dfas) {
+                List<DFAState> states;
+                synchronized (dfa.states) {
+                    states = new ArrayList<>(dfa.states.values());
+                }
+                states.sort(Comparator.comparingInt(state -> state.stateNumber));
+                for (DFAState state : states) {
+                    for (ATNConfig config : state.configs.elements()) {
+                        collectContexts(config.context, contexts);
+                    }
+                }
+                statesList.add(states);
+            }
+            writeContexts(contexts);
+            for (int decision = 0; decision < dfas.length; ++decision) {
+                DFA dfa = dfas[decision];
+                List<DFAState> states = statesList.get(decision);
+                Map<DFAState, Integer> stateIndexMap = getStateIndexMap(states);
+                dataOutputStream.writeInt(states.size());
+                for (DFAState state : states) {
+                    writeState(state);
+                }
+                for (DFAState state : states) {
+                    DFAState[] edges;
+                    synchronized (state) {
+                        edges = state.edges == null ? null : state.edges.clone();
+                    }
+                    if (edges == null) {
+                        dataOutputStream.writeInt(-1);
+                    } else {
+                        writeEdges(edges, stateIndexMap);
+                    }
+                }
+                if (dfa.isPrecedenceDfa()) {
+                    DFAState[] edges;
+                    synchronized (dfa.s0) {
+                        edges = dfa.s0.edges.clone();
+                    }
+                    writeEdges(edges, stateIndexMap);
+                } else {
+                    DFAState s0 = dfa.s0;
+                    Integer s0Index = s0 == null ? null : stateIndexMap.get(s0);
+                    dataOutputStream.writeInt(s0Index == null ? STATE_NULL : s0Index);
+                }
+            }
+        }
+
+        private void writeConfig(ATNConfig config) throws IOException {
+            dataOutputStream.writeInt(config.state.stateNumber);
+            dataOutputStream.writeInt(config.alt);
+            dataOutputStream.writeInt(contextIndexMap.get(config.context));
+            dataOutputStream.writeInt(config.reachesIntoOuterContext);
+            if (lexer) {
+                LexerATNConfig lexerATNConfig = (LexerATNConfig) config;
+                writeLexerActionExecutor(lexerATNConfig.getLexerActionExecutor());
+                dataOutputStream.writeBoolean(lexerATNConfig.hasPassedThroughNonGreedyDecision());
+            } else {
+                writeSemanticContext(config.semanticContext);
+            }
+        }
+
+        private void writeContexts(List<PredictionContext> contexts) throws IOException {
+            dataOutputStream.writeInt(contexts.size());
+            for (PredictionContext context : contexts) {
+                if (context instanceof EmptyPredictionContext) {
+                    dataOutputStream.writeByte(CONTEXT_TYPE_EMPTY);
+                } else if (context instanceof SingletonPredictionContext) {
+                    SingletonPredictionContext singletonPredictionContext = (SingletonPredictionContext) context;
+                    dataOutputStream.writeByte(CONTEXT_TYPE_SINGLETON);
+                    writeParentContext(singletonPredictionContext.parent);
+                    dataOutputStream.writeInt(singletonPredictionContext.returnState);
+                } else {
+                    ArrayPredictionContext arrayPredictionContext = (ArrayPredictionContext) context;
+                    dataOutputStream.writeByte(CONTEXT_TYPE_ARRAY);
+                    dataOutputStream.writeInt(arrayPredictionContext.size());
+                    for (int i = 0; i < arrayPredictionContext.size(); ++i) {
+                        writeParentContext(arrayPredictionContext.parents[i]);
+                        dataOutputStream.writeInt(arrayPredictionContext.returnStates[i]);
+                    }
+                }
+            }
+        }
+
+        private void writeEdges(DFAState[] edges, Map<DFAState, Integer> stateIndexMap) throws IOException {
+            dataOutputStream.writeInt(edges.length);
+            final List<int[]> edgePairs = new ArrayList<>();
+            for (int i = 0; i < edges.length; ++i) {
+                DFAState target = edges[i];
+                if (target == ATNSimulator.ERROR) {
+                    edgePairs.add(new int[]{i, STATE_ERROR});
+                } else if (target != null) {
+                    // A target that is added after the states are collected is skipped.
+                    Integer targetIndex = stateIndexMap.get(target);
+                    if (targetIndex != null) {
+                        edgePairs.add(new int[]{i, targetIndex});
+                    }
+                }
+            }
+            dataOutputStream.writeInt(edgePairs.size());
+            for (int[] edgePair : edgePairs) {
+                dataOutputStream.writeInt(edgePair[0]);
+                dataOutputStream.writeInt(edgePair[1]);
+            }
+        }
+
+        private void writeLexerAction(LexerAction lexerAction) throws IOException {
+            if (lexerAction instanceof LexerIndexedCustomAction) {
+                LexerIndexedCustomAction lexerIndexedCustomAction = (LexerIndexedCustomAction) lexerAction;
+                dataOutputStream.writeByte(LEXER_ACTION_INDEXED_CUSTOM);
+                dataOutputStream.writeInt(lexerIndexedCustomAction.getOffset());
+                writeLexerAction(lexerIndexedCustomAction.getAction());
+                return;
+            }
+            dataOutputStream.writeByte(lexerAction.getActionType().ordinal());
+            switch (lexerAction.getActionType()) {
+                case CHANNEL:
+                    dataOutputStream.writeInt(((LexerChannelAction) lexerAction).getChannel());
+                    break;
+                case CUSTOM:
+                    dataOutputStream.writeInt(((LexerCustomAction) lexerAction).getRuleIndex());
+                    dataOutputStream.writeInt(((LexerCustomAction) lexerAction).getActionIndex());
+                    break;
+                case MODE:
+                    dataOutputStream.writeInt(((LexerModeAction) lexerAction).getMode());
+                    break;
+                case PUSH_MODE:
+                    dataOutputStream.writeInt(((LexerPushModeAction) lexerAction).getMode());
+                    break;
+                case TYPE:
+                    dataOutputStream.writeInt(((LexerTypeAction) lexerAction).getType());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void writeLexerActionExecutor(LexerActionExecutor lexerActionExecutor) throws IOException {
+            if (lexerActionExecutor == null) {
+                dataOutputStream.writeInt(-1);
+            } else {
+                LexerAction[] lexerActions = lexerActionExecutor.getLexerActions();
+                dataOutputStream.writeInt(lexerActions.length);
+                for (LexerAction lexerAction : lexerActions) {
+                    writeLexerAction(lexerAction);
+                }
+            }
+        }
+
+        private void writeParentContext(PredictionContext parent) throws IOException {
+            dataOutputStream.writeInt(parent == null ? -1 : contextIndexMap.get(parent));
+        }
+
+        private void writeSemanticContext(SemanticContext semanticContext) throws IOException {
+            if (semanticContext instanceof SemanticContext.Predicate) {
+                SemanticContext.Predicate predicate = (SemanticContext.Predicate) semanticContext;
+                dataOutputStream.writeByte(SEMANTIC_CONTEXT_TYPE_PREDICATE);
+                dataOutputStream.writeInt(predicate.ruleIndex);
+                dataOutputStream.writeInt(predicate.predIndex);
+                dataOutputStream.writeBoolean(predicate.isCtxDependent);
+            } else if (semanticContext instanceof SemanticContext.PrecedencePredicate) {
+                dataOutputStream.writeByte(SEMANTIC_CONTEXT_TYPE_PRECEDENCE);
+                dataOutputStream.writeInt(((SemanticContext.PrecedencePredicate) semanticContext).precedence);
+            } else if (semanticContext instanceof SemanticContext.AND || semanticContext instanceof SemanticContext.OR) {
+                SemanticContext[] operands = semanticContext instanceof SemanticContext.AND
+                        ? ((SemanticContext.AND) semanticContext).opnds
+                        : ((SemanticContext.OR) semanticContext).opnds;
+                dataOutputStream.writeByte(semanticContext instanceof SemanticContext.AND
+                        ? SEMANTIC_CONTEXT_TYPE_AND
+                        : SEMANTIC_CONTEXT_TYPE_OR);
+                dataOutputStream.writeInt(operands.length);
+                for (SemanticContext operand : operands) {
+                    writeSemanticContext(operand);
+                }
+            } else {
+                dataOutputStream.writeByte(SEMANTIC_CONTEXT_TYPE_NONE);
+            }
+        }
+
+        private void writeState(DFAState state) throws IOException {
+            ATNConfigSet configs = state.configs;
+            dataOutputStream.writeInt(state.stateNumber);
+            if (!lexer) {
+                dataOutputStream.writeBoolean(configs.fullCtx);
+            }
+            List<ATNConfig> configList = configs.elements();
+            dataOutputStream.writeInt(configList.size());
+            for (ATNConfig config : configList) {
+                writeConfig(config);
+            }
+            dataOutputStream.writeInt(configs.uniqueAlt);
+            dataOutputStream.writeBoolean(configs.hasSemanticContext);
+            dataOutputStream.writeBoolean(configs.dipsIntoOuterContext);
+            BitSet conflictingAlts = null;
+            if (FIELD_CONFLICTING_ALTS != null) {
+                try {
+                    conflictingAlts = (BitSet) FIELD_CONFLICTING_ALTS.get(configs);
+                } catch (IllegalAccessException ignored) {
+                }
+            }
+            dataOutputStream.writeBoolean(conflictingAlts != null);
+            if (conflictingAlts != null) {
+                byte[] bytes = conflictingAlts.toByteArray();
+                dataOutputStream.writeInt(bytes.length);
+                dataOutputStream.write(bytes);
+            }
+            dataOutputStream.writeBoolean(state.isAcceptState);
+            dataOutputStream.writeInt(state.prediction);
+            dataOutputStream.writeBoolean(state.requiresFullContext);
+            if (lexer) {
+                writeLexerActionExecutor(state.lexerActionExecutor);
+            }
+            DFAState.PredPrediction[] predicates = state.predicates;
+            if (predicates == null) {
+                dataOutputStream.writeInt(-1);
+            } else {
+                dataOutputStream.writeInt(predicates.length);
+                for (DFAState.PredPrediction predPrediction : predicates) {
+                    writeSemanticContext(predPrediction.pred);
+                    dataOutputStream.writeInt(predPrediction.alt);
+                }
+            }
+        }
+    }
+}
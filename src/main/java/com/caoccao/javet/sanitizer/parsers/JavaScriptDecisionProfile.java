@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerErrorContext;
+
+/**
+ * The type JavaScript decision profile is an immutable view of the prediction statistics
+ * of one grammar decision in {@link com.caoccao.javet.sanitizer.antlr.JavaScriptParser} during a parse.
+ *
+ * @since 0.4.0
+ */
+public final class JavaScriptDecisionProfile {
+    private final int ambiguityCount;
+    private final int contextSensitivityCount;
+    private final int decision;
+    private final int errorCount;
+    private final long invocationCount;
+    private final long llATNTransitionCount;
+    private final long llFallbackCount;
+    private final long llMaxLook;
+    private final long llTotalLook;
+    private final JavetSanitizerErrorContext maxLookContext;
+    private final long predictionTimeNanos;
+    private final int ruleIndex;
+    private final String ruleName;
+    private final long sllATNTransitionCount;
+    private final long sllMaxLook;
+    private final long sllTotalLook;
+
+    JavaScriptDecisionProfile(
+            int decision,
+            int ruleIndex,
+            String ruleName,
+            long invocationCount,
+            long predictionTimeNanos,
+            long sllTotalLook,
+            long sllMaxLook,
+            long sllATNTransitionCount,
+            long llFallbackCount,
+            long llTotalLook,
+            long llMaxLook,
+            long llATNTransitionCount,
+            int ambiguityCount,
+            int contextSensitivityCount,
+            int errorCount,
+            JavetSanitizerErrorContext maxLookContext) {
+        this.ambiguityCount = ambiguityCount;
+        this.contextSensitivityCount = contextSensitivityCount;
+        this.decision = decision;
+        this.errorCount = errorCount;
+        this.invocationCount = invocationCount;
+        this.llATNTransitionCount = llATNTransitionCount;
+        this.llFallbackCount = llFallbackCount;
+        this.llMaxLook = llMaxLook;
+        this.llTotalLook = llTotalLook;
+        this.maxLookContext = maxLookContext;
+        this.predictionTimeNanos = predictionTimeNanos;
+        this.ruleIndex = ruleIndex;
+        this.ruleName = ruleName;
+        this.sllATNTransitionCount = sllATNTransitionCount;
+        this.sllMaxLook = sllMaxLook;
+        this.sllTotalLook = sllTotalLook;
+    }
+
+    /**
+     * Gets the number of ambiguities reported by the full context prediction.
+     *
+     * @return the ambiguity count
+     * @since 0.4.0
+     */
+    public int getAmbiguityCount() {
+        return ambiguityCount;
+    }
+
+    /**
+     * Gets the number of predictions that SLL could not resolve but full context resolved.
+     *
+     * @return the context sensitivity count
+     * @since 0.4.0
+     */
+    public int getContextSensitivityCount() {
+        return contextSensitivityCount;
+    }
+
+    /**
+     * Gets the decision number in the ATN of the parser.
+     *
+     * @return the decision
+     * @since 0.4.0
+     */
+    public int getDecision() {
+        return decision;
+    }
+
+    /**
+     * Gets the number of syntax errors reported by the prediction.
+     *
+     * @return the error count
+     * @since 0.4.0
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Gets the number of predictions of the decision.
+     *
+     * @return the invocation count
+     * @since 0.4.0
+     */
+    public long getInvocationCount() {
+        return invocationCount;
+    }
+
+    /**
+     * Gets the number of ATN transitions computed by the full context prediction, i.e. the DFA misses.
+     *
+     * @return the LL ATN transition count
+     * @since 0.4.0
+     */
+    public long getLLATNTransitionCount() {
+        return llATNTransitionCount;
+    }
+
+    /**
+     * Gets the number of predictions that fell back from SLL to the full context prediction.
+     *
+     * @return the LL fallback count
+     * @since 0.4.0
+     */
+    public long getLLFallbackCount() {
+        return llFallbackCount;
+    }
+
+    /**
+     * Gets the max lookahead in tokens of the full context prediction.
+     *
+     * @return the LL max look
+     * @since 0.4.0
+     */
+    public long getLLMaxLook() {
+        return llMaxLook;
+    }
+
+    /**
+     * Gets the total lookahead in tokens of the full context prediction.
+     *
+     * @return the LL total look
+     * @since 0.4.0
+     */
+    public long getLLTotalLook() {
+        return llTotalLook;
+    }
+
+    /**
+     * Gets the source code range of the prediction with the max lookahead.
+     *
+     * @return the max look context, null if it is not available
+     * @since 0.4.0
+     */
+    public JavetSanitizerErrorContext getMaxLookContext() {
+        return maxLookContext;
+    }
+
+    /**
+     * Gets the time spent in the prediction of the decision in nanoseconds.
+     *
+     * @return the prediction time in nanoseconds
+     * @since 0.4.0
+     */
+    public long getPredictionTimeNanos() {
+        return predictionTimeNanos;
+    }
+
+    /**
+     * Gets the rule index in {@link com.caoccao.javet.sanitizer.antlr.JavaScriptParser#ruleNames}.
+     *
+     * @return the rule index
+     * @since 0.4.0
+     */
+    public int getRuleIndex() {
+        return ruleIndex;
+    }
+
+    /**
+     * Gets the name of the rule the decision belongs to, e.g. singleExpression.
+     *
+     * @return the rule name
+     * @since 0.4.0
+     */
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    /**
+     * Gets the number of ATN transitions computed by the SLL prediction, i.e. the DFA misses.
+     *
+     * @return the SLL ATN transition count
+     * @since 0.4.0
+     */
+    public long getSLLATNTransitionCount() {
+        return sllATNTransitionCount;
+    }
+
+    /**
+     * Gets the max lookahead in tokens of the SLL prediction.
+     *
+     * @return the SLL max look
+     * @since 0.4.0
+     */
+    public long getSLLMaxLook() {
+        return sllMaxLook;
+    }
+
+    /**
+     * Gets the total lookahead in tokens of the SLL prediction.
+     *
+     * @return the SLL total look
+     * @since 0.4.0
+     */
+    public long getSLLTotalLook() {
+        return sllTotalLook;
+    }
+
+    @Override
+    public String toString() {
+        return "JavaScriptDecisionProfile{" +
+                "decision=" + decision +
+                ", ruleName=" + ruleName +
+                ", invocationCount=" + invocationCount +
+                ", predictionTimeNanos=" + predictionTimeNanos +
+                ", sllTotalLook=" + sllTotalLook +
+                ", sllMaxLook=" + sllMaxLook +
+                ", sllATNTransitionCount=" + sllATNTransitionCount +
+                ", llFallbackCount=" + llFallbackCount +
+                ", llTotalLook=" + llTotalLook +
+                ", llMaxLook=" + llMaxLook +
+                ", llATNTransitionCount=" + llATNTransitionCount +
+                ", ambiguityCount=" + ambiguityCount +
+                ", contextSensitivityCount=" + contextSensitivityCount +
+                ", errorCount=" + errorCount +
+                '}';
+    }
+}
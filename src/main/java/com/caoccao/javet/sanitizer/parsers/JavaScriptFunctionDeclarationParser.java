@@ -18,6 +18,9 @@ package com.caoccao.javet.sanitizer.parsers;
 
 import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerRejection;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
 /**
@@ -54,7 +57,20 @@ public class JavaScriptFunctionDeclarationParser
      * @since 0.1.0
      */
     public JavaScriptFunctionDeclarationParser(String codeString) throws JavetSanitizerException {
-        this(null, codeString);
+        this(JavetSanitizerOption.Default, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript function declaration parser.
+     *
+     * @param option     the option
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptFunctionDeclarationParser(JavetSanitizerOption option, String codeString)
+            throws JavetSanitizerException {
+        this(option, null, codeString);
     }
 
     /**
@@ -68,7 +84,55 @@ public class JavaScriptFunctionDeclarationParser
     public JavaScriptFunctionDeclarationParser(
             JavaScriptParser.FunctionDeclarationContext context,
             String codeString) throws JavetSanitizerException {
-        super(context, codeString);
+        this(JavetSanitizerOption.Default, context, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript function declaration parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptFunctionDeclarationParser(
+            JavetSanitizerOption option,
+            JavaScriptParser.FunctionDeclarationContext context,
+            String codeString) throws JavetSanitizerException {
+        super(option, context, codeString);
+        formalParameterListContext = null;
+        functionBodyContext = null;
+        identifierContext = null;
+    }
+
+    /**
+     * Instantiates a new JavaScript function declaration parser.
+     *
+     * @param option     the option
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptFunctionDeclarationParser(JavetSanitizerOption option, CharStream charStream)
+            throws JavetSanitizerException {
+        this(option, null, charStream);
+    }
+
+    /**
+     * Instantiates a new JavaScript function declaration parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptFunctionDeclarationParser(
+            JavetSanitizerOption option,
+            JavaScriptParser.FunctionDeclarationContext context,
+            CharStream charStream) throws JavetSanitizerException {
+        super(option, context, charStream);
         formalParameterListContext = null;
         functionBodyContext = null;
         identifierContext = null;
@@ -124,7 +188,7 @@ public class JavaScriptFunctionDeclarationParser
     protected JavaScriptFunctionDeclarationParser initializeContext() throws JavetSanitizerException {
         super.initializeContext();
         if (context == null) {
-            context = javaScriptParser.functionDeclaration();
+            context = parseContext(JavaScriptParser::functionDeclaration);
         }
         return this;
     }
@@ -152,8 +216,8 @@ public class JavaScriptFunctionDeclarationParser
             actualCount = formalParameterListContext.formalParameterArg().size();
         }
         if (actualCount != expectedCount) {
-            throw JavetSanitizerException.argumentCountMismatch(expectedCount, actualCount)
-                    .setContext(toJavaScriptParserContext(context));
+            throw reject(new JavetSanitizerRejection().argumentCountMismatch(expectedCount, actualCount)
+                    .setContext(toJavaScriptParserContext(context)));
         }
         return this;
     }
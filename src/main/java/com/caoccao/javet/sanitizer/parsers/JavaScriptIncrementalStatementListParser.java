@@ -0,0 +1,603 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.listeners.JavetSanitizerListener;
+import com.caoccao.javet.sanitizer.listeners.JavetSanitizerStreamingListener;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.ATNState;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The type JavaScript incremental statement list parser re-checks an edited script
+ * at the granularity of the top-level statements.
+ * <p>
+ * The whole source is lexed again and the tokens are compared with the tokens of the previous parser.
+ * The top-level statements in the unchanged head and tail of the token stream that passed the previous check
+ * are reused. Only the statements in between are parsed and walked.
+ * The reused parse trees are re-pointed at the new tokens, so the positions of the error contexts stay correct.
+ * <p>
+ * The prediction of a statement may read tokens before its start or after its stop,
+ * so the range of the tokens read while parsing each top-level statement is recorded.
+ * A statement in the head is only reused if the tokens it read are all in the common prefix,
+ * and a statement in the tail is only reused if the tokens it read are all in the common suffix.
+ * A reused statement at the edge of the changed range must also end with a semicolon or be a block,
+ * a function declaration, a class declaration, a switch statement or a try statement.
+ * If the changed range fails to parse on its own, or its parse read past the range,
+ * the whole source or the rest of the source is parsed again
+ * so that the result is the same as that of {@link JavaScriptStatementListParser}.
+ * <p>
+ * Statements are only reused if the option is sealed and equal to the option of the previous parser.
+ * <p>
+ * In streaming mode the changed range is parsed without the streaming listener until the range is settled,
+ * and then parsed again with the streaming listener, so that a violation is reported as
+ * {@link JavaScriptStatementListParser} reports it.
+ * <p>
+ * The listener is assumed to judge each top-level statement on its own.
+ * The parser is not thread-safe and the parse trees of the previous parser are taken over by the new parser.
+ *
+ * @since 0.4.0
+ */
+public class JavaScriptIncrementalStatementListParser extends JavaScriptStatementListParser {
+    /**
+     * The Entries of the top-level statements.
+     *
+     * @since 0.4.0
+     */
+    protected List<StatementEntry> entries;
+    private List<int[]> lookaheadRanges;
+    /**
+     * The Previous parser. It is released after the context is initialized.
+     *
+     * @since 0.4.0
+     */
+    protected JavaScriptIncrementalStatementListParser previousParser;
+    /**
+     * The count of the re-parsed top-level statements.
+     *
+     * @since 0.4.0
+     */
+    protected int reparsedStatementCount;
+    /**
+     * The count of the reused top-level statements.
+     *
+     * @since 0.4.0
+     */
+    protected int reusedStatementCount;
+    /**
+     * The Tokens of all channels including EOF.
+     *
+     * @since 0.4.0
+     */
+    protected List<Token> tokens;
+
+    /**
+     * Instantiates a new JavaScript incremental statement list parser.
+     *
+     * @param option         the option
+     * @param codeString     the code string
+     * @param previousParser the previous parser, null if there is none
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptIncrementalStatementListParser(
+            JavetSanitizerOption option,
+            String codeString,
+            JavaScriptIncrementalStatementListParser previousParser) throws JavetSanitizerException {
+        super(option, codeString);
+        init(previousParser);
+    }
+
+    /**
+     * Instantiates a new JavaScript incremental statement list parser.
+     *
+     * @param option         the option
+     * @param charStream     the char stream
+     * @param previousParser the previous parser, null if there is none
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptIncrementalStatementListParser(
+            JavetSanitizerOption option,
+            CharStream charStream,
+            JavaScriptIncrementalStatementListParser previousParser) throws JavetSanitizerException {
+        super(option, charStream);
+        init(previousParser);
+    }
+
+    private static boolean isContinuation(Token token) {
+        final int type = token.getType();
+        return type == JavaScriptLexer.Else || type == JavaScriptLexer.Catch || type == JavaScriptLexer.Finally;
+    }
+
+    private static boolean isSafeEnd(JavaScriptParser.StatementContext statementContext) {
+        final int stopType = statementContext.getStop().getType();
+        if (stopType == JavaScriptLexer.SemiColon) {
+            return true;
+        }
+        if (stopType == JavaScriptLexer.CloseBrace && statementContext.getChildCount() == 1) {
+            ParseTree child = statementContext.getChild(0);
+            return child instanceof JavaScriptParser.BlockContext
+                    || child instanceof JavaScriptParser.FunctionDeclarationContext
+                    || child instanceof JavaScriptParser.ClassDeclarationContext
+                    || child instanceof JavaScriptParser.SwitchStatementContext
+                    || child instanceof JavaScriptParser.TryStatementContext;
+        }
+        return false;
+    }
+
+    private static boolean isSameToken(Token token1, Token token2) {
+        return token1.getType() == token2.getType()
+                && token1.getChannel() == token2.getChannel()
+                && token1.getText().equals(token2.getText());
+    }
+
+    private void addEntries(JavaScriptParser.StatementListContext statementListContext) {
+        List<JavaScriptParser.StatementContext> statementContexts = statementListContext.statement();
+        final int statementCount = statementContexts.size();
+        for (int i = 0; i < statementCount; ++i) {
+            // A statement without a recorded range is never reused.
+            int[] lookaheadRange = lookaheadRanges.size() == statementCount
+                    ? lookaheadRanges.get(i)
+                    : new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE};
+            entries.add(new StatementEntry(statementContexts.get(i), lookaheadRange[0], lookaheadRange[1]));
+        }
+        reparsedStatementCount += statementCount;
+    }
+
+    private JavaScriptParser.StatementListContext buildContext() {
+        JavaScriptParser.StatementListContext statementListContext =
+                new JavaScriptParser.StatementListContext(null, ATNState.INVALID_STATE_NUMBER);
+        for (StatementEntry entry : entries) {
+            entry.context.setParent(statementListContext);
+            statementListContext.addChild(entry.context);
+        }
+        statementListContext.start = entries.get(0).context.getStart();
+        statementListContext.stop = entries.get(entries.size() - 1).context.getStop();
+        return statementListContext;
+    }
+
+    /**
+     * Gets the count of the re-parsed top-level statements.
+     *
+     * @return the re-parsed statement count
+     * @since 0.4.0
+     */
+    public int getReparsedStatementCount() {
+        return reparsedStatementCount;
+    }
+
+    /**
+     * Gets the count of the reused top-level statements.
+     *
+     * @return the reused statement count
+     * @since 0.4.0
+     */
+    public int getReusedStatementCount() {
+        return reusedStatementCount;
+    }
+
+    private void init(JavaScriptIncrementalStatementListParser previousParser) {
+        entries = new ArrayList<>();
+        lookaheadRanges = new ArrayList<>();
+        this.previousParser = previousParser;
+        reparsedStatementCount = 0;
+        reusedStatementCount = 0;
+        tokens = null;
+    }
+
+    @Override
+    protected JavaScriptStatementListParser initializeContext() throws JavetSanitizerException {
+        try {
+            return super.initializeContext();
+        } finally {
+            previousParser = null;
+        }
+    }
+
+    private JavaScriptParser.StatementListContext parseAll(
+            Function<JavaScriptParser, JavaScriptParser.StatementListContext> rule) {
+        entries.clear();
+        reparsedStatementCount = 0;
+        reusedStatementCount = 0;
+        JavaScriptParser.StatementListContext statementListContext = parseTokens(rule, tokens, 0);
+        addEntries(statementListContext);
+        return statementListContext;
+    }
+
+    @Override
+    protected JavaScriptParser.StatementListContext parseContext(
+            Function<JavaScriptParser, JavaScriptParser.StatementListContext> rule) {
+        BufferedTokenStream bufferedTokenStream = (BufferedTokenStream) tokenStream;
+        bufferedTokenStream.fill();
+        tokens = new ArrayList<>(bufferedTokenStream.getTokens());
+        if (previousParser == null
+                || previousParser.tokens == null
+                || previousParser.entries.isEmpty()
+                || !option.isSealed()
+                || !option.equals(previousParser.option)) {
+            return parseAll(rule);
+        }
+        final List<Token> previousTokens = previousParser.tokens;
+        final List<StatementEntry> previousEntries = previousParser.entries;
+        final int previousTokenCount = previousTokens.size();
+        final int tokenCount = tokens.size();
+        final int maxCommonCount = Math.min(previousTokenCount, tokenCount);
+        int commonPrefixCount = 0;
+        while (commonPrefixCount < maxCommonCount
+                && isSameToken(previousTokens.get(commonPrefixCount), tokens.get(commonPrefixCount))) {
+            ++commonPrefixCount;
+        }
+        int commonSuffixCount = 0;
+        while (commonSuffixCount < maxCommonCount - commonPrefixCount
+                && isSameToken(
+                previousTokens.get(previousTokenCount - 1 - commonSuffixCount),
+                tokens.get(tokenCount - 1 - commonSuffixCount))) {
+            ++commonSuffixCount;
+        }
+        // The head: the leading statements that passed and only read tokens in the common prefix.
+        int prefixEntryCount = 0;
+        while (prefixEntryCount < previousEntries.size()) {
+            StatementEntry entry = previousEntries.get(prefixEntryCount);
+            if (!entry.passed || entry.lookaheadStopTokenIndex >= commonPrefixCount) {
+                break;
+            }
+            ++prefixEntryCount;
+        }
+        while (prefixEntryCount > 0) {
+            StatementEntry entry = previousEntries.get(prefixEntryCount - 1);
+            if (isSafeEnd(entry.context) && !isContinuation(getNextToken(entry.getStopTokenIndex()))) {
+                break;
+            }
+            --prefixEntryCount;
+        }
+        final int middleStartTokenIndex = prefixEntryCount == 0
+                ? 0
+                : previousEntries.get(prefixEntryCount - 1).getStopTokenIndex() + 1;
+        // The tail: the trailing statements that passed and only read tokens in the common suffix.
+        final int delta = tokenCount - previousTokenCount;
+        int suffixEntryCount = 0;
+        while (suffixEntryCount < previousEntries.size() - prefixEntryCount) {
+            StatementEntry entry = previousEntries.get(previousEntries.size() - 1 - suffixEntryCount);
+            if (!entry.passed
+                    || entry.lookaheadStartTokenIndex < previousTokenCount - commonSuffixCount
+                    || entry.getStartTokenIndex() + delta < middleStartTokenIndex) {
+                break;
+            }
+            ++suffixEntryCount;
+        }
+        int middleEndTokenIndex = suffixEntryCount == 0
+                ? tokenCount - 1
+                : previousEntries.get(previousEntries.size() - suffixEntryCount).getStartTokenIndex() + delta;
+        JavaScriptParser.StatementListContext middleContext = null;
+        boolean rangeParsed = false;
+        // The range may be widened or given up, so the streaming listener waits until the range is settled.
+        final JavetSanitizerStreamingListener rangeStreamingListener = streamingListener;
+        streamingListener = null;
+        try {
+            middleContext = parseRange(rule, middleStartTokenIndex, middleEndTokenIndex);
+            if (middleContext != null && suffixEntryCount > 0) {
+                List<JavaScriptParser.StatementContext> statementContexts = middleContext.statement();
+                if (!isSafeEnd(statementContexts.get(statementContexts.size() - 1))
+                        || getLookaheadStopTokenIndex() >= middleEndTokenIndex) {
+                    // The changed statements might extend into the tail or their prediction read the end of the range.
+                    suffixEntryCount = 0;
+                    middleEndTokenIndex = tokenCount - 1;
+                    middleContext = parseRange(rule, middleStartTokenIndex, middleEndTokenIndex);
+                }
+            }
+            rangeParsed = true;
+        } catch (ParseCancellationException ignored) {
+        } finally {
+            streamingListener = rangeStreamingListener;
+        }
+        if (!rangeParsed) {
+            return parseAll(rule);
+        }
+        if (middleContext != null && getLookaheadStartTokenIndex() < middleStartTokenIndex) {
+            // The prediction looked behind the start of the range which is not visible to the range parser.
+            return parseAll(rule);
+        }
+        if (middleContext != null && streamingListener != null) {
+            // The settled range is parsed again with the streaming listener.
+            middleContext = parseRange(rule, middleStartTokenIndex, middleEndTokenIndex);
+        }
+        for (int i = 0; i < prefixEntryCount; ++i) {
+            entries.add(previousEntries.get(i).rebind(tokens, 0));
+        }
+        if (middleContext != null) {
+            rebind(middleContext, tokens, middleStartTokenIndex);
+            addEntries(middleContext);
+        }
+        for (int i = previousEntries.size() - suffixEntryCount; i < previousEntries.size(); ++i) {
+            entries.add(previousEntries.get(i).rebind(tokens, delta));
+        }
+        reusedStatementCount = prefixEntryCount + suffixEntryCount;
+        if (entries.isEmpty()) {
+            return parseAll(rule);
+        }
+        return buildContext();
+    }
+
+    private int getLookaheadStartTokenIndex() {
+        int lookaheadStartTokenIndex = Integer.MAX_VALUE;
+        for (int[] lookaheadRange : lookaheadRanges) {
+            lookaheadStartTokenIndex = Math.min(lookaheadStartTokenIndex, lookaheadRange[0]);
+        }
+        return lookaheadStartTokenIndex;
+    }
+
+    private int getLookaheadStopTokenIndex() {
+        int lookaheadStopTokenIndex = -1;
+        for (int[] lookaheadRange : lookaheadRanges) {
+            lookaheadStopTokenIndex = Math.max(lookaheadStopTokenIndex, lookaheadRange[1]);
+        }
+        return lookaheadStopTokenIndex;
+    }
+
+    private Token getNextToken(int tokenIndex) {
+        for (int i = tokenIndex + 1; i < tokens.size(); ++i) {
+            Token token = tokens.get(i);
+            if (token.getChannel() == Token.DEFAULT_CHANNEL) {
+                return token;
+            }
+        }
+        return tokens.get(tokens.size() - 1);
+    }
+
+    private JavaScriptParser.StatementListContext parseRange(
+            Function<JavaScriptParser, JavaScriptParser.StatementListContext> rule,
+            int startTokenIndex,
+            int endTokenIndex) {
+        List<Token> rangeTokens = new ArrayList<>(endTokenIndex - startTokenIndex);
+        boolean empty = true;
+        for (int i = startTokenIndex; i < endTokenIndex; ++i) {
+            Token token = tokens.get(i);
+            if (token.getChannel() == Token.DEFAULT_CHANNEL) {
+                empty = false;
+            }
+            // The token is copied because the token stream re-assigns the token index.
+            rangeTokens.add(new CommonToken(token));
+        }
+        if (empty) {
+            return null;
+        }
+        return parseTokens(rule, rangeTokens, startTokenIndex);
+    }
+
+    private JavaScriptParser.StatementListContext parseTokens(
+            Function<JavaScriptParser, JavaScriptParser.StatementListContext> rule,
+            List<Token> rangeTokens,
+            int offset) {
+        LookaheadTrackingTokenStream lookaheadTrackingTokenStream = new LookaheadTrackingTokenStream(rangeTokens);
+        setParserTokenStream(lookaheadTrackingTokenStream);
+        lookaheadRanges.clear();
+        javaScriptParser.addParseListener(new LookaheadRecorder(lookaheadTrackingTokenStream, lookaheadRanges, offset));
+        return super.parseContext(rule);
+    }
+
+    private void setParserTokenStream(TokenStream tokenStream) {
+        javaScriptParser.removeParseListeners();
+        javaScriptParser.setTokenStream(tokenStream);
+        javaScriptParser.setState(ATNState.INVALID_STATE_NUMBER);
+    }
+
+    @Override
+    public <Listener extends JavetSanitizerListener> JavaScriptStatementListParser walk(Listener listener)
+            throws JavetSanitizerException {
+        final long startTime = System.nanoTime();
+        ParseTreeWalker parseTreeWalker = new ParseTreeWalker();
+        try {
+            for (StatementEntry entry : entries) {
+                if (!entry.passed) {
+                    parseTreeWalker.walk(listener, entry.context);
+                    entry.passed = true;
+                }
+            }
+        } catch (Throwable t) {
+            throw reject(toJavetSanitizerRejection(listener, t));
+        } finally {
+            walkDurationNanos = System.nanoTime() - startTime;
+        }
+        return this;
+    }
+
+    @Override
+    public JavaScriptStatementListParser walk(
+            ForkJoinPool forkJoinPool,
+            Predicate<JavaScriptParser.StatementContext> statementFilter)
+            throws JavetSanitizerException {
+        final Set<JavaScriptParser.StatementContext> passedStatementContexts =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+        for (StatementEntry entry : entries) {
+            if (entry.passed) {
+                passedStatementContexts.add(entry.context);
+            }
+        }
+        super.walk(forkJoinPool, statementContext ->
+                !passedStatementContexts.contains(statementContext) && statementFilter.test(statementContext));
+        for (StatementEntry entry : entries) {
+            entry.passed = true;
+        }
+        return this;
+    }
+
+    @Override
+    public <Listener extends JavetSanitizerListener> JavaScriptStatementListParser parseAndWalk(Listener listener)
+            throws JavetSanitizerException {
+        final boolean streaming = context == null && option.isStreamingEnabled();
+        super.parseAndWalk(listener);
+        if (streaming) {
+            // The streaming listener has checked the re-parsed statements during the parse.
+            for (StatementEntry entry : entries) {
+                entry.passed = true;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * The type Statement entry keeps a top-level statement and whether it passed the check.
+     *
+     * @since 0.4.0
+     */
+    protected static final class StatementEntry {
+        private final JavaScriptParser.StatementContext context;
+        private int lookaheadStartTokenIndex;
+        private int lookaheadStopTokenIndex;
+        private boolean passed;
+
+        private StatementEntry(
+                JavaScriptParser.StatementContext context,
+                int lookaheadStartTokenIndex,
+                int lookaheadStopTokenIndex) {
+            this.context = context;
+            this.lookaheadStartTokenIndex = lookaheadStartTokenIndex;
+            this.lookaheadStopTokenIndex = lookaheadStopTokenIndex;
+            passed = false;
+        }
+
+        private int getStartTokenIndex() {
+            return context.getStart().getTokenIndex();
+        }
+
+        private int getStopTokenIndex() {
+            return context.getStop().getTokenIndex();
+        }
+
+        private StatementEntry rebind(List<Token> tokens, int offset) {
+            JavaScriptIncrementalStatementListParser.rebind(context, tokens, offset);
+            lookaheadStartTokenIndex += offset;
+            lookaheadStopTokenIndex += offset;
+            return this;
+        }
+    }
+
+    /**
+     * The type Lookahead recorder records the token index range read while parsing each top-level statement.
+     * The range of a statement starts right after the previous top-level statement is exited,
+     * so it includes the prediction that enters the statement.
+     */
+    private static final class LookaheadRecorder implements ParseTreeListener {
+        private final List<int[]> lookaheadRanges;
+        private final LookaheadTrackingTokenStream lookaheadTrackingTokenStream;
+        private final int offset;
+
+        private LookaheadRecorder(
+                LookaheadTrackingTokenStream lookaheadTrackingTokenStream,
+                List<int[]> lookaheadRanges,
+                int offset) {
+            this.lookaheadRanges = lookaheadRanges;
+            this.lookaheadTrackingTokenStream = lookaheadTrackingTokenStream;
+            this.offset = offset;
+        }
+
+        @Override
+        public void enterEveryRule(ParserRuleContext ctx) {
+            if (ctx.getParent() == null) {
+                // The parse starts over, e.g. in the LL stage of the two-stage prediction.
+                lookaheadRanges.clear();
+                lookaheadTrackingTokenStream.resetLookahead();
+            }
+        }
+
+        @Override
+        public void exitEveryRule(ParserRuleContext ctx) {
+            if (ctx instanceof JavaScriptParser.StatementContext
+                    && ctx.getParent() != null
+                    && ctx.getParent().getParent() == null) {
+                final int minTokenIndex = lookaheadTrackingTokenStream.minTokenIndex;
+                lookaheadRanges.add(new int[]{
+                        minTokenIndex < 0 ? Integer.MIN_VALUE : minTokenIndex + offset,
+                        lookaheadTrackingTokenStream.maxTokenIndex + offset});
+                lookaheadTrackingTokenStream.resetLookahead();
+            }
+        }
+
+        @Override
+        public void visitErrorNode(ErrorNode node) {
+        }
+
+        @Override
+        public void visitTerminal(TerminalNode node) {
+        }
+    }
+
+    /**
+     * The type Lookahead tracking token stream tracks the lowest and the highest token index read by the parser.
+     * A read before the first token is tracked as index -1.
+     */
+    private static final class LookaheadTrackingTokenStream extends CommonTokenStream {
+        private int maxTokenIndex;
+        private int minTokenIndex;
+
+        private LookaheadTrackingTokenStream(List<Token> tokens) {
+            super(new ListTokenSource(tokens));
+            resetLookahead();
+        }
+
+        @Override
+        public Token LT(int k) {
+            Token token = super.LT(k);
+            if (token != null) {
+                track(token.getTokenIndex());
+            } else if (k < 0) {
+                track(-1);
+            }
+            return token;
+        }
+
+        @Override
+        public Token get(int i) {
+            Token token = super.get(i);
+            track(i);
+            return token;
+        }
+
+        private void resetLookahead() {
+            maxTokenIndex = -1;
+            minTokenIndex = Integer.MAX_VALUE;
+        }
+
+        private void track(int tokenIndex) {
+            if (tokenIndex < minTokenIndex) {
+                minTokenIndex = tokenIndex;
+            }
+            if (tokenIndex > maxTokenIndex) {
+                maxTokenIndex = tokenIndex;
+            }
+        }
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerLimitException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.ATNState;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * The type JavaScript parallel statement list parser splits a large script into chunks of top-level statements
+ * and parses the chunks in parallel on a fork-join pool.
+ * <p>
+ * The whole source is lexed once. The default channel tokens are scanned with the depth of the parentheses,
+ * the brackets, the braces and the template expressions. A chunk ends at a top-level semicolon,
+ * or at a top-level closing brace followed by a line terminator and a keyword that starts a declaration
+ * or a statement, so that automatic semicolon insertion happens at the same place as in the whole parse.
+ * No chunk ends before an else, catch, finally or while.
+ * <p>
+ * Each chunk is parsed by the parser of {@link JavaScriptParserPool} of the worker thread.
+ * The parse trees are re-pointed at the tokens of the whole source, so the positions of the error contexts
+ * stay correct. If any chunk fails to parse or leaves tokens unparsed, or streaming or profiling is enabled,
+ * the whole source is parsed in the calling thread so that the result is the same as
+ * {@link JavaScriptStatementListParser}. The chunk parsers share the limits and the deadline of the parse.
+ *
+ * @since 0.4.0
+ */
+public class JavaScriptParallelStatementListParser extends JavaScriptStatementListParser {
+    /**
+     * The constant DEFAULT_MIN_CHUNK_TOKEN_COUNT.
+     *
+     * @since 0.4.0
+     */
+    public static final int DEFAULT_MIN_CHUNK_TOKEN_COUNT = 4096;
+    /**
+     * The constant TASKS_PER_THREAD is the number of chunks per thread
+     * so that the chunks of uneven sizes are balanced among the threads.
+     *
+     * @since 0.4.0
+     */
+    public static final int TASKS_PER_THREAD = 4;
+    /**
+     * The Chunk count of the last parse. It is 1 if the source is parsed as a whole.
+     *
+     * @since 0.4.0
+     */
+    protected int chunkCount;
+    /**
+     * The Fork join pool.
+     *
+     * @since 0.4.0
+     */
+    protected ForkJoinPool forkJoinPool;
+    /**
+     * The Min chunk token count.
+     *
+     * @since 0.4.0
+     */
+    protected int minChunkTokenCount;
+
+    /**
+     * Instantiates a new JavaScript parallel statement list parser.
+     *
+     * @param option       the option
+     * @param codeString   the code string
+     * @param forkJoinPool the fork join pool
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptParallelStatementListParser(
+            JavetSanitizerOption option,
+            String codeString,
+            ForkJoinPool forkJoinPool) throws JavetSanitizerException {
+        this(option, codeString, forkJoinPool, DEFAULT_MIN_CHUNK_TOKEN_COUNT);
+    }
+
+    /**
+     * Instantiates a new JavaScript parallel statement list parser.
+     *
+     * @param option             the option
+     * @param codeString         the code string
+     * @param forkJoinPool       the fork join pool
+     * @param minChunkTokenCount the min chunk token count
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptParallelStatementListParser(
+            JavetSanitizerOption option,
+            String codeString,
+            ForkJoinPool forkJoinPool,
+            int minChunkTokenCount) throws JavetSanitizerException {
+        super(option, codeString);
+        init(forkJoinPool, minChunkTokenCount);
+    }
+
+    /**
+     * Instantiates a new JavaScript parallel statement list parser.
+     *
+     * @param option       the option
+     * @param charStream   the char stream
+     * @param forkJoinPool the fork join pool
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptParallelStatementListParser(
+            JavetSanitizerOption option,
+            CharStream charStream,
+            ForkJoinPool forkJoinPool) throws JavetSanitizerException {
+        this(option, charStream, forkJoinPool, DEFAULT_MIN_CHUNK_TOKEN_COUNT);
+    }
+
+    /**
+     * Instantiates a new JavaScript parallel statement list parser.
+     *
+     * @param option             the option
+     * @param charStream         the char stream
+     * @param forkJoinPool       the fork join pool
+     * @param minChunkTokenCount the min chunk token count
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptParallelStatementListParser(
+            JavetSanitizerOption option,
+            CharStream charStream,
+            ForkJoinPool forkJoinPool,
+            int minChunkTokenCount) throws JavetSanitizerException {
+        super(option, charStream);
+        init(forkJoinPool, minChunkTokenCount);
+    }
+
+    private static boolean isChunkEnd(List<Token> tokens, int tokenIndex, Token nextToken) {
+        final int nextType = nextToken.getType();
+        if (nextType == Token.EOF
+                || nextType == JavaScriptLexer.Else
+                || nextType == JavaScriptLexer.Catch
+                || nextType == JavaScriptLexer.Finally
+                || nextType == JavaScriptLexer.While) {
+            return false;
+        }
+        final int type = tokens.get(tokenIndex).getType();
+        if (type == JavaScriptLexer.SemiColon) {
+            return true;
+        }
+        if (type != JavaScriptLexer.CloseBrace) {
+            return false;
+        }
+        switch (nextType) {
+            case JavaScriptLexer.Class:
+            case JavaScriptLexer.Const:
+            case JavaScriptLexer.Do:
+            case JavaScriptLexer.For:
+            case JavaScriptLexer.Function_:
+            case JavaScriptLexer.If:
+            case JavaScriptLexer.Switch:
+            case JavaScriptLexer.Throw:
+            case JavaScriptLexer.Try:
+            case JavaScriptLexer.Var:
+                break;
+            default:
+                return false;
+        }
+        for (int i = tokenIndex + 1; i < nextToken.getTokenIndex(); ++i) {
+            if (tokens.get(i).getType() == JavaScriptLexer.LineTerminator) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private JavaScriptParser.StatementListContext buildContext(
+            List<JavaScriptParser.StatementListContext> chunkContexts) {
+        JavaScriptParser.StatementListContext statementListContext =
+                new JavaScriptParser.StatementListContext(null, ATNState.INVALID_STATE_NUMBER);
+        for (JavaScriptParser.StatementListContext chunkContext : chunkContexts) {
+            for (JavaScriptParser.StatementContext statementContext : chunkContext.statement()) {
+                statementContext.setParent(statementListContext);
+                statementListContext.addChild(statementContext);
+            }
+        }
+        statementListContext.start = chunkContexts.get(0).getStart();
+        statementListContext.stop = chunkContexts.get(chunkContexts.size() - 1).getStop();
+        return statementListContext;
+    }
+
+    /**
+     * Gets the chunk count of the last parse.
+     *
+     * @return the chunk count
+     * @since 0.4.0
+     */
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Gets fork join pool.
+     *
+     * @return the fork join pool
+     * @since 0.4.0
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * Gets min chunk token count.
+     *
+     * @return the min chunk token count
+     * @since 0.4.0
+     */
+    public int getMinChunkTokenCount() {
+        return minChunkTokenCount;
+    }
+
+    private void init(ForkJoinPool forkJoinPool, int minChunkTokenCount) {
+        if (minChunkTokenCount < 1) {
+            throw new IllegalArgumentException("Min chunk token count must be positive.");
+        }
+        this.chunkCount = 0;
+        this.forkJoinPool = Objects.requireNonNull(forkJoinPool);
+        this.minChunkTokenCount = minChunkTokenCount;
+    }
+
+    private JavaScriptParser.StatementListContext parseChunk(
+            Function<JavaScriptParser, JavaScriptParser.StatementListContext> rule,
+            List<Token> chunkTokens,
+            AtomicBoolean llPredictionUsed) {
+        JavaScriptParserPair javaScriptParserPair = JavaScriptParserPool.borrow(charStream);
+        try {
+            JavaScriptParser chunkParser = javaScriptParserPair.getJavaScriptParser();
+            chunkParser.setTokenStream(new CommonTokenStream(new ListTokenSource(chunkTokens)));
+            chunkParser.setState(ATNState.INVALID_STATE_NUMBER);
+            if (parserGuard != null) {
+                JavaScriptParserGuard chunkParserGuard = parserGuard.fork();
+                javaScriptParserPair.setGuard(chunkParserGuard);
+                if (chunkParserGuard.isParseTreeDepthLimited()) {
+                    chunkParser.addParseListener(chunkParserGuard);
+                }
+            }
+            ParserATNSimulator parserATNSimulator = chunkParser.getInterpreter();
+            if (option.isTwoStagePredictionEnabled()) {
+                parserATNSimulator.setPredictionMode(PredictionMode.SLL);
+                try {
+                    return rule.apply(chunkParser);
+                } catch (ParseCancellationException ignored) {
+                    chunkParser.reset();
+                }
+            }
+            parserATNSimulator.setPredictionMode(PredictionMode.LL);
+            llPredictionUsed.set(true);
+            return rule.apply(chunkParser);
+        } finally {
+            JavaScriptParserPool.release(javaScriptParserPair);
+        }
+    }
+
+    @Override
+    protected JavaScriptParser.StatementListContext parseContext(
+            Function<JavaScriptParser, JavaScriptParser.StatementListContext> rule) {
+        chunkCount = 1;
+        // Streaming and profiling need a single parser that sees the whole input.
+        if (streamingListener != null || profilingEnabled) {
+            return super.parseContext(rule);
+        }
+        BufferedTokenStream bufferedTokenStream = (BufferedTokenStream) tokenStream;
+        bufferedTokenStream.fill();
+        final List<Token> tokens = new ArrayList<>(bufferedTokenStream.getTokens());
+        final List<Integer> chunkStartIndexes = split(tokens);
+        if (chunkStartIndexes.size() < 2) {
+            return super.parseContext(rule);
+        }
+        final int chunkSize = chunkStartIndexes.size();
+        final AtomicBoolean llPredictionUsed = new AtomicBoolean(false);
+        final List<ForkJoinTask<JavaScriptParser.StatementListContext>> tasks = new ArrayList<>(chunkSize);
+        for (int i = 0; i < chunkSize; ++i) {
+            final int startTokenIndex = chunkStartIndexes.get(i);
+            final int endTokenIndex = i + 1 < chunkSize ? chunkStartIndexes.get(i + 1) : tokens.size() - 1;
+            List<Token> chunkTokens = new ArrayList<>(endTokenIndex - startTokenIndex);
+            for (int j = startTokenIndex; j < endTokenIndex; ++j) {
+                // The token is copied because the token stream re-assigns the token index.
+                chunkTokens.add(new CommonToken(tokens.get(j)));
+            }
+            tasks.add(forkJoinPool.submit(new ParseChunkTask(rule, chunkTokens, llPredictionUsed)));
+        }
+        final List<JavaScriptParser.StatementListContext> chunkContexts = new ArrayList<>(chunkSize);
+        boolean failed = false;
+        JavetSanitizerLimitException limitException = null;
+        for (ForkJoinTask<JavaScriptParser.StatementListContext> task : tasks) {
+            if (failed) {
+                task.cancel(false);
+                continue;
+            }
+            try {
+                chunkContexts.add(task.join());
+            } catch (RuntimeException e) {
+                if (e instanceof JavetSanitizerLimitException) {
+                    limitException = (JavetSanitizerLimitException) e;
+                } else if (e.getCause() instanceof JavetSanitizerLimitException) {
+                    limitException = (JavetSanitizerLimitException) e.getCause();
+                }
+                failed = true;
+            }
+        }
+        if (limitException != null) {
+            // The limits apply to the whole source, so the whole parse is not attempted.
+            throw limitException;
+        }
+        for (int i = 0; !failed && i < chunkSize; ++i) {
+            JavaScriptParser.StatementListContext chunkContext = chunkContexts.get(i);
+            final int endTokenIndex = i + 1 < chunkSize ? chunkStartIndexes.get(i + 1) : tokens.size() - 1;
+            final int offset = chunkStartIndexes.get(i);
+            if (chunkContext.getStop() == null
+                    || chunkContext.getStop().getTokenIndex() + offset != getPreviousDefaultTokenIndex(tokens, endTokenIndex)) {
+                // The rule stopped before the end of the chunk.
+                failed = true;
+            } else {
+                rebind(chunkContext, tokens, offset);
+            }
+        }
+        if (failed) {
+            return super.parseContext(rule);
+        }
+        chunkCount = chunkSize;
+        predictionMode = llPredictionUsed.get() ? PredictionMode.LL : PredictionMode.SLL;
+        return buildContext(chunkContexts);
+    }
+
+    private int getPreviousDefaultTokenIndex(List<Token> tokens, int tokenIndex) {
+        for (int i = tokenIndex - 1; i >= 0; --i) {
+            if (tokens.get(i).getChannel() == Token.DEFAULT_CHANNEL) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Split the tokens into chunks of top-level statements.
+     *
+     * @param tokens the tokens of all channels including EOF
+     * @return the start token indexes of the chunks
+     * @since 0.4.0
+     */
+    protected List<Integer> split(List<Token> tokens) {
+        final List<Integer> chunkStartIndexes = new ArrayList<>();
+        chunkStartIndexes.add(0);
+        final int tokenCount = tokens.size();
+        final int chunkTokenCount = Math.max(
+                minChunkTokenCount, tokenCount / (forkJoinPool.getParallelism() * TASKS_PER_THREAD));
+        if (tokenCount < chunkTokenCount * 2) {
+            return chunkStartIndexes;
+        }
+        int chunkStartIndex = 0;
+        int depth = 0;
+        int tokenIndex = -1;
+        for (int i = 0; i < tokenCount; ++i) {
+            Token token = tokens.get(i);
+            if (token.getChannel() != Token.DEFAULT_CHANNEL) {
+                continue;
+            }
+            if (tokenIndex >= 0 && depth == 0 && tokenIndex + 1 - chunkStartIndex >= chunkTokenCount
+                    && tokenCount - 1 - tokenIndex >= chunkTokenCount
+                    && isChunkEnd(tokens, tokenIndex, token)) {
+                chunkStartIndex = tokenIndex + 1;
+                chunkStartIndexes.add(chunkStartIndex);
+            }
+            switch (token.getType()) {
+                case JavaScriptLexer.OpenBrace:
+                case JavaScriptLexer.OpenBracket:
+                case JavaScriptLexer.OpenParen:
+                case JavaScriptLexer.TemplateStringStartExpression:
+                    ++depth;
+                    break;
+                case JavaScriptLexer.CloseBrace:
+                case JavaScriptLexer.CloseBracket:
+                case JavaScriptLexer.CloseParen:
+                case JavaScriptLexer.TemplateCloseBrace:
+                    if (--depth < 0) {
+                        // The source is unbalanced and is left to the whole parse.
+                        chunkStartIndexes.subList(1, chunkStartIndexes.size()).clear();
+                        return chunkStartIndexes;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            tokenIndex = i;
+        }
+        return chunkStartIndexes;
+    }
+
+    private final class ParseChunkTask extends RecursiveTask<JavaScriptParser.StatementListContext> {
+        private static final long serialVersionUID = 1L;
+        private final List<Token> chunkTokens;
+        private final AtomicBoolean llPredictionUsed;
+        private final Function<JavaScriptParser, JavaScriptParser.StatementListContext> rule;
+
+        private ParseChunkTask(
+                Function<JavaScriptParser, JavaScriptParser.StatementListContext> rule,
+                List<Token> chunkTokens,
+                AtomicBoolean llPredictionUsed) {
+            this.chunkTokens = chunkTokens;
+            this.llPredictionUsed = llPredictionUsed;
+            this.rule = rule;
+        }
+
+        @Override
+        protected JavaScriptParser.StatementListContext compute() {
+            return parseChunk(rule, chunkTokens, llPredictionUsed);
+        }
+    }
+}
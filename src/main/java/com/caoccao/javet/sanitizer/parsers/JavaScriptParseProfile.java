@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerErrorContext;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerSourceIndex;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.atn.DecisionInfo;
+import org.antlr.v4.runtime.atn.LookaheadEventInfo;
+import org.antlr.v4.runtime.atn.ProfilingATNSimulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The type JavaScript parse profile is an immutable view of the prediction statistics of a parse
+ * collected by {@link ProfilingATNSimulator}.
+ * The decision profiles only cover the decisions that were predicted
+ * and are sorted by the prediction time in descending order.
+ *
+ * @since 0.4.0
+ */
+public final class JavaScriptParseProfile {
+    private final int ambiguityCount;
+    private final List<JavaScriptDecisionProfile> decisionProfiles;
+    private final long invocationCount;
+    private final long llFallbackCount;
+    private final long predictionTimeNanos;
+
+    private JavaScriptParseProfile(List<JavaScriptDecisionProfile> decisionProfiles) {
+        int ambiguityCount = 0;
+        long invocationCount = 0L;
+        long llFallbackCount = 0L;
+        long predictionTimeNanos = 0L;
+        for (JavaScriptDecisionProfile decisionProfile : decisionProfiles) {
+            ambiguityCount += decisionProfile.getAmbiguityCount();
+            invocationCount += decisionProfile.getInvocationCount();
+            llFallbackCount += decisionProfile.getLLFallbackCount();
+            predictionTimeNanos += decisionProfile.getPredictionTimeNanos();
+        }
+        this.ambiguityCount = ambiguityCount;
+        this.decisionProfiles = Collections.unmodifiableList(decisionProfiles);
+        this.invocationCount = invocationCount;
+        this.llFallbackCount = llFallbackCount;
+        this.predictionTimeNanos = predictionTimeNanos;
+    }
+
+    /**
+     * Create the parse profile from the profiling ATN simulator.
+     * It must be called before the token stream is released
+     * because the source ranges are resolved from the tokens.
+     *
+     * @param profilingATNSimulator the profiling ATN simulator
+     * @param sourceIndex           the source index
+     * @return the parse profile
+     * @since 0.4.0
+     */
+    static JavaScriptParseProfile of(
+            ProfilingATNSimulator profilingATNSimulator,
+            JavetSanitizerSourceIndex sourceIndex) {
+        List<JavaScriptDecisionProfile> decisionProfiles = new ArrayList<>();
+        for (DecisionInfo decisionInfo : profilingATNSimulator.getDecisionInfo()) {
+            if (decisionInfo.invocations <= 0L) {
+                continue;
+            }
+            final int ruleIndex = profilingATNSimulator.atn.decisionToState.get(decisionInfo.decision).ruleIndex;
+            LookaheadEventInfo maxLookEvent = decisionInfo.LL_MaxLook > decisionInfo.SLL_MaxLook
+                    ? decisionInfo.LL_MaxLookEvent
+                    : decisionInfo.SLL_MaxLookEvent;
+            decisionProfiles.add(new JavaScriptDecisionProfile(
+                    decisionInfo.decision,
+                    ruleIndex,
+                    JavaScriptParser.ruleNames[ruleIndex],
+                    decisionInfo.invocations,
+                    decisionInfo.timeInPrediction,
+                    decisionInfo.SLL_TotalLook,
+                    decisionInfo.SLL_MaxLook,
+                    decisionInfo.SLL_ATNTransitions,
+                    decisionInfo.LL_Fallback,
+                    decisionInfo.LL_TotalLook,
+                    decisionInfo.LL_MaxLook,
+                    decisionInfo.LL_ATNTransitions,
+                    decisionInfo.ambiguities.size(),
+                    decisionInfo.contextSensitivities.size(),
+                    decisionInfo.errors.size(),
+                    toContext(maxLookEvent, sourceIndex)));
+        }
+        decisionProfiles.sort(Comparator.comparingLong(JavaScriptDecisionProfile::getPredictionTimeNanos)
+                .reversed()
+                .thenComparingInt(JavaScriptDecisionProfile::getDecision));
+        return new JavaScriptParseProfile(decisionProfiles);
+    }
+
+    private static JavetSanitizerErrorContext toContext(
+            LookaheadEventInfo lookaheadEventInfo,
+            JavetSanitizerSourceIndex sourceIndex) {
+        if (lookaheadEventInfo == null || sourceIndex == null) {
+            return null;
+        }
+        TokenStream tokenStream = lookaheadEventInfo.input;
+        final int startIndex = lookaheadEventInfo.startIndex;
+        final int stopIndex = Math.max(startIndex, lookaheadEventInfo.stopIndex);
+        if (tokenStream == null || startIndex < 0 || stopIndex >= tokenStream.size()) {
+            return null;
+        }
+        Token startToken = tokenStream.get(startIndex);
+        Token stopToken = tokenStream.get(stopIndex);
+        final int startPosition = startToken.getStartIndex();
+        // The stop index of EOF is before its start index.
+        final int stopStartPosition = Math.max(startPosition, stopToken.getStartIndex());
+        final int endPosition = Math.max(stopStartPosition, stopToken.getStopIndex() + 1);
+        return new JavetSanitizerErrorContext(sourceIndex, startPosition, endPosition, stopStartPosition);
+    }
+
+    /**
+     * Gets the number of ambiguities of all decisions.
+     *
+     * @return the ambiguity count
+     * @since 0.4.0
+     */
+    public int getAmbiguityCount() {
+        return ambiguityCount;
+    }
+
+    /**
+     * Gets the decision profiles sorted by the prediction time in descending order.
+     *
+     * @return the decision profiles
+     * @since 0.4.0
+     */
+    public List<JavaScriptDecisionProfile> getDecisionProfiles() {
+        return decisionProfiles;
+    }
+
+    /**
+     * Gets the decision profiles of the rule sorted by the prediction time in descending order.
+     *
+     * @param ruleName the rule name, e.g. singleExpression
+     * @return the decision profiles
+     * @since 0.4.0
+     */
+    public List<JavaScriptDecisionProfile> getDecisionProfiles(String ruleName) {
+        return decisionProfiles.stream()
+                .filter(decisionProfile -> decisionProfile.getRuleName().equals(ruleName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the number of predictions of all decisions.
+     *
+     * @return the invocation count
+     * @since 0.4.0
+     */
+    public long getInvocationCount() {
+        return invocationCount;
+    }
+
+    /**
+     * Gets the number of SLL to LL fallbacks of all decisions.
+     *
+     * @return the LL fallback count
+     * @since 0.4.0
+     */
+    public long getLLFallbackCount() {
+        return llFallbackCount;
+    }
+
+    /**
+     * Gets the time spent in the prediction of all decisions in nanoseconds.
+     *
+     * @return the prediction time in nanoseconds
+     * @since 0.4.0
+     */
+    public long getPredictionTimeNanos() {
+        return predictionTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "JavaScriptParseProfile{" +
+                "decisionCount=" + decisionProfiles.size() +
+                ", invocationCount=" + invocationCount +
+                ", predictionTimeNanos=" + predictionTimeNanos +
+                ", llFallbackCount=" + llFallbackCount +
+                ", ambiguityCount=" + ambiguityCount +
+                '}';
+    }
+}
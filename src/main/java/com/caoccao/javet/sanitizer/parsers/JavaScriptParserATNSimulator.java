@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import org.antlr.v4.runtime.NoViableAltException;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.atn.ATNConfigSet;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+
+/**
+ * The type JavaScript parser ATN simulator shares the DFA and the context cache of the given simulator
+ * and raises {@link NoViableAltException} without stack traces.
+ * If a {@link JavaScriptParserGuard} is set, the deadline is checked by the prediction.
+ *
+ * @since 0.4.0
+ */
+public final class JavaScriptParserATNSimulator extends ParserATNSimulator {
+    private JavaScriptParserGuard guard;
+
+    /**
+     * Instantiates a new JavaScript parser ATN simulator.
+     *
+     * @param parser             the parser
+     * @param parserATNSimulator the parser ATN simulator to share the DFA and the context cache with
+     * @since 0.4.0
+     */
+    public JavaScriptParserATNSimulator(Parser parser, ParserATNSimulator parserATNSimulator) {
+        super(parser,
+                parserATNSimulator.atn,
+                parserATNSimulator.decisionToDFA,
+                parserATNSimulator.getSharedContextCache());
+        guard = null;
+    }
+
+    @Override
+    public int adaptivePredict(TokenStream input, int decision, ParserRuleContext outerContext) {
+        if (guard != null) {
+            guard.checkDeadline();
+        }
+        return super.adaptivePredict(input, decision, outerContext);
+    }
+
+    @Override
+    protected ATNConfigSet computeReachSet(ATNConfigSet closure, int t, boolean fullCtx) {
+        if (guard != null) {
+            // The full prediction of every lookahead token is expensive enough to read the clock.
+            guard.checkDeadlineNow();
+        }
+        return super.computeReachSet(closure, t, fullCtx);
+    }
+
+    /**
+     * Gets guard.
+     *
+     * @return the guard
+     * @since 0.4.0
+     */
+    public JavaScriptParserGuard getGuard() {
+        return guard;
+    }
+
+    @Override
+    protected NoViableAltException noViableAlt(
+            TokenStream input,
+            ParserRuleContext outerContext,
+            ATNConfigSet configs,
+            int startIndex) {
+        return new StacklessNoViableAltException(
+                parser, input, input.get(startIndex), input.LT(1), configs, outerContext);
+    }
+
+    /**
+     * Sets guard.
+     *
+     * @param guard the guard, null if there are no limits
+     * @since 0.4.0
+     */
+    public void setGuard(JavaScriptParserGuard guard) {
+        this.guard = guard;
+    }
+
+    private static final class StacklessNoViableAltException extends NoViableAltException {
+        private StacklessNoViableAltException(
+                Parser recognizer,
+                TokenStream input,
+                Token startToken,
+                Token offendingToken,
+                ATNConfigSet deadEndConfigs,
+                ParserRuleContext ctx) {
+            super(recognizer, input, startToken, offendingToken, deadEndConfigs, ctx);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
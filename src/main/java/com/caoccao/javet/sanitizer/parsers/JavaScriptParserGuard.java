@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerLimitException;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerRejection;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The type JavaScript parser guard enforces the max token count, the max parse tree depth
+ * and the parse deadline of the option during a parse.
+ * <p>
+ * The token count and the deadline are checked by the token stream while it fetches tokens,
+ * and the deadline is also checked by the prediction of {@link JavaScriptParserATNSimulator}.
+ * The parse tree depth is tracked as a parse listener.
+ * A left-recursive rule exits its context and enters a new parent context per recursion level,
+ * so the guard keeps the levels of every open context and counts them in the depth.
+ * A violation throws {@link JavetSanitizerLimitException}.
+ * A guard belongs to one parser in one thread. {@link #fork()} creates a guard for another parser
+ * sharing the same deadline.
+ *
+ * @since 0.4.0
+ */
+public final class JavaScriptParserGuard implements ParseTreeListener {
+    private static final int DEADLINE_CHECK_MASK = 0xFF;
+    private static final int INITIAL_RECURSION_LEVELS_CAPACITY = 16;
+    private final long deadlineNanos;
+    private final long maxParseTimeMillis;
+    private final int maxParseTreeDepth;
+    private final int maxTokenCount;
+    private final LongSupplier nanoTimeSupplier;
+    private int checkCount;
+    private int depth;
+    private ParserRuleContext lastExitedContext;
+    private int lastExitedRecursionLevels;
+    private int[] recursionLevels;
+    private int recursionLevelsSize;
+
+    private JavaScriptParserGuard(
+            long maxParseTimeMillis,
+            long deadlineNanos,
+            int maxParseTreeDepth,
+            int maxTokenCount,
+            LongSupplier nanoTimeSupplier) {
+        this.deadlineNanos = deadlineNanos;
+        this.maxParseTimeMillis = maxParseTimeMillis;
+        this.maxParseTreeDepth = maxParseTreeDepth;
+        this.maxTokenCount = maxTokenCount;
+        this.nanoTimeSupplier = nanoTimeSupplier;
+        checkCount = 0;
+        depth = 0;
+        lastExitedContext = null;
+        lastExitedRecursionLevels = 0;
+        recursionLevels = null;
+        recursionLevelsSize = 0;
+    }
+
+    /**
+     * Create a guard for the option with the deadline starting now.
+     *
+     * @param option the option
+     * @return the guard, null if the option has no limits
+     * @since 0.4.0
+     */
+    public static JavaScriptParserGuard of(JavetSanitizerOption option) {
+        return of(option, System::nanoTime);
+    }
+
+    /**
+     * Create a guard for the option with the deadline starting now on the given clock.
+     *
+     * @param option           the option
+     * @param nanoTimeSupplier the clock in nanoseconds, e.g. {@link System#nanoTime()}
+     * @return the guard, null if the option has no limits
+     * @since 0.4.0
+     */
+    public static JavaScriptParserGuard of(JavetSanitizerOption option, LongSupplier nanoTimeSupplier) {
+        Objects.requireNonNull(nanoTimeSupplier);
+        final long maxParseTimeMillis = option.getMaxParseTimeMillis();
+        final int maxParseTreeDepth = option.getMaxParseTreeDepth();
+        final int maxTokenCount = option.getMaxTokenCount();
+        if (maxParseTimeMillis <= 0L && maxParseTreeDepth <= 0 && maxTokenCount <= 0) {
+            return null;
+        }
+        return new JavaScriptParserGuard(
+                maxParseTimeMillis,
+                nanoTimeSupplier.getAsLong() + TimeUnit.MILLISECONDS.toNanos(maxParseTimeMillis),
+                maxParseTreeDepth,
+                maxTokenCount,
+                nanoTimeSupplier);
+    }
+
+    /**
+     * Check the deadline once in a while.
+     *
+     * @since 0.4.0
+     */
+    public void checkDeadline() {
+        if (maxParseTimeMillis > 0L && (++checkCount & DEADLINE_CHECK_MASK) == 0) {
+            checkDeadlineNow();
+        }
+    }
+
+    /**
+     * Check the deadline now.
+     *
+     * @since 0.4.0
+     */
+    public void checkDeadlineNow() {
+        if (maxParseTimeMillis > 0L && nanoTimeSupplier.getAsLong() - deadlineNanos > 0L) {
+            throw new JavetSanitizerLimitException(new JavetSanitizerRejection().parseTimeout(maxParseTimeMillis));
+        }
+    }
+
+    /**
+     * Check the token count.
+     *
+     * @param tokenCount the token count
+     * @since 0.4.0
+     */
+    public void checkTokenCount(int tokenCount) {
+        if (maxTokenCount > 0 && tokenCount > maxTokenCount) {
+            throw new JavetSanitizerLimitException(
+                    new JavetSanitizerRejection().tokenCountTooLarge(maxTokenCount, tokenCount));
+        }
+    }
+
+    @Override
+    public void enterEveryRule(ParserRuleContext ctx) {
+        if (maxParseTreeDepth > 0) {
+            int levels = 0;
+            if (lastExitedContext != null && lastExitedContext.getParent() == ctx) {
+                // The context just exited becomes the child of the new left-recursive context.
+                levels = lastExitedRecursionLevels + 1;
+            }
+            lastExitedContext = null;
+            if (recursionLevels == null) {
+                recursionLevels = new int[INITIAL_RECURSION_LEVELS_CAPACITY];
+            } else if (recursionLevelsSize == recursionLevels.length) {
+                recursionLevels = Arrays.copyOf(recursionLevels, recursionLevelsSize << 1);
+            }
+            recursionLevels[recursionLevelsSize++] = levels;
+            depth += levels + 1;
+            if (depth > maxParseTreeDepth) {
+                throw new JavetSanitizerLimitException(
+                        new JavetSanitizerRejection().parseTreeDepthTooLarge(maxParseTreeDepth, depth));
+            }
+        }
+    }
+
+    @Override
+    public void exitEveryRule(ParserRuleContext ctx) {
+        if (maxParseTreeDepth > 0 && recursionLevelsSize > 0) {
+            lastExitedContext = ctx;
+            lastExitedRecursionLevels = recursionLevels[--recursionLevelsSize];
+            depth -= lastExitedRecursionLevels + 1;
+        }
+    }
+
+    /**
+     * Create a guard for another parser sharing the same limits, deadline and clock.
+     *
+     * @return the guard
+     * @since 0.4.0
+     */
+    public JavaScriptParserGuard fork() {
+        return new JavaScriptParserGuard(
+                maxParseTimeMillis, deadlineNanos, maxParseTreeDepth, maxTokenCount, nanoTimeSupplier);
+    }
+
+    /**
+     * Is parse tree depth limited.
+     *
+     * @return true : limited, false : not limited
+     * @since 0.4.0
+     */
+    public boolean isParseTreeDepthLimited() {
+        return maxParseTreeDepth > 0;
+    }
+
+    /**
+     * Reset the parse tree depth before the parser starts over.
+     *
+     * @since 0.4.0
+     */
+    public void resetDepth() {
+        depth = 0;
+        lastExitedContext = null;
+        lastExitedRecursionLevels = 0;
+        recursionLevelsSize = 0;
+    }
+
+    @Override
+    public void visitErrorNode(ErrorNode node) {
+    }
+
+    @Override
+    public void visitTerminal(TerminalNode node) {
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.atn.ATNState;
+
+/**
+ * The type JavaScript parser pair holds a lexer, a token stream and a parser
+ * that can be re-pointed at new input so that they can be reused across parses.
+ *
+ * @since 0.4.0
+ */
+public final class JavaScriptParserPair {
+    private final JavaScriptLexer javaScriptLexer;
+    private final JavaScriptParser javaScriptParser;
+    private final JavaScriptParserATNSimulator javaScriptParserATNSimulator;
+    private final boolean pooled;
+    private final GuardedTokenStream tokenStream;
+    private boolean borrowed;
+
+    /**
+     * Instantiates a new JavaScript parser pair.
+     *
+     * @param pooled the pooled
+     * @since 0.4.0
+     */
+    JavaScriptParserPair(boolean pooled) {
+        this.pooled = pooled;
+        borrowed = false;
+        javaScriptLexer = new JavaScriptLexer(null);
+        javaScriptLexer.setUseStrictDefault(true);
+        tokenStream = new GuardedTokenStream(javaScriptLexer);
+        javaScriptParser = new JavaScriptParser(null);
+        javaScriptParser.setBuildParseTree(true);
+        javaScriptParser.setErrorHandler(new JavaScriptBailErrorStrategy());
+        javaScriptParserATNSimulator =
+                new JavaScriptParserATNSimulator(javaScriptParser, javaScriptParser.getInterpreter());
+        javaScriptParser.setInterpreter(javaScriptParserATNSimulator);
+    }
+
+    /**
+     * Clear the input so that the last source code is not retained.
+     *
+     * @since 0.4.0
+     */
+    void clear() {
+        setGuard(null);
+        javaScriptParser.removeParseListeners();
+        javaScriptParser.setTokenStream(null);
+        javaScriptLexer.setInputStream(null);
+        tokenStream.setTokenSource(javaScriptLexer);
+    }
+
+    /**
+     * Gets JavaScript lexer.
+     *
+     * @return the JavaScript lexer
+     * @since 0.4.0
+     */
+    public JavaScriptLexer getJavaScriptLexer() {
+        return javaScriptLexer;
+    }
+
+    /**
+     * Gets JavaScript parser.
+     *
+     * @return the JavaScript parser
+     * @since 0.4.0
+     */
+    public JavaScriptParser getJavaScriptParser() {
+        return javaScriptParser;
+    }
+
+    /**
+     * Gets token stream.
+     *
+     * @return the token stream
+     * @since 0.4.0
+     */
+    public CommonTokenStream getTokenStream() {
+        return tokenStream;
+    }
+
+    /**
+     * Is borrowed.
+     *
+     * @return true : borrowed, false : not borrowed
+     * @since 0.4.0
+     */
+    boolean isBorrowed() {
+        return borrowed;
+    }
+
+    /**
+     * Is pooled.
+     *
+     * @return true : pooled, false : not pooled
+     * @since 0.4.0
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Re-point the lexer, the token stream and the parser at the given char stream.
+     *
+     * @param charStream the char stream
+     * @return the self
+     * @since 0.4.0
+     */
+    JavaScriptParserPair reset(CharStream charStream) {
+        javaScriptLexer.setInputStream(charStream);
+        // JavaScriptLexerBase.reset() restores the strict default to false.
+        javaScriptLexer.setUseStrictDefault(true);
+        tokenStream.setTokenSource(javaScriptLexer);
+        javaScriptParser.setTokenStream(tokenStream);
+        // Parser.reset() keeps the last ATN state which would become the invoking state of the root context.
+        javaScriptParser.setState(ATNState.INVALID_STATE_NUMBER);
+        return this;
+    }
+
+    /**
+     * Sets borrowed.
+     *
+     * @param borrowed the borrowed
+     * @since 0.4.0
+     */
+    void setBorrowed(boolean borrowed) {
+        this.borrowed = borrowed;
+    }
+
+    /**
+     * Sets the guard checked by the token stream and the prediction of the parser.
+     *
+     * @param guard the guard, null if there are no limits
+     * @since 0.4.0
+     */
+    void setGuard(JavaScriptParserGuard guard) {
+        tokenStream.guard = guard;
+        javaScriptParserATNSimulator.setGuard(guard);
+    }
+
+    private static final class GuardedTokenStream extends CommonTokenStream {
+        private JavaScriptParserGuard guard;
+
+        private GuardedTokenStream(TokenSource tokenSource) {
+            super(tokenSource);
+            guard = null;
+        }
+
+        @Override
+        protected int fetch(int n) {
+            final int fetchedCount = super.fetch(n);
+            if (guard != null) {
+                guard.checkTokenCount(tokens.size());
+                guard.checkDeadline();
+            }
+            return fetchedCount;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import org.antlr.v4.runtime.CharStream;
+
+import java.util.Objects;
+
+/**
+ * The type JavaScript parser pool keeps one reusable {@link JavaScriptParserPair} per thread.
+ * <p>
+ * A pair is borrowed for the duration of one parse and returned afterwards.
+ * If the pair of the current thread is already borrowed, e.g. a parse is triggered inside another parse,
+ * a new pair that is not pooled is created instead.
+ *
+ * @since 0.4.0
+ */
+public final class JavaScriptParserPool {
+    private static final ThreadLocal<JavaScriptParserPair> THREAD_LOCAL_PAIR =
+            ThreadLocal.withInitial(() -> new JavaScriptParserPair(true));
+
+    static {
+        JavaScriptDFASnapshot.loadFromSystemProperty();
+    }
+
+    private JavaScriptParserPool() {
+    }
+
+    /**
+     * Borrow a JavaScript parser pair pointing at the given char stream.
+     *
+     * @param charStream the char stream
+     * @return the JavaScript parser pair
+     * @since 0.4.0
+     */
+    public static JavaScriptParserPair borrow(CharStream charStream) {
+        Objects.requireNonNull(charStream);
+        JavaScriptParserPair javaScriptParserPair = THREAD_LOCAL_PAIR.get();
+        if (javaScriptParserPair.isBorrowed()) {
+            javaScriptParserPair = new JavaScriptParserPair(false);
+        }
+        javaScriptParserPair.setBorrowed(true);
+        return javaScriptParserPair.reset(charStream);
+    }
+
+    /**
+     * Release the JavaScript parser pair.
+     *
+     * @param javaScriptParserPair the JavaScript parser pair
+     * @since 0.4.0
+     */
+    public static void release(JavaScriptParserPair javaScriptParserPair) {
+        if (javaScriptParserPair != null && javaScriptParserPair.isBorrowed()) {
+            javaScriptParserPair.clear();
+            javaScriptParserPair.setBorrowed(false);
+            JavaScriptDFACacheManager.getInstance().onParseCompleted();
+        }
+    }
+}
@@ -18,6 +18,8 @@ package com.caoccao.javet.sanitizer.parsers;
 
 import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.antlr.v4.runtime.CharStream;
 
 /**
  * The type JavaScript single expression parser.
@@ -34,7 +36,20 @@ public class JavaScriptSingleExpressionParser
      * @since 0.1.0
      */
     public JavaScriptSingleExpressionParser(String codeString) throws JavetSanitizerException {
-        this(null, codeString);
+        this(JavetSanitizerOption.Default, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript single expression parser.
+     *
+     * @param option     the option
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptSingleExpressionParser(JavetSanitizerOption option, String codeString)
+            throws JavetSanitizerException {
+        this(option, null, codeString);
     }
 
     /**
@@ -49,14 +64,60 @@ public class JavaScriptSingleExpressionParser
             JavaScriptParser.SingleExpressionContext context,
             String codeString)
             throws JavetSanitizerException {
-        super(context, codeString);
+        this(JavetSanitizerOption.Default, context, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript single expression parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptSingleExpressionParser(
+            JavetSanitizerOption option,
+            JavaScriptParser.SingleExpressionContext context,
+            String codeString)
+            throws JavetSanitizerException {
+        super(option, context, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript single expression parser.
+     *
+     * @param option     the option
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptSingleExpressionParser(JavetSanitizerOption option, CharStream charStream)
+            throws JavetSanitizerException {
+        this(option, null, charStream);
+    }
+
+    /**
+     * Instantiates a new JavaScript single expression parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptSingleExpressionParser(
+            JavetSanitizerOption option,
+            JavaScriptParser.SingleExpressionContext context,
+            CharStream charStream) throws JavetSanitizerException {
+        super(option, context, charStream);
     }
 
     @Override
     protected JavaScriptSingleExpressionParser initializeContext() throws JavetSanitizerException {
         super.initializeContext();
         if (context == null) {
-            context = javaScriptParser.singleExpression();
+            context = parseContext(JavaScriptParser::singleExpression);
         }
         return this;
     }
@@ -19,9 +19,21 @@ package com.caoccao.javet.sanitizer.parsers;
 
 import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.listeners.JavetSanitizerListener;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.antlr.v4.runtime.tree.TerminalNodeImpl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
 
 /**
  * The type JavaScript statement list parser.
@@ -30,6 +42,14 @@ import java.util.List;
  */
 public class JavaScriptStatementListParser
         extends BaseJavaScriptContextParser<JavaScriptStatementListParser, JavaScriptParser.StatementListContext> {
+    /**
+     * The constant PARALLEL_TASKS_PER_THREAD is the number of tasks per thread of the parallel walk
+     * so that the statements of uneven sizes are balanced among the threads.
+     *
+     * @since 0.4.0
+     */
+    public static final int PARALLEL_TASKS_PER_THREAD = 4;
+
     /**
      * Instantiates a new JavaScript statement list parser.
      *
@@ -38,7 +58,20 @@ public class JavaScriptStatementListParser
      * @since 0.1.0
      */
     public JavaScriptStatementListParser(String codeString) throws JavetSanitizerException {
-        this(null, codeString);
+        this(JavetSanitizerOption.Default, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript statement list parser.
+     *
+     * @param option     the option
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptStatementListParser(JavetSanitizerOption option, String codeString)
+            throws JavetSanitizerException {
+        this(option, null, codeString);
     }
 
     /**
@@ -52,7 +85,79 @@ public class JavaScriptStatementListParser
     public JavaScriptStatementListParser(
             JavaScriptParser.StatementListContext context,
             String codeString) throws JavetSanitizerException {
-        super(context, codeString);
+        this(JavetSanitizerOption.Default, context, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript statement list parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptStatementListParser(
+            JavetSanitizerOption option,
+            JavaScriptParser.StatementListContext context,
+            String codeString) throws JavetSanitizerException {
+        super(option, context, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript statement list parser.
+     *
+     * @param option     the option
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptStatementListParser(JavetSanitizerOption option, CharStream charStream)
+            throws JavetSanitizerException {
+        this(option, null, charStream);
+    }
+
+    /**
+     * Instantiates a new JavaScript statement list parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptStatementListParser(
+            JavetSanitizerOption option,
+            JavaScriptParser.StatementListContext context,
+            CharStream charStream) throws JavetSanitizerException {
+        super(option, context, charStream);
+    }
+
+    /**
+     * Re-point the tokens of the parse tree parsed from a token slice to the tokens of the whole source.
+     *
+     * @param parseTree the parse tree
+     * @param tokens    the tokens of the whole source
+     * @param offset    the offset of the token index
+     * @since 0.4.0
+     */
+    protected static void rebind(ParseTree parseTree, List<Token> tokens, int offset) {
+        if (parseTree instanceof TerminalNodeImpl) {
+            TerminalNodeImpl terminalNode = (TerminalNodeImpl) parseTree;
+            terminalNode.symbol = tokens.get(terminalNode.symbol.getTokenIndex() + offset);
+        } else if (parseTree instanceof ParserRuleContext) {
+            ParserRuleContext parserRuleContext = (ParserRuleContext) parseTree;
+            if (parserRuleContext.start != null) {
+                parserRuleContext.start = tokens.get(parserRuleContext.start.getTokenIndex() + offset);
+            }
+            if (parserRuleContext.stop != null) {
+                parserRuleContext.stop = tokens.get(parserRuleContext.stop.getTokenIndex() + offset);
+            }
+            final int childCount = parserRuleContext.getChildCount();
+            for (int i = 0; i < childCount; ++i) {
+                rebind(parserRuleContext.getChild(i), tokens, offset);
+            }
+        }
     }
 
     /**
@@ -65,7 +170,9 @@ public class JavaScriptStatementListParser
     public List<JavaScriptStatementParser> getJavaScriptStatementParsers() throws JavetSanitizerException {
         List<JavaScriptStatementParser> parsers = new ArrayList<>();
         for (JavaScriptParser.StatementContext statementContext : context.statement()) {
-            parsers.add(new JavaScriptStatementParser(statementContext, codeString));
+            parsers.add(shareSourceIndex(codeString == null
+                    ? new JavaScriptStatementParser(option, statementContext, charStream)
+                    : new JavaScriptStatementParser(option, statementContext, codeString)));
         }
         return parsers;
     }
@@ -74,7 +181,72 @@ public class JavaScriptStatementListParser
     protected JavaScriptStatementListParser initializeContext() throws JavetSanitizerException {
         super.initializeContext();
         if (context == null) {
-            context = javaScriptParser.statementList();
+            context = parseContext(JavaScriptParser::statementList);
+        }
+        return this;
+    }
+
+    /**
+     * Walk the statements that match the filter with the listener.
+     *
+     * @param <Listener>      the type parameter
+     * @param listener        the listener
+     * @param statementFilter the statement filter
+     * @return the self
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public <Listener extends JavetSanitizerListener> JavaScriptStatementListParser walk(
+            Listener listener,
+            Predicate<JavaScriptParser.StatementContext> statementFilter)
+            throws JavetSanitizerException {
+        final long startTime = System.nanoTime();
+        ParseTreeWalker parseTreeWalker = new ParseTreeWalker();
+        try {
+            for (JavaScriptParser.StatementContext statementContext : context.statement()) {
+                if (statementFilter.test(statementContext)) {
+                    parseTreeWalker.walk(listener, statementContext);
+                }
+            }
+        } catch (Throwable t) {
+            throw reject(toJavetSanitizerRejection(listener, t));
+        } finally {
+            walkDurationNanos = System.nanoTime() - startTime;
+        }
+        return this;
+    }
+
+    /**
+     * Walk the statements that match the filter in parallel on the fork-join pool.
+     * Each task walks a range of the top-level statements with its own listener created by the option,
+     * and the first violation in source order is thrown.
+     * The statement filter may be called concurrently.
+     *
+     * @param forkJoinPool    the fork join pool
+     * @param statementFilter the statement filter
+     * @return the self
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptStatementListParser walk(
+            ForkJoinPool forkJoinPool,
+            Predicate<JavaScriptParser.StatementContext> statementFilter)
+            throws JavetSanitizerException {
+        Objects.requireNonNull(forkJoinPool);
+        Objects.requireNonNull(statementFilter);
+        final long startTime = System.nanoTime();
+        try {
+            final List<JavaScriptParser.StatementContext> statementContexts = context.statement();
+            final int granularity = Math.max(
+                    1, statementContexts.size() / (forkJoinPool.getParallelism() * PARALLEL_TASKS_PER_THREAD));
+            final ParallelWalkError error = new ParallelWalkError();
+            forkJoinPool.invoke(new ParallelWalkTask(
+                    statementContexts, statementFilter, error, granularity, 0, statementContexts.size()));
+            if (error.throwable != null) {
+                throw reject(toJavetSanitizerRejection(error.listener, error.throwable));
+            }
+        } finally {
+            walkDurationNanos = System.nanoTime() - startTime;
         }
         return this;
     }
@@ -85,4 +257,76 @@ public class JavaScriptStatementListParser
                 .validateChildNotEmpty()
                 .validateChildClass(JavaScriptParser.StatementContext.class);
     }
+
+    private static final class ParallelWalkError {
+        private int index = Integer.MAX_VALUE;
+        private JavetSanitizerListener listener;
+        private Throwable throwable;
+
+        private synchronized int getIndex() {
+            return index;
+        }
+
+        private synchronized void update(int index, JavetSanitizerListener listener, Throwable throwable) {
+            if (index < this.index) {
+                this.index = index;
+                this.listener = listener;
+                this.throwable = throwable;
+            }
+        }
+    }
+
+    private final class ParallelWalkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int endIndex;
+        private final ParallelWalkError error;
+        private final int granularity;
+        private final int startIndex;
+        private final List<JavaScriptParser.StatementContext> statementContexts;
+        private final Predicate<JavaScriptParser.StatementContext> statementFilter;
+
+        private ParallelWalkTask(
+                List<JavaScriptParser.StatementContext> statementContexts,
+                Predicate<JavaScriptParser.StatementContext> statementFilter,
+                ParallelWalkError error,
+                int granularity,
+                int startIndex,
+                int endIndex) {
+            this.endIndex = endIndex;
+            this.error = error;
+            this.granularity = granularity;
+            this.startIndex = startIndex;
+            this.statementContexts = statementContexts;
+            this.statementFilter = statementFilter;
+        }
+
+        @Override
+        protected void compute() {
+            if (endIndex - startIndex <= granularity) {
+                JavetSanitizerListener listener = null;
+                ParseTreeWalker parseTreeWalker = new ParseTreeWalker();
+                for (int i = startIndex; i < endIndex && i < error.getIndex(); i++) {
+                    try {
+                        JavaScriptParser.StatementContext statementContext = statementContexts.get(i);
+                        if (statementFilter.test(statementContext)) {
+                            if (listener == null) {
+                                listener = option.createListener();
+                            }
+                            parseTreeWalker.walk(listener, statementContext);
+                        }
+                    } catch (Throwable t) {
+                        error.update(i, listener, t);
+                        break;
+                    }
+                }
+            } else {
+                final int middleIndex = (startIndex + endIndex) >>> 1;
+                invokeAll(
+                        new ParallelWalkTask(
+                                statementContexts, statementFilter, error, granularity, startIndex, middleIndex),
+                        new ParallelWalkTask(
+                                statementContexts, statementFilter, error, granularity, middleIndex, endIndex));
+            }
+        }
+    }
 }
@@ -19,6 +19,8 @@ package com.caoccao.javet.sanitizer.parsers;
 
 import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.antlr.v4.runtime.CharStream;
 
 /**
  * The type JavaScript statement parser.
@@ -35,7 +37,19 @@ public class JavaScriptStatementParser
      * @since 0.1.0
      */
     public JavaScriptStatementParser(String codeString) throws JavetSanitizerException {
-        this(null, codeString);
+        this(JavetSanitizerOption.Default, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript statement parser.
+     *
+     * @param option     the option
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptStatementParser(JavetSanitizerOption option, String codeString) throws JavetSanitizerException {
+        this(option, null, codeString);
     }
 
     /**
@@ -50,14 +64,60 @@ public class JavaScriptStatementParser
             JavaScriptParser.StatementContext context,
             String codeString)
             throws JavetSanitizerException {
-        super(context, codeString);
+        this(JavetSanitizerOption.Default, context, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript statement parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param codeString the code string
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptStatementParser(
+            JavetSanitizerOption option,
+            JavaScriptParser.StatementContext context,
+            String codeString)
+            throws JavetSanitizerException {
+        super(option, context, codeString);
+    }
+
+    /**
+     * Instantiates a new JavaScript statement parser.
+     *
+     * @param option     the option
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptStatementParser(JavetSanitizerOption option, CharStream charStream)
+            throws JavetSanitizerException {
+        this(option, null, charStream);
+    }
+
+    /**
+     * Instantiates a new JavaScript statement parser.
+     *
+     * @param option     the option
+     * @param context    the context
+     * @param charStream the char stream
+     * @throws JavetSanitizerException the javet sanitizer exception
+     * @since 0.4.0
+     */
+    public JavaScriptStatementParser(
+            JavetSanitizerOption option,
+            JavaScriptParser.StatementContext context,
+            CharStream charStream) throws JavetSanitizerException {
+        super(option, context, charStream);
     }
 
     @Override
     protected JavaScriptStatementParser initializeContext() throws JavetSanitizerException {
         super.initializeContext();
         if (context == null) {
-            context = javaScriptParser.statement();
+            context = parseContext(JavaScriptParser::statement);
         }
         return this;
     }
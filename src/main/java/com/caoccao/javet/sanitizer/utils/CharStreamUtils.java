@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.utils;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CodePointBuffer;
+import org.antlr.v4.runtime.CodePointCharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * The type Char stream utils builds the code point char streams of the lexer
+ * without copying the input into an intermediate string.
+ *
+ * @since 0.4.0
+ */
+public final class CharStreamUtils {
+    /**
+     * The constant DEFAULT_BUFFER_SIZE.
+     *
+     * @since 0.4.0
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    private CharStreamUtils() {
+    }
+
+    private static void append(CodePointBuffer.Builder builder, CharBuffer charBuffer, boolean endOfInput) {
+        charBuffer.flip();
+        final int limit = charBuffer.limit();
+        // The builder does not join a surrogate pair split across two appends.
+        if (!endOfInput && limit > charBuffer.position() && Character.isHighSurrogate(charBuffer.get(limit - 1))) {
+            charBuffer.limit(limit - 1);
+        }
+        builder.append(charBuffer);
+        charBuffer.limit(limit);
+        charBuffer.compact();
+    }
+
+    /**
+     * From UTF-8 byte buffer.
+     * The position of the byte buffer is not changed.
+     *
+     * @param byteBuffer the byte buffer
+     * @return the code point char stream
+     * @since 0.4.0
+     */
+    public static CodePointCharStream fromByteBuffer(ByteBuffer byteBuffer) {
+        return fromByteBuffer(byteBuffer, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * From byte buffer.
+     * The position of the byte buffer is not changed.
+     * Malformed input is replaced.
+     *
+     * @param byteBuffer the byte buffer
+     * @param charset    the charset
+     * @return the code point char stream
+     * @since 0.4.0
+     */
+    public static CodePointCharStream fromByteBuffer(ByteBuffer byteBuffer, Charset charset) {
+        ByteBuffer input = byteBuffer.duplicate();
+        CharsetDecoder charsetDecoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CodePointBuffer.Builder builder = CodePointBuffer.builder(input.remaining());
+        CharBuffer charBuffer = CharBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        CoderResult coderResult;
+        do {
+            coderResult = charsetDecoder.decode(input, charBuffer, true);
+            append(builder, charBuffer, false);
+        } while (coderResult.isOverflow());
+        do {
+            coderResult = charsetDecoder.flush(charBuffer);
+            append(builder, charBuffer, false);
+        } while (coderResult.isOverflow());
+        append(builder, charBuffer, true);
+        return CodePointCharStream.fromBuffer(builder.build(), IntStream.UNKNOWN_SOURCE_NAME);
+    }
+
+    /**
+     * From char array.
+     *
+     * @param chars  the chars
+     * @param offset the offset
+     * @param length the length
+     * @return the code point char stream
+     * @since 0.4.0
+     */
+    public static CodePointCharStream fromCharArray(char[] chars, int offset, int length) {
+        CodePointBuffer.Builder builder = CodePointBuffer.builder(length);
+        builder.append(CharBuffer.wrap(Objects.requireNonNull(chars), offset, length));
+        return CodePointCharStream.fromBuffer(builder.build(), IntStream.UNKNOWN_SOURCE_NAME);
+    }
+
+    /**
+     * From char sequence.
+     *
+     * @param charSequence the char sequence
+     * @return the code point char stream
+     * @since 0.4.0
+     */
+    public static CodePointCharStream fromCharSequence(CharSequence charSequence) {
+        final int length = charSequence.length();
+        CodePointBuffer.Builder builder = CodePointBuffer.builder(length);
+        CharBuffer charBuffer = CharBuffer.allocate(Math.max(1, Math.min(length, DEFAULT_BUFFER_SIZE)));
+        int position = 0;
+        while (position < length) {
+            final int end = Math.min(length, position + charBuffer.remaining());
+            charBuffer.append(charSequence, position, end);
+            position = end;
+            append(builder, charBuffer, position == length);
+        }
+        return CodePointCharStream.fromBuffer(builder.build(), IntStream.UNKNOWN_SOURCE_NAME);
+    }
+
+    /**
+     * From UTF-8 file.
+     * The file is memory-mapped and decoded straight into the code point buffer,
+     * so that the file content is not read into a heap buffer or a string first.
+     *
+     * @param path the path
+     * @return the code point char stream
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public static CodePointCharStream fromPath(Path path) throws IOException {
+        return fromPath(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * From file.
+     * The file is memory-mapped and decoded straight into the code point buffer.
+     * The mapping is not referenced once the decoding completes.
+     *
+     * @param path    the path
+     * @param charset the charset
+     * @return the code point char stream
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public static CodePointCharStream fromPath(Path path, Charset charset) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            return fromByteBuffer(mappedByteBuffer, charset);
+        }
+    }
+
+    /**
+     * Gets text.
+     *
+     * @param charStream the char stream
+     * @return the text
+     * @since 0.4.0
+     */
+    public static String getText(CharStream charStream) {
+        return charStream.getText(Interval.of(0, charStream.size() - 1));
+    }
+
+    /**
+     * Is blank.
+     *
+     * @param charStream the char stream
+     * @return true : blank, false : not blank
+     * @since 0.4.0
+     */
+    public static boolean isBlank(CharStream charStream) {
+        if (charStream != null) {
+            final int length = charStream.size() - charStream.index();
+            for (int i = 1; i <= length; i++) {
+                int c = charStream.LA(i);
+                if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                    continue;
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.warmers;
+
+import com.caoccao.javet.sanitizer.checkers.*;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptDFACacheManager;
+import com.caoccao.javet.sanitizer.utils.SimpleList;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The type Javet sanitizer warmer runs a corpus of scripts through each checker type
+ * so that the shared DFA of the lexer and the parser is populated before the real traffic arrives.
+ * <p>
+ * If no scripts are added, the bundled synthetic corpus is used.
+ *
+ * @since 0.4.0
+ */
+public final class JavetSanitizerWarmer {
+    /**
+     * The default corpus covers the common constructs of the JavaScript grammar.
+     *
+     * @since 0.4.0
+     */
+    public static final List<String> DEFAULT_CORPUS = Collections.unmodifiableList(SimpleList.of(
+            "1", "'a'", "\"a\"", "`a${b}c${`d${e}`}`", "/a[b]c/gi", "0x1F", "0o17", "0b11", "1_000n", "1.5e-3",
+            "null", "true", "undefined", "this", "a", "a.b", "a?.b", "a?.['b']", "a?.()", "a[0]", "a['b'].c",
+            "a + b * c - d / e % f ** g", "a << b >> c >>> d", "a & b | c ^ d", "~a", "!a", "-a", "+a",
+            "a && b || c ?? d", "a ? b : c", "a == b != c === d !== e", "a < b > c <= d >= e",
+            "a instanceof B", "'a' in b", "typeof a", "void 0", "delete a.b", "a++", "--a",
+            "a = 1", "a += 1", "a -= 1", "a *= 1", "a /= 1", "a %= 1", "a **= 1", "a <<= 1", "a >>= 1",
+            "a >>>= 1", "a &= 1", "a |= 1", "a ^= 1", "a &&= 1", "a ||= 1", "a ??= 1", "a, b, c",
+            "[1, 2, ...a]", "{ a: 1, 'b': 2, [c]: 3, d, ...e, f() {}, get g() { return 1; }, set h(v) {} }",
+            "new A()", "new A.B(1, ...c)", "a(1, 'b', c)", "a.b(c).d(e)", "a`b${c}`",
+            "() => 1", "() => {}", "(a, b) => a + b", "a => ({ a })", "({ a, b: [c, d] }) => c",
+            "function() {}", "function(a, b = 1, ...c) { return a; }", "function x() {}",
+            "function x(a, { b, c }, [d, e]) { return b; }", "function* () { yield 1; }",
+            "async function() { await a; }", "async () => { await a; }",
+            "const a = 1;", "let a = 1, b = 2;", "var a;", "const { a, b: { c } } = d;", "const [a, , b] = c;",
+            "if (a) { b(); } else if (c) { d(); } else { e(); }",
+            "for (let i = 0; i < 10; i++) { continue; }", "for (const a of b) { break; }",
+            "for (const a in b) {}", "while (a) { a--; }", "do { a++; } while (a < 10);",
+            "switch (a) { case 1: b(); break; case 'c': { d(); } default: e(); }",
+            "try { a(); } catch (e) { b(e); } finally { c(); }", "try { a(); } catch { b(); }",
+            "throw new Error('a');", "label: for (;;) { break label; }", "with (a) { b(); }", "debugger;",
+            "class A extends B { #a = 1; static b = 2; constructor(c) { super(c); this.c = c; } " +
+                    "get d() { return this.#a; } set d(v) { this.#a = v; } static e() {} *f() {} }",
+            "const a = class { };", "return;", "a\nb\nc", "a;\n(b);\n[c];", "// comment\n/* comment */ a;",
+            "'use strict';\nconst a = 1;", "import { a, b as c } from 'd';", "import * as a from 'b';",
+            "import a from 'b';", "export const a = 1;", "export default function () {}",
+            "const a = import('b');", "function main() { const a = [1, 2, 3].map(x => x * 2); return a; }",
+            "function main(a, b) {\n  if (!a) {\n    return b ?? null;\n  }\n  return a.filter(x => x > 0)" +
+                    ".reduce((s, x) => s + x, 0);\n}\nfunction helper({ a = 1 } = {}) { return `${a}`; }"));
+
+    private final List<String> codeStrings;
+    private final JavetSanitizerOption option;
+    private Duration duration;
+    private int lexerDFAStateCount;
+    private int lexerDFAStateCreatedCount;
+    private int parserDFAStateCount;
+    private int parserDFAStateCreatedCount;
+    private int rejectedCount;
+    private int runCount;
+
+    /**
+     * Instantiates a new Javet sanitizer warmer.
+     *
+     * @since 0.4.0
+     */
+    public JavetSanitizerWarmer() {
+        this(JavetSanitizerOption.Default);
+    }
+
+    /**
+     * Instantiates a new Javet sanitizer warmer.
+     *
+     * @param option the option
+     * @since 0.4.0
+     */
+    public JavetSanitizerWarmer(JavetSanitizerOption option) {
+        this.option = Objects.requireNonNull(option);
+        codeStrings = new ArrayList<>();
+        duration = Duration.ZERO;
+        lexerDFAStateCount = 0;
+        lexerDFAStateCreatedCount = 0;
+        parserDFAStateCount = 0;
+        parserDFAStateCreatedCount = 0;
+        rejectedCount = 0;
+        runCount = 0;
+    }
+
+    /**
+     * Add code string.
+     *
+     * @param codeString the code string
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerWarmer addCodeString(String codeString) {
+        codeStrings.add(Objects.requireNonNull(codeString));
+        return this;
+    }
+
+    /**
+     * Add the scripts (*.js, *.cjs, *.mjs) in the given directory recursively.
+     *
+     * @param directory the directory
+     * @return the self
+     * @throws IOException the io exception
+     * @since 0.4.0
+     */
+    public JavetSanitizerWarmer addDirectory(Path directory) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            paths = stream
+                    .filter(Files::isRegularFile)
+                    .filter(path -> {
+                        String fileName = path.getFileName().toString();
+                        return fileName.endsWith(".js") || fileName.endsWith(".cjs") || fileName.endsWith(".mjs");
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            addCodeString(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        }
+        return this;
+    }
+
+    /**
+     * Gets code strings.
+     *
+     * @return the code strings
+     * @since 0.4.0
+     */
+    public List<String> getCodeStrings() {
+        return codeStrings;
+    }
+
+    /**
+     * Gets the duration of the last warm-up.
+     *
+     * @return the duration
+     * @since 0.4.0
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets lexer DFA state count after the last warm-up.
+     *
+     * @return the lexer DFA state count
+     * @since 0.4.0
+     */
+    public int getLexerDFAStateCount() {
+        return lexerDFAStateCount;
+    }
+
+    /**
+     * Gets lexer DFA state count created by the last warm-up.
+     *
+     * @return the lexer DFA state created count
+     * @since 0.4.0
+     */
+    public int getLexerDFAStateCreatedCount() {
+        return lexerDFAStateCreatedCount;
+    }
+
+    /**
+     * Gets option.
+     *
+     * @return the option
+     * @since 0.4.0
+     */
+    public JavetSanitizerOption getOption() {
+        return option;
+    }
+
+    /**
+     * Gets parser DFA state count after the last warm-up.
+     *
+     * @return the parser DFA state count
+     * @since 0.4.0
+     */
+    public int getParserDFAStateCount() {
+        return parserDFAStateCount;
+    }
+
+    /**
+     * Gets parser DFA state count created by the last warm-up.
+     *
+     * @return the parser DFA state created count
+     * @since 0.4.0
+     */
+    public int getParserDFAStateCreatedCount() {
+        return parserDFAStateCreatedCount;
+    }
+
+    /**
+     * Gets the number of checks rejected in the last warm-up.
+     * Rejections are expected because every script is run through every checker type.
+     *
+     * @return the rejected count
+     * @since 0.4.0
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Gets the number of checks run in the last warm-up.
+     *
+     * @return the run count
+     * @since 0.4.0
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Warm up the lexer and the parser by running the corpus through each checker type.
+     *
+     * @return the self
+     * @since 0.4.0
+     */
+    public JavetSanitizerWarmer warm() {
+        List<String> corpus = codeStrings.isEmpty() ? DEFAULT_CORPUS : codeStrings;
+        List<IJavetSanitizerChecker> checkers = SimpleList.of(
+                new JavetSanitizerAnonymousFunctionChecker(option),
+                new JavetSanitizerExpressionSequenceChecker(option),
+                new JavetSanitizerModuleChecker(option),
+                new JavetSanitizerSingleExpressionChecker(option),
+                new JavetSanitizerStatementListChecker(option));
+        JavaScriptDFACacheManager javaScriptDFACacheManager = JavaScriptDFACacheManager.getInstance();
+        final int initialLexerDFAStateCount = javaScriptDFACacheManager.getLexerDFAStateCount();
+        final int initialParserDFAStateCount = javaScriptDFACacheManager.getParserDFAStateCount();
+        rejectedCount = 0;
+        runCount = 0;
+        final long startTime = System.nanoTime();
+        for (String codeString : corpus) {
+            for (IJavetSanitizerChecker checker : checkers) {
+                ++runCount;
+                try {
+                    checker.check(codeString);
+                } catch (JavetSanitizerException e) {
+                    ++rejectedCount;
+                }
+            }
+        }
+        duration = Duration.ofNanos(System.nanoTime() - startTime);
+        lexerDFAStateCount = javaScriptDFACacheManager.getLexerDFAStateCount();
+        lexerDFAStateCreatedCount = lexerDFAStateCount - initialLexerDFAStateCount;
+        parserDFAStateCount = javaScriptDFACacheManager.getParserDFAStateCount();
+        parserDFAStateCreatedCount = parserDFAStateCount - initialParserDFAStateCount;
+        return this;
+    }
+}
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.function.Executable;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public abstract class BaseTestJavetSanitizerChecker {
@@ -68,4 +69,15 @@ public abstract class BaseTestJavetSanitizerChecker {
             assertEquals(contextString, exception.getContext().toString());
         }
     }
+
+    protected void assertEvaluation(IJavetSanitizerChecker checker, String codeString) {
+        JavetSanitizerException exception =
+                assertThrows(JavetSanitizerException.class, () -> checker.check(codeString));
+        JavetSanitizerCheckResult result = checker.evaluate(codeString);
+        assertFalse(result.isPassed());
+        assertEquals(exception.getError(), result.getError());
+        assertEquals(exception.getParameters(), result.getParameters());
+        assertEquals(exception.getMessage(), result.getMessage());
+        assertEquals(String.valueOf(exception.getContext()), String.valueOf(result.getContext()));
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavetSanitizerBatchChecker {
+    @Test
+    public void testCheckAll() {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            JavetSanitizerBatchChecker batchChecker = new JavetSanitizerBatchChecker(
+                    JavetSanitizerStatelessChecker.ofStatementList(JavetSanitizerOption.Default),
+                    forkJoinPool,
+                    1);
+            List<CharSequence> codeStrings = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                if (i % 3 == 0) {
+                    codeStrings.add("eval('" + i + "');");
+                } else if (i % 3 == 1) {
+                    codeStrings.add(new StringBuilder("const a = ").append(i).append(";"));
+                } else {
+                    codeStrings.add("const b = " + i + ";");
+                }
+            }
+            List<JavetSanitizerCheckResult> results = batchChecker.checkAll(codeStrings);
+            assertEquals(codeStrings.size(), results.size());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i % 3 == 0 ? 100 : 0, results.get(i).getErrorCode(), "Index " + i);
+            }
+            assertThrows(UnsupportedOperationException.class, () -> results.set(0, null));
+            List<JavetSanitizerCheckResult> linkedListResults = batchChecker.checkAll(new LinkedList<>(codeStrings));
+            for (int i = 0; i < linkedListResults.size(); i++) {
+                assertEquals(results.get(i).getErrorCode(), linkedListResults.get(i).getErrorCode(), "Index " + i);
+            }
+            assertTrue(batchChecker.checkAll(Collections.emptySet()).isEmpty());
+            assertEquals(2, batchChecker.checkAll(Collections.singletonList(null)).get(0).getErrorCode());
+        } finally {
+            forkJoinPool.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> new JavetSanitizerBatchChecker(
+                JavetSanitizerStatelessChecker.ofModule(JavetSanitizerOption.Default),
+                ForkJoinPool.commonPool(),
+                0));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptIncrementalStatementListParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavetSanitizerIncrementalStatementListChecker {
+    private void assertSameVerdict(
+            JavetSanitizerIncrementalStatementListChecker incrementalChecker,
+            String codeString) {
+        JavetSanitizerCheckResult expectedResult =
+                new JavetSanitizerStatementListChecker(incrementalChecker.getOption()).evaluate(codeString);
+        JavetSanitizerCheckResult result = incrementalChecker.evaluate(codeString);
+        assertEquals(expectedResult.getErrorCode(), result.getErrorCode(), codeString);
+        assertEquals(expectedResult.getMessage(), result.getMessage(), codeString);
+        if (expectedResult.getContext() == null) {
+            assertNull(result.getContext(), codeString);
+        } else {
+            assertEquals(expectedResult.getContext().toString(), result.getContext().toString(), codeString);
+        }
+    }
+
+    @Test
+    public void testEdits() {
+        JavetSanitizerIncrementalStatementListChecker checker = new JavetSanitizerIncrementalStatementListChecker();
+        List<String> codeStrings = new ArrayList<>();
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nconst b = 2;\nif (a) { b; }\nconst c = 3;");
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nconst b = 22;\nif (a) { b; }\nconst c = 3;");
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nconst b = eval(1);\nif (a) { b; }\nconst c = 3;");
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nconst b = 2;\nif (a) { b; }\nconst c = 3;");
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nif (a) { b; }\nconst c = 3;");
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nif (a) { b; }\nelse { a; }\nconst c = 3;");
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nif (a) { b; }\nelse { a; }\nconst c = 3;\n// c");
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nconst g = () => {}\n(a)\nconst c = 3;\n// c");
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nconst g = () => {}\nconst c = 3;\n// c");
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nconst g = () => {\nconst c = 3;\n// c");
+        codeStrings.add("const a = 1;\nfunction f() { return a; }\nconst g = () => {};\nconst c = 3;\n// c");
+        codeStrings.add("// a\nconst a = 1;\nfunction f() { return a; }\nconst g = () => {};\nconst c = 3;");
+        codeStrings.add("try { a; }\nconst c = 3;");
+        codeStrings.add("try { a; }\nfinally { b; }\nconst c = 3;");
+        codeStrings.add("const x = 1;\ntry { a; }\nfinally { b; }\nconst c = 3; eval(c);");
+        codeStrings.add("const x = 1;\ntry { a; }\nfinally { b; }\nconst c = 3;");
+        for (String codeString : codeStrings) {
+            assertSameVerdict(checker, codeString);
+        }
+    }
+
+    @Test
+    public void testLookahead() {
+        // The prediction of the async function reads the token after its stop.
+        JavetSanitizerIncrementalStatementListChecker checker = new JavetSanitizerIncrementalStatementListChecker();
+        assertSameVerdict(checker, "const a = 1;\nasync function g() {}\nfunction f() {}\n");
+        assertSameVerdict(checker, "const a = 1;\nasync function g() {}\n");
+        assertSameVerdict(checker, "const a = 1;\nasync function g() {}\nfunction f() {}\n");
+        checker = new JavetSanitizerIncrementalStatementListChecker();
+        assertSameVerdict(checker, "async function g() {}\nfunction f() {}\nconst a = 1;\n");
+        assertSameVerdict(checker, "const b = 1;\nasync function g() {}\nfunction f() {}\nconst a = 1;\n");
+        assertSameVerdict(checker, "const b = 1;\nasync function g() {}\nconst a = 1;\n");
+    }
+
+    @Test
+    public void testStreaming() {
+        JavetSanitizerOption option = JavetSanitizerOption.Default.toClone().setStreamingEnabled(true).seal();
+        JavetSanitizerIncrementalStatementListChecker checker = new JavetSanitizerIncrementalStatementListChecker(option);
+        // The range parse of the changed statement reads past the range, so the range is widened.
+        assertSameVerdict(checker, "label: for (;;) { break label; }");
+        assertSameVerdict(checker, "async function g() {} label: for (;;) { break label; }");
+        assertSameVerdict(checker, "label: for (;;) { break label; }");
+        checker = new JavetSanitizerIncrementalStatementListChecker(option);
+        assertSameVerdict(checker, "const a = 1;\nconst b = 2;");
+        assertSameVerdict(checker, "yield 's'\nconst b = 2;");
+        assertSameVerdict(checker, "const a = eval('1');\nconst b = 2;");
+        assertSameVerdict(checker, "const a = 1;\nconst b = 2;");
+        checker = new JavetSanitizerIncrementalStatementListChecker(option);
+        for (String codeString : new String[]{
+                "const a = 1;\nfunction f() { return a; }\nconst b = 2;\nif (a) { b; }\nconst c = 3;",
+                "const a = 1;\nfunction f() { return a; }\nconst b = eval(1);\nif (a) { b; }\nconst c = 3;",
+                "const a = 1;\nfunction f() { return a; }\nconst b = 2;\nif (a) { b; }\nconst c = 3;",
+                "const a = 1;\nfunction f() { with (a) {} }\nconst b = 2;\nif (a) { b; }\nconst c = 3;",
+                "const a = 1;\nasync function g() {}\nfunction f() {}\n",
+                "const a = 1;\nasync function g() {}\n",
+        }) {
+            assertSameVerdict(checker, codeString);
+        }
+    }
+
+    @Test
+    public void testUnsealedOption() throws JavetSanitizerException {
+        JavetSanitizerIncrementalStatementListChecker checker =
+                new JavetSanitizerIncrementalStatementListChecker(JavetSanitizerOption.Default.toClone());
+        String codeString = "const a = 1;\nconst b = 2;\n";
+        assertTrue(checker.check(codeString));
+        assertTrue(checker.check(codeString));
+        JavaScriptIncrementalStatementListParser parser =
+                (JavaScriptIncrementalStatementListParser) checker.getRootParser();
+        assertEquals(2, parser.getReparsedStatementCount());
+        assertEquals(0, parser.getReusedStatementCount());
+    }
+
+    @Test
+    public void testReuse() throws JavetSanitizerException {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            stringBuilder.append("const a").append(i).append(" = ").append(i).append(";\n");
+        }
+        String codeString = stringBuilder.toString();
+        JavetSanitizerIncrementalStatementListChecker checker = new JavetSanitizerIncrementalStatementListChecker();
+        assertTrue(checker.check(codeString));
+        JavaScriptIncrementalStatementListParser parser =
+                (JavaScriptIncrementalStatementListParser) checker.getRootParser();
+        assertEquals(100, parser.getReparsedStatementCount());
+        assertEquals(0, parser.getReusedStatementCount());
+        String editedCodeString = codeString.replace("const a50 = 50;", "const a50 = 5000;\nconst b50 = 1;");
+        assertTrue(checker.check(editedCodeString));
+        parser = (JavaScriptIncrementalStatementListParser) checker.getRootParser();
+        assertEquals(2, parser.getReparsedStatementCount());
+        assertEquals(99, parser.getReusedStatementCount());
+        assertEquals(101, checker.getStatementParsers().size());
+        assertEquals("const a99 = 99;", checker.getStatementParsers().get(100).getCodeString().substring(
+                checker.getStatementParsers().get(100).getContext().getStart().getStartIndex(),
+                checker.getStatementParsers().get(100).getContext().getStop().getStopIndex() + 1));
+        // A failed parse keeps the last successful parse.
+        assertEquals(200, checker.evaluate(editedCodeString.replace("const b50 = 1;", "const b50 = ;")).getErrorCode());
+        assertTrue(checker.check(editedCodeString));
+        parser = (JavaScriptIncrementalStatementListParser) checker.getRootParser();
+        assertEquals(0, parser.getReparsedStatementCount());
+        assertEquals(101, parser.getReusedStatementCount());
+        checker.invalidate();
+        assertTrue(checker.check(codeString));
+        parser = (JavaScriptIncrementalStatementListParser) checker.getRootParser();
+        assertEquals(100, parser.getReparsedStatementCount());
+    }
+}
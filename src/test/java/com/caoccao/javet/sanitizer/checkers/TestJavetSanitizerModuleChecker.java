@@ -16,15 +16,80 @@
 
 package com.caoccao.javet.sanitizer.checkers;
 
+import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
 import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
 import com.caoccao.javet.sanitizer.utils.SimpleList;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.tree.TerminalNodeImpl;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestJavetSanitizerModuleChecker extends BaseTestJavetSanitizerChecker {
+    @Test
+    public void testFunctionCache() throws JavetSanitizerException {
+        JavetSanitizerFunctionCache functionCache = new JavetSanitizerFunctionCache();
+        JavetSanitizerModuleChecker checker = new JavetSanitizerModuleChecker(
+                JavetSanitizerOption.Default, functionCache);
+        assertTrue(checker.check("function helper() { return 1; }\nfunction main() { return helper(); }"));
+        assertEquals(0, functionCache.getHitCount());
+        assertEquals(2, functionCache.size());
+        assertTrue(checker.check("function helper() {\n  return 1;\n}\nfunction main() { return 2; }"));
+        assertEquals(1, functionCache.getHitCount(), "helper() should be skipped regardless of whitespaces.");
+        assertEquals(3, functionCache.size());
+        assertEquals(2, checker.getFunctionParserMap().size(), "Cached functions should still be parsed.");
+        assertException(
+                () -> checker.check("function helper() { return eval('1'); }\nfunction main() { return 2; }"),
+                100, "Identifier eval is not allowed.",
+                null);
+        assertEquals(3, functionCache.size(), "Failed functions should not be cached.");
+        JavetSanitizerOption option = JavetSanitizerOption.Default.toClone()
+                .setReservedIdentifierMatcher(identifier -> identifier.equals("helper"))
+                .seal();
+        assertException(
+                () -> new JavetSanitizerModuleChecker(option, functionCache)
+                        .check("function helper() { return 1; }\nfunction main() { return 2; }"),
+                100, "Identifier helper is not allowed.",
+                null);
+        assertEquals(3, functionCache.size(), "Functions of another option should not hit.");
+        new JavetSanitizerModuleChecker(JavetSanitizerOption.Default.toClone(), functionCache)
+                .check("function main() { return 3; }");
+        assertEquals(3, functionCache.size(), "Unsealed option should not be cached.");
+        ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            JavetSanitizerStatementListChecker parallelChecker =
+                    new JavetSanitizerModuleChecker(JavetSanitizerOption.Default, functionCache)
+                            .setForkJoinPool(forkJoinPool);
+            assertTrue(parallelChecker.check("function helper() { return 1; }\nfunction main() { return 4; }"));
+            assertEquals(2, functionCache.getHitCount());
+            assertEquals(4, functionCache.size());
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFunctionCacheTokenBoundaries() {
+        // The char after the NUL spells the type of the identifier,
+        // so the tokens would collide if the texts were only NUL-terminated.
+        JavaScriptParser.FunctionDeclarationContext oneToken = new JavaScriptParser.FunctionDeclarationContext(null, 0);
+        oneToken.addChild(new TerminalNodeImpl(new CommonToken(
+                JavaScriptLexer.StringLiteral, "'a\u0000" + (char) (JavaScriptLexer.Identifier << 8) + "b")));
+        JavaScriptParser.FunctionDeclarationContext twoTokens = new JavaScriptParser.FunctionDeclarationContext(null, 0);
+        twoTokens.addChild(new TerminalNodeImpl(new CommonToken(JavaScriptLexer.StringLiteral, "'a")));
+        twoTokens.addChild(new TerminalNodeImpl(new CommonToken(JavaScriptLexer.Identifier, "b")));
+        JavetSanitizerFunctionCache functionCache = new JavetSanitizerFunctionCache();
+        functionCache.add(JavetSanitizerOption.Default, oneToken);
+        assertTrue(functionCache.contains(JavetSanitizerOption.Default, oneToken));
+        assertFalse(functionCache.contains(JavetSanitizerOption.Default, twoTokens));
+    }
+
     @Test
     public void testInvalidIdentifiers() {
         JavetSanitizerOption option = JavetSanitizerOption.Default.toClone()
@@ -39,6 +104,20 @@ public class TestJavetSanitizerModuleChecker extends BaseTestJavetSanitizerCheck
         });
     }
 
+    @Test
+    public void testEvaluate() {
+        JavetSanitizerModuleChecker checker = new JavetSanitizerModuleChecker();
+        SimpleList.of(
+                " ",
+                "function a() {}",
+                "import { x } from 'x.mjs'; function main() {}",
+                "const a; const b;",
+                "function a() {}\nconst a",
+                "function main() { eval('1'); }",
+                "function main() {").forEach(codeString -> assertEvaluation(checker, codeString));
+        assertTrue(checker.evaluate("function main() {}").isPassed());
+    }
+
     @Test
     public void testInvalidStatements() {
         SimpleList.of("", "   ", null).forEach(statement ->
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptStatementListParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavetSanitizerStatelessChecker {
+    @Test
+    public void testModule() throws JavetSanitizerException {
+        JavetSanitizerStatelessChecker<JavaScriptStatementListParser> checker =
+                JavetSanitizerStatelessChecker.ofModule(JavetSanitizerOption.Default);
+        JavetSanitizerCheckOutput<JavaScriptStatementListParser> output1 =
+                checker.check("function main() {}\nfunction a() {}");
+        JavetSanitizerCheckOutput<JavaScriptStatementListParser> output2 =
+                checker.check("function main() {}");
+        assertNotSame(output1.getRootParser(), output2.getRootParser());
+        assertEquals(2, output1.getStatementParsers().size());
+        assertEquals(2, output1.getFunctionParserMap().size());
+        assertTrue(output1.getFunctionParserMap().containsKey("a"));
+        assertEquals(1, output2.getFunctionParserMap().size());
+        assertThrows(UnsupportedOperationException.class, () -> output1.getStatementParsers().clear());
+        assertEquals(300, checker.evaluate("function a() {}").getErrorCode());
+    }
+
+    @Test
+    public void testSharedAcrossThreads() throws ExecutionException, InterruptedException {
+        JavetSanitizerStatelessChecker<JavaScriptStatementListParser> checker =
+                JavetSanitizerStatelessChecker.ofStatementList(JavetSanitizerOption.Default);
+        final int threadCount = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                final int index = i;
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 100; j++) {
+                        String codeString = "const a" + index + " = " + j + ";\nconst b = a" + index + ";";
+                        JavetSanitizerCheckOutput<JavaScriptStatementListParser> output = checker.check(codeString);
+                        if (!output.getRootParser().getCodeString().equals(codeString)
+                                || output.getStatementParsers().size() != 2) {
+                            return false;
+                        }
+                        if (checker.evaluate("eval('" + j + "');").getErrorCode() != 100) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testSingleExpression() throws JavetSanitizerException {
+        JavetSanitizerCheckOutput<?> output = JavetSanitizerStatelessChecker
+                .ofSingleExpression(JavetSanitizerOption.Default)
+                .check("a + 1");
+        assertEquals("a+1", output.getRootParser().getContext().getText());
+        assertTrue(output.getStatementParsers().isEmpty());
+        assertTrue(output.getFunctionParserMap().isEmpty());
+    }
+}
@@ -16,16 +16,164 @@
 
 package com.caoccao.javet.sanitizer.checkers;
 
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerError;
 import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
 import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptParserGuard;
+import com.caoccao.javet.sanitizer.parsers.JavaScriptStatementListParser;
+import com.caoccao.javet.sanitizer.utils.CharStreamUtils;
 import com.caoccao.javet.sanitizer.utils.SimpleList;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestJavetSanitizerStatementListChecker extends BaseTestJavetSanitizerChecker {
+    @Test
+    public void testConcurrentChecks() throws ExecutionException, InterruptedException, JavetSanitizerException {
+        List<String> statements = SimpleList.of(
+                "const a = 1;",
+                "eval('1');",
+                "function b(c) { return c?.['d'] ?? 1; }",
+                "const e = Object;",
+                "Object = 1;",
+                "const f = ;");
+        List<Integer> expectedErrorCodes = new ArrayList<>();
+        for (String statement : statements) {
+            expectedErrorCodes.add(new JavetSanitizerStatementListChecker().evaluate(statement).getErrorCode());
+        }
+        assertEquals(SimpleList.of(0, 100, 0, 0, 100, 200), expectedErrorCodes);
+        final int threadCount = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                final int offset = i;
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        int index = (offset + j) % statements.size();
+                        JavetSanitizerCheckResult result =
+                                new JavetSanitizerStatementListChecker().evaluate(statements.get(index));
+                        if (result.getErrorCode() != expectedErrorCodes.get(index)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get(), "Concurrent checks on the same option should not interfere.");
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertNotSame(JavetSanitizerOption.Default.createListener(), JavetSanitizerOption.Default.createListener());
+    }
+
+    @Test
+    public void testEvaluate() {
+        JavetSanitizerStatementListChecker checker = new JavetSanitizerStatementListChecker();
+        JavetSanitizerCheckResult result = checker.evaluate("const a = 1;");
+        assertTrue(result.isPassed());
+        assertEquals(0, result.getErrorCode());
+        assertNull(result.getError());
+        assertNull(result.getMessage());
+        assertNull(result.getContext());
+        assertTrue(result.getParseDuration().toNanos() > 0);
+        assertTrue(result.getWalkDuration().toNanos() > 0);
+        assertTrue(result.getDuration().compareTo(result.getParseDuration()) >= 0);
+        result = checker.evaluate("const a = 1;\neval('1');");
+        assertFalse(result.isPassed());
+        assertEquals(JavetSanitizerError.IdentifierNotAllowed, result.getError());
+        assertEquals(100, result.getErrorCode());
+        assertEquals("eval", result.getParameters().get("identifier"));
+        assertEquals("Identifier eval is not allowed.", result.getMessage());
+        assertEquals(2, result.getContext().getStartLineNumber());
+        assertTrue(result.getParseDuration().toNanos() > 0);
+        result = checker.evaluate("const a = ;");
+        assertEquals(200, result.getErrorCode());
+        assertEquals(0L, result.getWalkDuration().toNanos());
+        result = checker.evaluate(" ");
+        assertEquals(JavetSanitizerError.EmptyCodeString, result.getError());
+        assertNull(result.getContext());
+        assertEquals(100, checker.evaluate(CharStreamUtils.fromCharSequence("eval")).getErrorCode());
+    }
+
+    @Test
+    public void testEvaluateAsCheck() {
+        JavetSanitizerOption option = JavetSanitizerOption.Default.toClone()
+                .setReservedIdentifierMatcher(identifier -> identifier.startsWith("$"))
+                .seal();
+        JavetSanitizerStatementListChecker checker = new JavetSanitizerStatementListChecker(option);
+        invalidIdentifierCodeStringMap.keySet().forEach(codeString -> assertEvaluation(checker, codeString));
+        SimpleList.of(" ", "const a = ;", "import { x } from 'x.mjs';")
+                .forEach(codeString -> assertEvaluation(checker, codeString));
+        option = JavetSanitizerOption.Default.toClone()
+                .setMaxTokenCount(4)
+                .seal();
+        assertEvaluation(new JavetSanitizerStatementListChecker(option), "const a = 1;");
+        option = JavetSanitizerOption.Default.toClone()
+                .setStreamingEnabled(true)
+                .seal();
+        assertEvaluation(new JavetSanitizerStatementListChecker(option), "const a = 1;\neval('1');");
+    }
+
+    @Test
+    public void testInputTypes() throws IOException, JavetSanitizerException {
+        String codeString = "const a = '😀';\nfunction b(c) { return c?.['d'] ?? a; }";
+        JavetSanitizerStatementListChecker checker = new JavetSanitizerStatementListChecker();
+        assertTrue(checker.check(new StringBuilder(codeString)));
+        assertEquals(2, checker.getRootParser().getContext().statement().size());
+        char[] chars = ("/*" + codeString + "*/").toCharArray();
+        assertTrue(checker.check(chars, 2, codeString.length()));
+        assertEquals(2, checker.getRootParser().getJavaScriptStatementParsers().size());
+        assertTrue(checker.check(ByteBuffer.wrap(codeString.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(codeString, checker.getRootParser().getCodeString());
+        assertException(
+                () -> new JavetSanitizerStatementListChecker().check(new StringBuilder(" \n ")),
+                2, "The JavaScript code is empty.",
+                null);
+        assertException(
+                () -> new JavetSanitizerStatementListChecker().check(
+                        ByteBuffer.wrap("const a = 1;\neval('1');".getBytes(StandardCharsets.UTF_8))),
+                100, "Identifier eval is not allowed.",
+                "Source Code: eval\n" +
+                        "Line Number: 2, 2\n" +
+                        "Column: 0, 4\n" +
+                        "Position: 13, 17");
+        Path path = Files.createTempFile("javet-sanitizer-", ".js");
+        try {
+            Files.write(path, codeString.getBytes(StandardCharsets.UTF_8));
+            assertTrue(checker.check(path));
+            assertEquals(codeString, checker.getRootParser().getCodeString());
+        } finally {
+            Files.delete(path);
+        }
+        JavetSanitizerModuleChecker moduleChecker = new JavetSanitizerModuleChecker();
+        assertTrue(moduleChecker.check(new StringBuilder("function main() {}\nfunction b() {}")));
+        assertEquals(2, moduleChecker.getFunctionParserMap().size());
+    }
+
     @Test
     public void testInvalidIdentifiers() {
         JavetSanitizerOption option = JavetSanitizerOption.Default.toClone()
@@ -183,6 +331,216 @@ public class TestJavetSanitizerStatementListChecker extends BaseTestJavetSanitiz
                         "Position: 2, 6");
     }
 
+    @Test
+    public void testParallelWalk() throws JavetSanitizerException {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 200; i++) {
+                sb.append("function f").append(i).append("(a) { return a + ").append(i).append("; }\n");
+            }
+            String validCodeString = sb.toString();
+            JavetSanitizerStatementListChecker checker = new JavetSanitizerStatementListChecker()
+                    .setForkJoinPool(forkJoinPool);
+            assertSame(forkJoinPool, checker.getForkJoinPool());
+            assertTrue(checker.check(validCodeString));
+            assertEquals(200, checker.getStatementParsers().size());
+            String invalidCodeString = validCodeString.replace("return a + 150;", "return eval(a);")
+                    .replace("return a + 30;", "return Object = a;");
+            JavetSanitizerCheckResult expectedResult =
+                    new JavetSanitizerStatementListChecker().evaluate(invalidCodeString);
+            assertEquals(100, expectedResult.getErrorCode());
+            for (int i = 0; i < 10; i++) {
+                JavetSanitizerCheckResult result = checker.evaluate(invalidCodeString);
+                assertEquals(expectedResult.getErrorCode(), result.getErrorCode());
+                assertEquals(expectedResult.getMessage(), result.getMessage());
+                assertEquals(expectedResult.getContext().toString(), result.getContext().toString(),
+                        "The first violation in source order should be reported.");
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testResourceLimits() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            sb.append("const a").append(i).append(" = [").append(i).append(", { b: ").append(i).append(" }];\n");
+        }
+        String largeCodeString = sb.toString();
+        StringBuilder nestedSb = new StringBuilder("const a = ");
+        for (int i = 0; i < 100; i++) {
+            nestedSb.append('(');
+        }
+        nestedSb.append('1');
+        for (int i = 0; i < 100; i++) {
+            nestedSb.append(')');
+        }
+        String nestedCodeString = nestedSb.append(';').toString();
+        // Each term of a binary operator chain is a left-recursive level of the parse tree.
+        StringBuilder chainSb = new StringBuilder("x = a");
+        for (int i = 1; i < 20000; i++) {
+            chainSb.append("+a");
+        }
+        String chainCodeString = chainSb.append(';').toString();
+        JavetSanitizerOption option = JavetSanitizerOption.Default.toClone()
+                .setMaxSourceLength(20)
+                .seal();
+        assertEquals(0, new JavetSanitizerStatementListChecker(option).evaluate("const a = 1;").getErrorCode());
+        JavetSanitizerCheckResult result = new JavetSanitizerStatementListChecker(option)
+                .evaluate("const a = 1234567890;");
+        assertEquals(JavetSanitizerError.SourceLengthTooLarge, result.getError());
+        assertEquals("Source length 21 is greater than the maximal source length 20.", result.getMessage());
+        option = JavetSanitizerOption.Default.toClone()
+                .setMaxTokenCount(100)
+                .seal();
+        assertEquals(0, new JavetSanitizerStatementListChecker(option).evaluate("const a = 1;").getErrorCode());
+        assertEquals(
+                JavetSanitizerError.TokenCountTooLarge,
+                new JavetSanitizerStatementListChecker(option).evaluate(largeCodeString).getError());
+        option = JavetSanitizerOption.Default.toClone()
+                .setMaxParseTreeDepth(200)
+                .seal();
+        assertEquals(0, new JavetSanitizerStatementListChecker(option).evaluate(largeCodeString).getErrorCode());
+        assertEquals(
+                JavetSanitizerError.ParseTreeDepthTooLarge,
+                new JavetSanitizerStatementListChecker(option).evaluate(nestedCodeString).getError());
+        assertEquals(
+                JavetSanitizerError.ParseTreeDepthTooLarge,
+                new JavetSanitizerStatementListChecker(option.toClone().setTwoStagePredictionEnabled(true).seal())
+                        .evaluate(nestedCodeString).getError());
+        result = new JavetSanitizerStatementListChecker(option).evaluate(chainCodeString);
+        assertEquals(JavetSanitizerError.ParseTreeDepthTooLarge, result.getError());
+        assertEquals(0, new JavetSanitizerStatementListChecker(option).evaluate("x = a+a+a+a+a;").getErrorCode());
+        option = JavetSanitizerOption.Default.toClone()
+                .setMaxParseTimeMillis(1L)
+                .seal();
+        // The clock advances 1ms per reading, so the deadline has passed at the second deadline check.
+        final AtomicLong nanoTime = new AtomicLong();
+        result = new JavetSanitizerStatementListChecker(option) {
+            @Override
+            protected JavaScriptStatementListParser createRootParser(String codeString)
+                    throws JavetSanitizerException {
+                return new JavaScriptStatementListParser(option, codeString) {
+                    @Override
+                    protected JavaScriptParserGuard createParserGuard() {
+                        return JavaScriptParserGuard.of(option, () -> nanoTime.getAndAdd(1000000L));
+                    }
+                };
+            }
+        }.evaluate(largeCodeString);
+        assertEquals(JavetSanitizerError.ParseTimeout, result.getError());
+        assertEquals("Parse time is greater than the maximal parse time 1ms.", result.getMessage());
+        option = JavetSanitizerOption.Default.toClone()
+                .setMaxParseTimeMillis(60000L)
+                .setMaxParseTreeDepth(1000)
+                .setMaxSourceLength(1000000)
+                .setMaxTokenCount(1000000)
+                .seal();
+        assertEquals(0, new JavetSanitizerStatementListChecker(option).evaluate(largeCodeString).getErrorCode());
+    }
+
+    @Test
+    public void testStreaming() throws JavetSanitizerException {
+        JavetSanitizerOption option = JavetSanitizerOption.Default.toClone()
+                .setStreamingEnabled(true)
+                .seal();
+        JavetSanitizerStatementListChecker checker = new JavetSanitizerStatementListChecker(option);
+        assertTrue(checker.check("const a = 1 + 2 * 3 - b.c(d)[0];\nfunction e(f) { return f?.['g'] ?? a; }"));
+        assertEquals(2, checker.getRootParser().getContext().statement().size());
+        // Each script has a single violation, so the streaming error matches the walk error.
+        // The context may be narrower because the innermost rule is checked first.
+        List<String> statements = SimpleList.of(
+                "(async function() {})()",
+                "function a() { await 1; }",
+                "function a() { debugger }",
+                "var a = 1;",
+                "let Object = 1;",
+                "Object += 1;",
+                "[Object, JSON] = [1, 2];",
+                "try {} catch (Object) {}",
+                "(Object) => {}",
+                "const a = 1 + 2 + (b + eval);",
+                "a = b = c = (Object = 1);",
+                "const a = ;");
+        for (String statement : statements) {
+            JavetSanitizerException walkException = assertThrows(
+                    JavetSanitizerException.class,
+                    () -> new JavetSanitizerStatementListChecker().check(statement),
+                    statement + " should fail.");
+            assertException(
+                    () -> new JavetSanitizerStatementListChecker(option).check(statement),
+                    walkException.getError().getCode(),
+                    walkException.getMessage(),
+                    null);
+        }
+        invalidIdentifierCodeStringMap.forEach((key, value) -> {
+            if (!value.startsWith("$")) {
+                assertException(
+                        () -> new JavetSanitizerStatementListChecker(option).check(key),
+                        100, "Identifier " + value + " is not allowed.",
+                        null);
+            }
+        });
+        // The parse is aborted at the violation before the syntax error is reached.
+        assertEquals(200, assertThrows(
+                JavetSanitizerException.class,
+                () -> new JavetSanitizerStatementListChecker().check("eval('1');\nconst a = ;"))
+                .getError().getCode());
+        assertException(
+                () -> new JavetSanitizerStatementListChecker(option).check("eval('1');\nconst a = ;"),
+                100, "Identifier eval is not allowed.",
+                "Source Code: eval\n" +
+                        "Line Number: 1, 1\n" +
+                        "Column: 0, 4\n" +
+                        "Position: 0, 4");
+        // The left operand exits from the recursion loop before the parser sets its stop token.
+        assertException(
+                () -> new JavetSanitizerStatementListChecker(option).check("const a = eval + 1 + 2;"),
+                100, "Identifier eval is not allowed.",
+                "Source Code: eval\n" +
+                        "Line Number: 1, 1\n" +
+                        "Column: 10, 14\n" +
+                        "Position: 10, 14");
+        JavetSanitizerOption twoStageOption = option.toClone()
+                .setTwoStagePredictionEnabled(true)
+                .seal();
+        assertTrue(new JavetSanitizerStatementListChecker(twoStageOption).check("const a = b?.c?.d;"));
+        assertException(
+                () -> new JavetSanitizerStatementListChecker(twoStageOption).check("const a = eval;"),
+                100, "Identifier eval is not allowed.",
+                null);
+    }
+
+    @Test
+    public void testTwoStagePrediction() throws JavetSanitizerException {
+        JavetSanitizerOption option = JavetSanitizerOption.Default.toClone()
+                .setTwoStagePredictionEnabled(true)
+                .seal();
+        JavetSanitizerStatementListChecker checker = new JavetSanitizerStatementListChecker(option);
+        assertNull(checker.getRootParser());
+        assertTrue(checker.check("const a = 1; function b(c) { return c?.['d'] ?? a; }"));
+        assertEquals(PredictionMode.SLL, checker.getRootParser().getPredictionMode());
+        checker = new JavetSanitizerStatementListChecker();
+        assertTrue(checker.check("const a = 1;"));
+        assertEquals(PredictionMode.LL, checker.getRootParser().getPredictionMode());
+        JavetSanitizerException llException = assertThrows(
+                JavetSanitizerException.class,
+                () -> new JavetSanitizerStatementListChecker().check("const a = ;"));
+        assertException(
+                () -> new JavetSanitizerStatementListChecker(option).check("const a = ;"),
+                200, llException.getMessage(),
+                llException.getContext().toString());
+        assertException(
+                () -> new JavetSanitizerStatementListChecker(option).check("eval('1');"),
+                100, "Identifier eval is not allowed.",
+                "Source Code: eval\n" +
+                        "Line Number: 1, 1\n" +
+                        "Column: 0, 4\n" +
+                        "Position: 0, 4");
+    }
+
     @Test
     public void testValidStatements() throws JavetSanitizerException {
         JavetSanitizerOption option = JavetSanitizerOption.Default.toClone()
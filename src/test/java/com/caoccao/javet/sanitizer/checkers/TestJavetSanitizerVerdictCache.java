@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.utils.CharStreamUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavetSanitizerVerdictCache {
+    @Test
+    public void testEvaluate() {
+        JavetSanitizerVerdictCache cache = new JavetSanitizerVerdictCache(2);
+        JavetSanitizerStatelessChecker<?> statementListChecker =
+                JavetSanitizerStatelessChecker.ofStatementList(JavetSanitizerOption.Default);
+        JavetSanitizerStatelessChecker<?> singleExpressionChecker =
+                JavetSanitizerStatelessChecker.ofSingleExpression(JavetSanitizerOption.Default);
+        assertTrue(cache.evaluate(statementListChecker, "const a = 1;").isPassed());
+        assertTrue(cache.evaluate(statementListChecker, CharStreamUtils.fromCharSequence("const a = 1;")).isPassed());
+        JavetSanitizerCheckResult result1 = cache.evaluate(statementListChecker, "const a = 1;\neval('1');");
+        JavetSanitizerCheckResult result2 = cache.evaluate(statementListChecker, "const a = 1;\neval('1');");
+        assertEquals(100, result1.getErrorCode());
+        assertEquals(result1.getMessage(), result2.getMessage());
+        assertEquals(result1.getContext().getStartLineNumber(), result2.getContext().getStartLineNumber());
+        assertEquals(result1.getContext().getStartColumn(), result2.getContext().getStartColumn());
+        assertEquals(result1.getContext().getStartPosition(), result2.getContext().getStartPosition());
+        assertEquals(result1.getContext().getEndPosition(), result2.getContext().getEndPosition());
+        assertNotSame(result1.getContext(), result2.getContext());
+        JavetSanitizerVerdictCacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(2, statistics.getSize());
+        assertEquals(0.5D, statistics.getHitRate());
+        // The checker class is part of the key.
+        assertFalse(cache.evaluate(singleExpressionChecker, "const a = 1;").isPassed());
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+        assertEquals(2, cache.size());
+        // Options with the same fingerprint share the verdicts.
+        JavetSanitizerStatelessChecker<?> equivalentChecker =
+                JavetSanitizerStatelessChecker.ofSingleExpression(new JavetSanitizerOption("Equivalent").seal());
+        assertFalse(cache.evaluate(equivalentChecker, "const a = 1;").isPassed());
+        assertEquals(3, cache.getStatistics().getHitCount());
+        // An option that is not sealed bypasses the cache.
+        JavetSanitizerStatelessChecker<?> unsealedChecker =
+                JavetSanitizerStatelessChecker.ofStatementList(new JavetSanitizerOption("Unsealed"));
+        assertTrue(cache.evaluate(unsealedChecker, "const b = 1;").isPassed());
+        assertEquals(3, cache.getStatistics().getMissCount());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getStatistics().getHitCount());
+    }
+}
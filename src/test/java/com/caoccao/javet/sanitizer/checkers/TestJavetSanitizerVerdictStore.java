@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.checkers;
+
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.utils.CharStreamUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavetSanitizerVerdictStore {
+    @Test
+    public void testEvaluate() throws IOException {
+        JavetSanitizerStatelessChecker<?> checker =
+                JavetSanitizerStatelessChecker.ofStatementList(JavetSanitizerOption.Default);
+        Path path = Files.createTempFile("javet-sanitizer-verdict-store", ".bin");
+        try {
+            try (JavetSanitizerVerdictStore store = JavetSanitizerVerdictStore.open(path, 64)) {
+                assertEquals(64, store.getSlotCount());
+                assertFalse(store.evaluate(checker, "const a = 1;").getParseDuration().isZero());
+                assertEquals(100, store.evaluate(checker, "eval('1');").getErrorCode());
+                // The verdicts are shared by other stores on the same file.
+                try (JavetSanitizerVerdictStore anotherStore = JavetSanitizerVerdictStore.open(path, 128)) {
+                    assertEquals(64, anotherStore.getSlotCount());
+                    JavetSanitizerCheckResult result = anotherStore.evaluate(checker, "const a = 1;");
+                    assertTrue(result.isPassed());
+                    assertTrue(result.getParseDuration().isZero());
+                }
+            }
+            // The verdicts survive a restart.
+            try (JavetSanitizerVerdictStore store = JavetSanitizerVerdictStore.open(path)) {
+                assertEquals(64, store.getSlotCount());
+                JavetSanitizerCheckResult result = store.evaluate(checker, CharStreamUtils.fromCharSequence("eval('1');"));
+                assertEquals(100, result.getErrorCode());
+                assertTrue(result.getParseDuration().isZero());
+                assertNull(result.getContext());
+                assertTrue(store.evaluate(
+                        JavetSanitizerStatelessChecker.ofStatementList(new JavetSanitizerOption("Other").seal()),
+                        "eval('1');").getParseDuration().isZero());
+                assertFalse(store.evaluate(
+                        JavetSanitizerStatelessChecker.ofSingleExpression(JavetSanitizerOption.Default),
+                        "eval('1')").getParseDuration().isZero());
+            }
+            // An incompatible header triggers a rebuild.
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(path.toFile(), "rw")) {
+                randomAccessFile.seek(16);
+                randomAccessFile.writeInt(0);
+            }
+            try (JavetSanitizerVerdictStore store = JavetSanitizerVerdictStore.open(path, 32)) {
+                assertEquals(32, store.getSlotCount());
+                assertFalse(store.evaluate(checker, "const a = 1;").getParseDuration().isZero());
+            }
+        } finally {
+            // The file cannot be deleted on Windows while it is still mapped.
+            path.toFile().deleteOnExit();
+        }
+        assertThrows(IllegalArgumentException.class, () -> JavetSanitizerVerdictStore.open(path, 3));
+    }
+}
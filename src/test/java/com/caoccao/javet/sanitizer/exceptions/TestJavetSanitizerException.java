@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.exceptions;
+
+import com.caoccao.javet.sanitizer.checkers.JavetSanitizerStatementListChecker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavetSanitizerException {
+    @Test
+    public void testStackTraceEnabled() {
+        assertTrue(JavetSanitizerException.isStackTraceEnabled());
+        assertTrue(JavetSanitizerException.emptyCodeString().getStackTrace().length > 0);
+        JavetSanitizerException.setStackTraceEnabled(false);
+        try {
+            assertEquals(0, JavetSanitizerException.emptyCodeString().getStackTrace().length);
+            JavetSanitizerException exception = assertThrows(
+                    JavetSanitizerException.class,
+                    () -> new JavetSanitizerStatementListChecker().check("eval('1');"));
+            assertEquals("Identifier eval is not allowed.", exception.getMessage());
+            assertEquals(0, exception.getStackTrace().length);
+            assertEquals("eval", exception.getContext().getSourceLine());
+        } finally {
+            JavetSanitizerException.setStackTraceEnabled(true);
+        }
+        assertEquals(0, JavetSanitizerAbortException.INSTANCE.getStackTrace().length);
+    }
+}
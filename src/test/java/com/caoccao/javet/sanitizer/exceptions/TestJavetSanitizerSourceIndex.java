@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.exceptions;
+
+import com.caoccao.javet.sanitizer.checkers.JavetSanitizerStatementListChecker;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavetSanitizerSourceIndex {
+    @Test
+    public void testLazyErrorContext() {
+        JavetSanitizerException exception = assertThrows(
+                JavetSanitizerException.class,
+                () -> new JavetSanitizerStatementListChecker().check("const a = '😀';\nconst b = 1 +\n  eval;"));
+        JavetSanitizerErrorContext context = exception.getContext();
+        assertEquals(
+                "Source Code: eval\n" +
+                        "Line Number: 3, 3\n" +
+                        "Column: 2, 6\n" +
+                        "Position: 31, 35",
+                context.toString());
+        assertEquals("const a = '😀';\nconst b = 1 +\n  eval;", context.getSourceCode());
+        context.setStartColumn(0);
+        assertEquals(0, context.getStartColumn());
+        assertEquals(3, context.getStartLineNumber());
+    }
+
+    @Test
+    public void testLineNumbersAndColumns() {
+        String codeString = "a\n😀b\n\nc";
+        JavetSanitizerSourceIndex sourceIndex = new JavetSanitizerSourceIndex(CharStreams.fromString(codeString), null);
+        assertEquals(4, sourceIndex.getLineCount());
+        int[][] expectedLineNumberAndColumns = new int[][]{
+                {1, 0}, {1, 1}, {2, 0}, {2, 1}, {2, 2}, {3, 0}, {4, 0}, {4, 1}};
+        for (int position = 0; position < expectedLineNumberAndColumns.length; position++) {
+            int lineNumber = sourceIndex.getLineNumber(position);
+            assertEquals(expectedLineNumberAndColumns[position][0], lineNumber, "Line number of " + position);
+            assertEquals(expectedLineNumberAndColumns[position][1], sourceIndex.getColumn(lineNumber, position),
+                    "Column of " + position);
+        }
+        assertEquals("😀b", sourceIndex.getText(2, 4));
+        assertEquals(codeString, sourceIndex.getSourceCode());
+    }
+}
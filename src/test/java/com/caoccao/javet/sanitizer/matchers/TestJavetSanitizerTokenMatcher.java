@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.matchers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
+import com.caoccao.javet.sanitizer.checkers.JavetSanitizerSingleExpressionChecker;
+import com.caoccao.javet.sanitizer.checkers.JavetSanitizerStatementListChecker;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import com.caoccao.javet.sanitizer.utils.SimpleList;
+import com.caoccao.javet.sanitizer.warmers.JavetSanitizerWarmer;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Token;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavetSanitizerTokenMatcher {
+    private Token matches(JavetSanitizerOption option, String codeString) {
+        CommonTokenStream tokenStream = new CommonTokenStream(new JavaScriptLexer(CharStreams.fromString(codeString)));
+        tokenStream.fill();
+        return JavetSanitizerTokenMatcher.getInstance().matches(option, tokenStream.getTokens());
+    }
+
+    @Test
+    public void testCheckerWithPrePass() {
+        JavetSanitizerOption option = JavetSanitizerOption.Default.toClone().setTokenPrePassEnabled(true).seal();
+        JavetSanitizerException exception = assertThrows(
+                JavetSanitizerException.class,
+                () -> new JavetSanitizerStatementListChecker(option).check("const a = 1;\nwith (a) {}"));
+        assertEquals(101, exception.getError().getCode());
+        assertEquals("Keyword with is not allowed.", exception.getMessage());
+        assertEquals(2, exception.getContext().getStartLineNumber());
+        exception = assertThrows(
+                JavetSanitizerException.class,
+                () -> new JavetSanitizerStatementListChecker(option).check("const a = eval('1');"));
+        assertEquals(100, exception.getError().getCode());
+        assertEquals("Identifier eval is not allowed.", exception.getMessage());
+        assertEquals(10, exception.getContext().getStartPosition());
+    }
+
+    @Test
+    public void testCheckerWithPrePassOnAndOff() {
+        JavetSanitizerOption prePassOption = JavetSanitizerOption.Default.toClone().setTokenPrePassEnabled(true).seal();
+        SimpleList.of(
+                "a = import.meta",
+                "a = import.meta.url",
+                "import('a')",
+                "a.with",
+                "eval('1')"
+        ).forEach(codeString -> assertEquals(
+                new JavetSanitizerSingleExpressionChecker().evaluate(codeString).isPassed(),
+                new JavetSanitizerSingleExpressionChecker(prePassOption).evaluate(codeString).isPassed(),
+                codeString + " should get the same verdict with or without the pre-pass."));
+        SimpleList.of(
+                "const a = import.meta;",
+                "const a = import.meta;\nwith (a) {}",
+                "import('a');",
+                "const a = { with: 1 };",
+                "with (a) {}"
+        ).forEach(codeString -> assertEquals(
+                new JavetSanitizerStatementListChecker().evaluate(codeString).isPassed(),
+                new JavetSanitizerStatementListChecker(prePassOption).evaluate(codeString).isPassed(),
+                codeString + " should get the same verdict with or without the pre-pass."));
+        assertNull(matches(JavetSanitizerOption.Default, "a = import.meta"));
+    }
+
+    @Test
+    public void testInvalidCases() {
+        SimpleList.of(
+                "with (a) {}",
+                "eval('1');",
+                "debugger;",
+                "var a = 1;",
+                "if (a) { var b = 1; }",
+                "(async () => {})();",
+                "const a = { b: async () => 1 };",
+                "import('a');",
+                "export const a = 1;",
+                "a = `${eval('1')}`;",
+                "const a = x.y(Function);"
+        ).forEach(codeString -> {
+            Token token = matches(JavetSanitizerOption.Default, codeString);
+            assertNotNull(token, codeString + " should be rejected.");
+            assertThrows(
+                    JavetSanitizerException.class,
+                    () -> new JavetSanitizerStatementListChecker().check(codeString),
+                    codeString + " should be rejected by the checker.");
+        });
+    }
+
+    @Test
+    public void testOptionFlags() {
+        JavetSanitizerOption option = JavetSanitizerOption.Default.toClone()
+                .setKeywordDebuggerEnabled(true)
+                .setKeywordVarEnabled(true)
+                .setKeywordWithEnabled(true)
+                .seal();
+        SimpleList.of("debugger;", "var a = 1;", "with (a) {}").forEach(codeString ->
+                assertNull(matches(option, codeString), codeString + " should pass."));
+    }
+
+    @Test
+    public void testSoundness() {
+        JavetSanitizerWarmer.DEFAULT_CORPUS.forEach(codeString -> {
+            if (matches(JavetSanitizerOption.Default, codeString) != null) {
+                assertThrows(
+                        JavetSanitizerException.class,
+                        () -> new JavetSanitizerStatementListChecker().check(codeString),
+                        codeString + " should be rejected by the checker.");
+            }
+        });
+    }
+
+    @Test
+    public void testValidCases() {
+        SimpleList.of(
+                "const a = x.with;",
+                "x.var = 1;",
+                "const a = { with: 1, debugger: 2 };",
+                "const a = { var() { return 1; } };",
+                "class A { with() {} }",
+                "class A { var = 1; }",
+                "const await = 1;",
+                "const yield = 1;",
+                "const a = 1; // with eval"
+        ).forEach(codeString -> {
+            assertNull(matches(JavetSanitizerOption.Default, codeString), codeString + " should pass.");
+            assertDoesNotThrow(
+                    () -> new JavetSanitizerStatementListChecker().check(codeString),
+                    codeString + " should pass the checker.");
+        });
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.options;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavetSanitizerOption {
+    @Test
+    public void testFingerprint() {
+        JavetSanitizerOption option = new JavetSanitizerOption("Test");
+        assertNull(option.getFingerprint());
+        assertNotEquals(JavetSanitizerOption.Default, option);
+        option.seal();
+        assertEquals(JavetSanitizerOption.FINGERPRINT_SIZE, option.getFingerprint().length);
+        assertArrayEquals(JavetSanitizerOption.Default.getFingerprint(), option.getFingerprint());
+        assertEquals(JavetSanitizerOption.Default, option);
+        assertEquals(JavetSanitizerOption.Default.hashCode(), option.hashCode());
+        // The clone has the same policy.
+        JavetSanitizerOption clonedOption = JavetSanitizerOption.Default.toClone().setKeywordVarEnabled(true);
+        assertNotEquals(clonedOption, clonedOption.toClone());
+        assertEquals(clonedOption.seal(), clonedOption.toClone().seal());
+        assertNotEquals(JavetSanitizerOption.Default, clonedOption);
+        // The order of a set does not matter.
+        JavetSanitizerOption option1 = new JavetSanitizerOption("1");
+        option1.getBuiltInObjectSet().clear();
+        option1.getBuiltInObjectSet().add("a");
+        option1.getBuiltInObjectSet().add("b");
+        JavetSanitizerOption option2 = new JavetSanitizerOption("2");
+        option2.getBuiltInObjectSet().clear();
+        option2.getBuiltInObjectSet().add("b");
+        option2.getBuiltInObjectSet().add("a");
+        assertEquals(option1.seal(), option2.seal());
+        // The order of a list matters.
+        JavetSanitizerOption option3 = new JavetSanitizerOption("3");
+        option3.getToBeFrozenIdentifierList().add(0, "Object");
+        assertNotEquals(JavetSanitizerOption.Default, option3.seal());
+        // The reserved identifier matcher is compared by identity.
+        Function<String, Boolean> matcher = identifier -> identifier.startsWith("$");
+        JavetSanitizerOption option4 = new JavetSanitizerOption("4").setReservedIdentifierMatcher(matcher).seal();
+        JavetSanitizerOption option5 = new JavetSanitizerOption("5").setReservedIdentifierMatcher(matcher).seal();
+        JavetSanitizerOption option6 = new JavetSanitizerOption("6")
+                .setReservedIdentifierMatcher(identifier -> identifier.startsWith("$")).seal();
+        assertEquals(option4, option5);
+        assertNotEquals(option4, option6);
+        assertNotEquals(JavetSanitizerOption.Default, option4);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.checkers.JavetSanitizerStatementListChecker;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.warmers.JavetSanitizerWarmer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavaScriptDFACacheManager {
+    @AfterEach
+    public void afterEach() {
+        JavaScriptDFACacheManager.getInstance()
+                .setMaxEstimatedBytes(0)
+                .setCheckInterval(JavaScriptDFACacheManager.DEFAULT_CHECK_INTERVAL)
+                .setResetPolicy(JavaScriptDFACacheResetPolicy.ClearAndRewarm)
+                .setRewarmHook(null)
+                .clearBaseline();
+    }
+
+    @Test
+    public void testCeiling() throws JavetSanitizerException {
+        JavaScriptDFACacheManager javaScriptDFACacheManager = JavaScriptDFACacheManager.getInstance();
+        AtomicInteger rewarmCount = new AtomicInteger(0);
+        javaScriptDFACacheManager
+                .setMaxEstimatedBytes(1)
+                .setCheckInterval(1)
+                .setRewarmHook(() -> {
+                    rewarmCount.incrementAndGet();
+                    new JavetSanitizerWarmer().addCodeString("const a = 1;").warm();
+                });
+        final long generation = javaScriptDFACacheManager.getGeneration();
+        assertTrue(new JavetSanitizerStatementListChecker().check("const a = [1, 2].map(x => x + 1);"));
+        assertEquals(generation + 1, javaScriptDFACacheManager.getGeneration());
+        assertEquals(1, rewarmCount.get(), "The parses in the rewarm hook should not trigger another reset.");
+        assertTrue(javaScriptDFACacheManager.getParserDFAStateCount() > 0);
+        javaScriptDFACacheManager.setMaxEstimatedBytes(0);
+        assertTrue(new JavetSanitizerStatementListChecker().check("const b = 2;"));
+        assertEquals(generation + 1, javaScriptDFACacheManager.getGeneration());
+    }
+
+    @Test
+    public void testClearAndStatistics() {
+        JavaScriptDFACacheManager javaScriptDFACacheManager = JavaScriptDFACacheManager.getInstance();
+        new JavetSanitizerWarmer().warm();
+        JavaScriptDFACacheStatistics statistics = javaScriptDFACacheManager.getStatistics();
+        assertTrue(statistics.getLexerDFAStateCount() > 0);
+        assertTrue(statistics.getParserDFAStateCount() > 0);
+        assertTrue(statistics.getParserContextCacheSize() > 0);
+        assertTrue(statistics.getEstimatedBytes() > 0);
+        assertEquals(statistics.getLexerDFAStateCount(), javaScriptDFACacheManager.getLexerDFAStateCount());
+        assertEquals(statistics.getParserDFAStateCount(), javaScriptDFACacheManager.getParserDFAStateCount());
+        javaScriptDFACacheManager.clear();
+        JavaScriptDFACacheStatistics clearedStatistics = javaScriptDFACacheManager.getStatistics();
+        assertEquals(statistics.getGeneration() + 1, clearedStatistics.getGeneration());
+        assertEquals(0, clearedStatistics.getLexerDFAStateCount());
+        assertEquals(0, clearedStatistics.getParserDFAStateCount());
+        assertEquals(0, clearedStatistics.getParserContextCacheSize());
+        assertTrue(clearedStatistics.getEstimatedBytes() < statistics.getEstimatedBytes());
+    }
+
+    @Test
+    public void testConcurrentReset() throws InterruptedException, ExecutionException {
+        JavaScriptDFACacheManager javaScriptDFACacheManager = JavaScriptDFACacheManager.getInstance();
+        javaScriptDFACacheManager.setMaxEstimatedBytes(1).setCheckInterval(7);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; ++i) {
+                final String codeString = "const a" + i + " = [" + i + "].map(x => x * " + i + ");";
+                futures.add(executorService.submit(() -> new JavetSanitizerStatementListChecker().check(codeString)));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        }
+    }
+
+    @Test
+    public void testGenerational() throws JavetSanitizerException {
+        JavaScriptDFACacheManager javaScriptDFACacheManager = JavaScriptDFACacheManager.getInstance();
+        javaScriptDFACacheManager.clear();
+        new JavetSanitizerWarmer().addCodeString("const a = 1;").warm();
+        javaScriptDFACacheManager.setResetPolicy(JavaScriptDFACacheResetPolicy.Generational).markBaseline();
+        final int lexerDFAStateCount = javaScriptDFACacheManager.getLexerDFAStateCount();
+        final int parserDFAStateCount = javaScriptDFACacheManager.getParserDFAStateCount();
+        assertTrue(javaScriptDFACacheManager.getStatistics().getBaselineBytes() > 0);
+        new JavetSanitizerWarmer().warm();
+        assertTrue(javaScriptDFACacheManager.getParserDFAStateCount() > parserDFAStateCount);
+        final long generation = javaScriptDFACacheManager.getGeneration();
+        assertTrue(javaScriptDFACacheManager.reset());
+        assertEquals(generation + 1, javaScriptDFACacheManager.getGeneration());
+        assertEquals(lexerDFAStateCount, javaScriptDFACacheManager.getLexerDFAStateCount());
+        assertEquals(parserDFAStateCount, javaScriptDFACacheManager.getParserDFAStateCount());
+        assertTrue(new JavetSanitizerStatementListChecker().check("const a = 1;"));
+        assertEquals(parserDFAStateCount, javaScriptDFACacheManager.getParserDFAStateCount());
+    }
+}
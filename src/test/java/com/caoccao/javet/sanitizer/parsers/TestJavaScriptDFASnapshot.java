@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptLexer;
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.warmers.JavetSanitizerWarmer;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.ATNConfig;
+import org.antlr.v4.runtime.atn.LexerATNConfig;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.dfa.DFAState;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavaScriptDFASnapshot {
+    private static int getNonGreedyConfigCount(DFA[] dfas) {
+        int count = 0;
+        for (DFA dfa : dfas) {
+            for (DFAState state : dfa.states.keySet()) {
+                for (ATNConfig config : state.configs) {
+                    if (((LexerATNConfig) config).hasPassedThroughNonGreedyDecision()) {
+                        ++count;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static List<Set<List<Object>>> getStates(DFA[] dfas) {
+        // DFAState.equals() compares the conflicting alts by reference, so the states are compared by value.
+        List<Set<List<Object>>> states = new ArrayList<>(dfas.length);
+        for (DFA dfa : dfas) {
+            Set<List<Object>> stateSet = new HashSet<>();
+            for (DFAState state : dfa.states.keySet()) {
+                stateSet.add(Arrays.asList(
+                        state.configs.elements(),
+                        state.configs.dipsIntoOuterContext,
+                        state.configs.hasSemanticContext,
+                        state.configs.uniqueAlt,
+                        state.isAcceptState,
+                        state.prediction,
+                        state.requiresFullContext));
+            }
+            states.add(stateSet);
+        }
+        return states;
+    }
+
+    private static int getStateCount(DFA[] dfas) {
+        int count = 0;
+        for (DFA dfa : dfas) {
+            count += dfa.states.size();
+        }
+        return count;
+    }
+
+    @Test
+    public void testIncompatible() throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream dataOutputStream = new DataOutputStream(new GZIPOutputStream(byteArrayOutputStream))) {
+            dataOutputStream.writeInt(JavaScriptDFASnapshot.MAGIC);
+            dataOutputStream.writeInt(JavaScriptDFASnapshot.FORMAT_VERSION + 1);
+        }
+        assertFalse(JavaScriptDFASnapshot.load(new ByteArrayInputStream(byteArrayOutputStream.toByteArray())));
+        byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream dataOutputStream = new DataOutputStream(new GZIPOutputStream(byteArrayOutputStream))) {
+            dataOutputStream.writeInt(0);
+        }
+        final byte[] bytes = byteArrayOutputStream.toByteArray();
+        assertThrows(IOException.class, () -> JavaScriptDFASnapshot.load(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException, JavetSanitizerException {
+        DFA[] lexerDFA = new JavaScriptLexer(null).getInterpreter().decisionToDFA;
+        DFA[] parserDFA = new JavaScriptParser(null).getInterpreter().decisionToDFA;
+        new JavetSanitizerWarmer().warm();
+        JavaScriptLexer javaScriptLexer = new JavaScriptLexer(CharStreams.fromString("/* a * b ** / c */ /* */ x"));
+        while (javaScriptLexer.nextToken().getType() != Token.EOF) {
+            // Lex the non-greedy comments.
+        }
+        final int nonGreedyConfigCount = getNonGreedyConfigCount(lexerDFA);
+        assertTrue(nonGreedyConfigCount > 0);
+        final List<Set<List<Object>>> lexerStates = getStates(lexerDFA);
+        final List<Set<List<Object>>> parserStates = getStates(parserDFA);
+        final int lexerStateCount = getStateCount(lexerDFA);
+        final int parserStateCount = getStateCount(parserDFA);
+        assertTrue(lexerStateCount > 0);
+        assertTrue(parserStateCount > 0);
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        JavaScriptDFASnapshot.save(byteArrayOutputStream);
+        JavaScriptDFACacheManager.getInstance().clear();
+        assertEquals(0, getStateCount(parserDFA));
+        assertTrue(JavaScriptDFASnapshot.load(new ByteArrayInputStream(byteArrayOutputStream.toByteArray())));
+        assertEquals(lexerStateCount, getStateCount(lexerDFA));
+        assertEquals(parserStateCount, getStateCount(parserDFA));
+        assertEquals(nonGreedyConfigCount, getNonGreedyConfigCount(lexerDFA));
+        assertEquals(lexerStates, getStates(lexerDFA), "The lexer configs should survive the round trip.");
+        assertEquals(parserStates, getStates(parserDFA), "The parser configs should survive the round trip.");
+        JavetSanitizerWarmer warmer = new JavetSanitizerWarmer().warm();
+        assertEquals(0, warmer.getLexerDFAStateCreatedCount(), "The loaded lexer DFA should be reused.");
+        assertEquals(0, warmer.getParserDFAStateCreatedCount(), "The loaded parser DFA should be reused.");
+        JavaScriptStatementListParser parser = new JavaScriptStatementListParser(
+                "const a = [1, 2].map(x => x * 2);\nfunction b() { return a; }").parse();
+        assertEquals(2, parser.getContext().statement().size());
+    }
+}
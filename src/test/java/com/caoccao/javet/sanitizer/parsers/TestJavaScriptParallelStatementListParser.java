@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import com.caoccao.javet.sanitizer.options.JavetSanitizerOption;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavaScriptParallelStatementListParser {
+    private static final String CODE_STRING = "function a(x) { return `${x}:${[x, 1].length}`; }\n" +
+            "if (a) { b(); } else { c(); }\n" +
+            "do { d(); } while (e);\n" +
+            "try { f(); } catch (g) { h(); } finally { i(); }\n" +
+            "const j = { k: 1, l: [1, 2, 3] };\n" +
+            "m = function () {}\n" +
+            "function n() { return /;/.test('o'); }\n" +
+            "class P { q() { return 1; } }\n" +
+            "for (let r = 0; r < 1; ++r) { s(r); }\n";
+    private static ForkJoinPool forkJoinPool;
+
+    @AfterAll
+    public static void afterAll() {
+        forkJoinPool.shutdown();
+    }
+
+    @BeforeAll
+    public static void beforeAll() {
+        forkJoinPool = new ForkJoinPool(4);
+    }
+
+    private static String repeat(String codeString, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(codeString);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testParse() throws JavetSanitizerException {
+        String codeString = repeat(CODE_STRING, 50);
+        JavaScriptStatementListParser expectedParser = new JavaScriptStatementListParser(codeString).parse();
+        JavaScriptParallelStatementListParser parser = new JavaScriptParallelStatementListParser(
+                JavetSanitizerOption.Default, codeString, forkJoinPool, 64);
+        parser.parse();
+        assertTrue(parser.getChunkCount() > 1, "The code should be split into chunks.");
+        List<JavaScriptParser.StatementContext> expectedStatements = expectedParser.getContext().statement();
+        List<JavaScriptParser.StatementContext> statements = parser.getContext().statement();
+        assertEquals(expectedStatements.size(), statements.size());
+        for (int i = 0; i < statements.size(); i++) {
+            JavaScriptParser.StatementContext expectedStatement = expectedStatements.get(i);
+            JavaScriptParser.StatementContext statement = statements.get(i);
+            assertEquals(expectedStatement.getText(), statement.getText());
+            assertEquals(expectedStatement.getChild(0).getClass(), statement.getChild(0).getClass());
+            assertEquals(expectedStatement.getStart().getTokenIndex(), statement.getStart().getTokenIndex());
+            assertEquals(expectedStatement.getStop().getTokenIndex(), statement.getStop().getTokenIndex());
+            assertEquals(
+                    expectedParser.toJavaScriptParserContext(expectedStatement).toString(),
+                    parser.toJavaScriptParserContext(statement).toString());
+        }
+        parser = new JavaScriptParallelStatementListParser(JavetSanitizerOption.Default, CODE_STRING, forkJoinPool);
+        parser.parse();
+        assertEquals(1, parser.getChunkCount(), "Small code should not be split.");
+    }
+
+    @Test
+    public void testSyntaxError() {
+        String codeString = repeat(CODE_STRING, 30) + "const t = ;\n" + repeat(CODE_STRING, 30);
+        JavetSanitizerException expectedException = assertThrows(
+                JavetSanitizerException.class,
+                () -> new JavaScriptStatementListParser(codeString).parse());
+        JavetSanitizerException exception = assertThrows(
+                JavetSanitizerException.class,
+                () -> new JavaScriptParallelStatementListParser(
+                        JavetSanitizerOption.Default, codeString, forkJoinPool, 64).parse());
+        assertEquals(expectedException.getMessage(), exception.getMessage());
+        assertEquals(expectedException.getContext().toString(), exception.getContext().toString());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.antlr.JavaScriptParser;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerErrorContext;
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavaScriptParseProfile {
+    private static final String CODE_STRING = "const a = (b, c) => b + c * 2;\n" +
+            "if (a(1, 2) > 3) { d([1, 2, 3].map(e => e * 2)); }\n" +
+            "f = { g: 1, h: `i${a(4, 5)}` };\n";
+
+    @Test
+    public void testDisabled() throws JavetSanitizerException {
+        JavaScriptStatementListParser parser = new JavaScriptStatementListParser(CODE_STRING).parse();
+        assertFalse(parser.isProfilingEnabled());
+        assertNull(parser.getParseProfile());
+    }
+
+    @Test
+    public void testProfile() throws JavetSanitizerException {
+        JavaScriptStatementListParser parser = new JavaScriptStatementListParser(CODE_STRING);
+        parser.setProfilingEnabled(true).parse();
+        JavaScriptParseProfile parseProfile = parser.getParseProfile();
+        assertNotNull(parseProfile);
+        List<JavaScriptDecisionProfile> decisionProfiles = parseProfile.getDecisionProfiles();
+        assertFalse(decisionProfiles.isEmpty());
+        long invocationCount = 0L;
+        long predictionTimeNanos = Long.MAX_VALUE;
+        for (JavaScriptDecisionProfile decisionProfile : decisionProfiles) {
+            assertTrue(decisionProfile.getInvocationCount() > 0L);
+            assertTrue(decisionProfile.getPredictionTimeNanos() <= predictionTimeNanos);
+            assertEquals(JavaScriptParser.ruleNames[decisionProfile.getRuleIndex()], decisionProfile.getRuleName());
+            JavetSanitizerErrorContext maxLookContext = decisionProfile.getMaxLookContext();
+            if (maxLookContext != null) {
+                assertTrue(CODE_STRING.contains(maxLookContext.getSourceCode()));
+            }
+            invocationCount += decisionProfile.getInvocationCount();
+            predictionTimeNanos = decisionProfile.getPredictionTimeNanos();
+        }
+        assertEquals(invocationCount, parseProfile.getInvocationCount());
+        List<JavaScriptDecisionProfile> singleExpressionProfiles = parseProfile.getDecisionProfiles("singleExpression");
+        assertFalse(singleExpressionProfiles.isEmpty());
+        singleExpressionProfiles.forEach(decisionProfile ->
+                assertEquals("singleExpression", decisionProfile.getRuleName()));
+        // The pooled parser gets its own simulator back.
+        JavaScriptParserPair javaScriptParserPair = JavaScriptParserPool.borrow(CharStreams.fromString(""));
+        try {
+            assertInstanceOf(
+                    JavaScriptParserATNSimulator.class,
+                    javaScriptParserPair.getJavaScriptParser().getInterpreter());
+        } finally {
+            JavaScriptParserPool.release(javaScriptParserPair);
+        }
+    }
+
+    @Test
+    public void testSyntaxError() throws JavetSanitizerException {
+        for (String codeString : Arrays.asList("const a = ;", "a(b, c")) {
+            JavaScriptStatementListParser parser = new JavaScriptStatementListParser(codeString);
+            assertThrows(JavetSanitizerException.class, () -> parser.setProfilingEnabled(true).parse());
+            assertNotNull(parser.getParseProfile(), "The profile should be kept if the parse failed.");
+        }
+    }
+}
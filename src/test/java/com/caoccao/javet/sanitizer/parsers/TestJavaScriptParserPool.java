@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.parsers;
+
+import com.caoccao.javet.sanitizer.exceptions.JavetSanitizerException;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavaScriptParserPool {
+    @Test
+    public void testBorrowAndRelease() {
+        JavaScriptParserPair pair1 = JavaScriptParserPool.borrow(CharStreams.fromString("a"));
+        assertTrue(pair1.isPooled());
+        JavaScriptParserPair pair2 = JavaScriptParserPool.borrow(CharStreams.fromString("b"));
+        assertNotSame(pair1, pair2, "A borrowed pair should not be handed out again.");
+        assertFalse(pair2.isPooled());
+        JavaScriptParserPool.release(pair2);
+        JavaScriptParserPool.release(pair1);
+        JavaScriptParserPair pair3 = JavaScriptParserPool.borrow(CharStreams.fromString("c"));
+        assertSame(pair1, pair3, "The released pair should be reused.");
+        JavaScriptParserPool.release(pair3);
+    }
+
+    @Test
+    public void testParseTreeAfterRelease() throws JavetSanitizerException {
+        JavaScriptStatementListParser parser1 = new JavaScriptStatementListParser("const a = 1;\nconst b = 2;").parse();
+        JavaScriptStatementListParser parser2 = new JavaScriptStatementListParser("let c = 3;").parse();
+        assertEquals("consta=1;constb=2;", parser1.getContext().getText());
+        assertEquals(2, parser1.getContext().statement().size());
+        assertEquals("letc=3;", parser2.getContext().getText());
+        assertEquals(2, parser1.getContext().statement(1).getStart().getLine());
+    }
+
+    @Test
+    public void testStacklessSyntaxErrors() {
+        for (String codeString : new String[]{"const a = ;", "a b c", "if (a) {"}) {
+            JavaScriptParserPair pair = JavaScriptParserPool.borrow(CharStreams.fromString(codeString));
+            try {
+                ParseCancellationException exception = assertThrows(
+                        ParseCancellationException.class,
+                        () -> pair.getJavaScriptParser().statementList(),
+                        codeString + " should fail.");
+                assertEquals(0, exception.getStackTrace().length);
+                assertTrue(exception.getCause() instanceof RecognitionException);
+                assertEquals(0, exception.getCause().getStackTrace().length);
+            } finally {
+                JavaScriptParserPool.release(pair);
+            }
+        }
+    }
+}
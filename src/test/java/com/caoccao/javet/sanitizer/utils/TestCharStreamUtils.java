@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.utils;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCharStreamUtils {
+    private static String createCodeString() {
+        StringBuilder sb = new StringBuilder();
+        // Shift the surrogate pairs across the chunk boundaries.
+        for (int i = 0; i < CharStreamUtils.DEFAULT_BUFFER_SIZE; i++) {
+            sb.append("const a").append(i).append(" = '😀中';\n");
+        }
+        return sb.toString();
+    }
+
+    private static void assertCharStream(String expectedCodeString, CharStream charStream) {
+        CharStream expectedCharStream = CharStreams.fromString(expectedCodeString);
+        assertEquals(expectedCharStream.size(), charStream.size());
+        assertEquals(expectedCodeString, CharStreamUtils.getText(charStream));
+    }
+
+    @Test
+    public void testFromByteBuffer() {
+        String codeString = createCodeString();
+        ByteBuffer byteBuffer = ByteBuffer.wrap(codeString.getBytes(StandardCharsets.UTF_8));
+        assertCharStream(codeString, CharStreamUtils.fromByteBuffer(byteBuffer));
+        assertEquals(0, byteBuffer.position());
+        ByteBuffer directByteBuffer = ByteBuffer.allocateDirect(byteBuffer.remaining());
+        directByteBuffer.put(byteBuffer.duplicate()).flip();
+        assertCharStream(codeString, CharStreamUtils.fromByteBuffer(directByteBuffer));
+        assertCharStream("", CharStreamUtils.fromByteBuffer(ByteBuffer.allocate(0)));
+    }
+
+    @Test
+    public void testFromCharArray() {
+        String codeString = createCodeString();
+        char[] chars = ("  " + codeString + "  ").toCharArray();
+        assertCharStream(codeString, CharStreamUtils.fromCharArray(chars, 2, codeString.length()));
+    }
+
+    @Test
+    public void testFromCharSequence() {
+        String codeString = createCodeString();
+        assertCharStream(codeString, CharStreamUtils.fromCharSequence(new StringBuilder(codeString)));
+        assertCharStream(codeString, CharStreamUtils.fromCharSequence(CharBuffer.wrap(codeString)));
+        assertCharStream("😀", CharStreamUtils.fromCharSequence(new StringBuilder("😀")));
+        assertCharStream("", CharStreamUtils.fromCharSequence(new StringBuilder()));
+    }
+
+    @Test
+    public void testFromPath() throws IOException {
+        String codeString = createCodeString();
+        Path path = Files.createTempFile("javet-sanitizer-", ".js");
+        try {
+            Files.write(path, codeString.getBytes(StandardCharsets.UTF_8));
+            assertCharStream(codeString, CharStreamUtils.fromPath(path));
+            Files.write(path, new byte[0]);
+            assertCharStream("", CharStreamUtils.fromPath(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testIsBlank() {
+        assertTrue(CharStreamUtils.isBlank(null));
+        assertTrue(CharStreamUtils.isBlank(CharStreamUtils.fromCharSequence(" \t\r\n")));
+        assertFalse(CharStreamUtils.isBlank(CharStreamUtils.fromCharSequence(" a ")));
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023-2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.sanitizer.warmers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavetSanitizerWarmer {
+    @Test
+    public void testDefaultCorpus() {
+        JavetSanitizerWarmer warmer = new JavetSanitizerWarmer().warm();
+        assertTrue(warmer.getCodeStrings().isEmpty());
+        assertEquals(JavetSanitizerWarmer.DEFAULT_CORPUS.size() * 5, warmer.getRunCount());
+        assertTrue(warmer.getRejectedCount() > 0);
+        assertTrue(warmer.getRejectedCount() < warmer.getRunCount());
+        assertTrue(warmer.getLexerDFAStateCount() > 0);
+        assertTrue(warmer.getParserDFAStateCount() > 0);
+        assertTrue(warmer.getLexerDFAStateCreatedCount() >= 0);
+        assertTrue(warmer.getParserDFAStateCreatedCount() >= 0);
+        assertFalse(warmer.getDuration().isNegative());
+        warmer.warm();
+        assertEquals(0, warmer.getParserDFAStateCreatedCount(), "The second warm-up should not create DFA states.");
+    }
+
+    @Test
+    public void testDirectory(@TempDir Path directory) throws IOException {
+        Path subDirectory = Files.createDirectories(directory.resolve("a"));
+        Files.write(directory.resolve("a.js"), "const a = 1;".getBytes(StandardCharsets.UTF_8));
+        Files.write(subDirectory.resolve("b.mjs"), "export const b = 2;".getBytes(StandardCharsets.UTF_8));
+        Files.write(subDirectory.resolve("c.txt"), "c".getBytes(StandardCharsets.UTF_8));
+        JavetSanitizerWarmer warmer = new JavetSanitizerWarmer().addDirectory(directory).warm();
+        assertEquals(2, warmer.getCodeStrings().size());
+        assertEquals("const a = 1;", warmer.getCodeStrings().get(0));
+        assertEquals("export const b = 2;", warmer.getCodeStrings().get(1));
+        assertEquals(10, warmer.getRunCount());
+    }
+}